@@ -0,0 +1,109 @@
+package benchmark;
+
+import generator.Generators;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads the puzzle inputs for the benchmarks and scales them up. Every scaling keeps the structure the solvers rely
+ * on, so a scaled input is still a valid input (the answers of course change).
+ * <p>
+ * Inputs whose structure cannot be repeated or tiled (a single path, a wiring, ...) are scaled by generating them,
+ * see {@link Generators}. Without an input file the generated input of scale 1 is used instead.
+ */
+public class BenchmarkInput {
+    private BenchmarkInput() {
+        // Utility
+    }
+    
+    public static List<String> read(final int day) throws IOException {
+        final var path = Path.of("resources/day%02d.txt".formatted(day));
+        if (!Files.exists(path)) {
+            return generated(day, 1);
+        }
+        return Files.readAllLines(path);
+    }
+    
+    /**
+     * Generates an input of the given scale, with the default seed so every run measures the same input.
+     */
+    public static List<String> generated(final int day, final int scale) {
+        return Generators.generate(day, Generators.DEFAULT_SEED, scale);
+    }
+    
+    /**
+     * The real input at scale 1, a generated input at larger scales.
+     */
+    public static List<String> readOrGenerated(final int day, final int scale) throws IOException {
+        return scale == 1 ? read(day) : generated(day, scale);
+    }
+    
+    /**
+     * Repeats all lines of the input scale times, for inputs where every line is independent.
+     */
+    public static List<String> repeated(final int day, final int scale) throws IOException {
+        final var lines    = read(day);
+        final var repeated = new ArrayList<String>(lines.size() * scale);
+        for (var i = 0; i < scale; i++) {
+            repeated.addAll(lines);
+        }
+        return repeated;
+    }
+    
+    /**
+     * Repeats the blank-line separated blocks of the input scale times.
+     */
+    public static List<String> repeatedBlocks(final int day, final int scale) throws IOException {
+        final var lines    = read(day);
+        final var repeated = new ArrayList<String>((lines.size() + 1) * scale);
+        for (var i = 0; i < scale; i++) {
+            if (i > 0) {
+                repeated.add("");
+            }
+            repeated.addAll(lines);
+        }
+        return repeated;
+    }
+    
+    /**
+     * Tiles a rectangular grid scale times horizontally and vertically.
+     */
+    public static List<String> tiled(final int day, final int scale) throws IOException {
+        final var lines = read(day);
+        final var tiled = new ArrayList<String>(lines.size() * scale);
+        for (var i = 0; i < scale; i++) {
+            for (final var line : lines) {
+                tiled.add(line.repeat(scale));
+            }
+        }
+        return tiled;
+    }
+    
+    /**
+     * Stacks copies of a "x,y,z~x,y,z" brick snapshot on top of each other, so they do not overlap.
+     */
+    public static List<String> stackedBricks(final int day, final int scale) throws IOException {
+        final var lines = read(day);
+        final var height = lines.stream()
+                                .mapToInt(line -> Integer.parseInt(line.substring(line.lastIndexOf(',') + 1)))
+                                .max()
+                                .orElseThrow();
+        final var stacked = new ArrayList<String>(lines.size() * scale);
+        for (var i = 0; i < scale; i++) {
+            final var offset = i * height;
+            for (final var line : lines) {
+                final var ends = Arrays.stream(line.split("~")).map(end -> {
+                    final var coords = end.split(",");
+                    return "%s,%s,%d".formatted(coords[0], coords[1], Integer.parseInt(coords[2]) + offset);
+                }).toList();
+                stacked.add(String.join("~", ends));
+            }
+        }
+        return stacked;
+    }
+}
@@ -0,0 +1,29 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the day benchmarks with the GC profiler attached, so every result reports the allocation rate next to the
+ * throughput and average time. Arguments are regular JMH command line options, e.g. {@code Day17 -p scale=1}.
+ */
+public class Benchmarks {
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final var commandLine = new CommandLineOptions(args);
+        final var options     = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+        
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("benchmark.Day\\d+Benchmark");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result("benchmark/results.json");
+        }
+        
+        new Runner(options.build()).run();
+    }
+}
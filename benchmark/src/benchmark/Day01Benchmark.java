@@ -0,0 +1,39 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day01Benchmark {
+    private static final MethodHandle PART1 = Days.method("Day01", "part1", int.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day01", "part2", int.class, List.class);
+    
+    @Param({"1", "10", "100"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.repeated(1, scale);
+    }
+    
+    @Benchmark
+    public int part1() throws Throwable {
+        return (int) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public int part2() throws Throwable {
+        return (int) PART2.invokeExact(lines);
+    }
+}
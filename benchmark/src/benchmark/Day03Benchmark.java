@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day03Benchmark {
+    private static final MethodHandle BUILD_MAP = Days.method("Day03", "buildMap", Object.class, List.class);
+    private static final MethodHandle PART1 = Days.method("Day03", "part1", int.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day03", "part2", long.class, List.class);
+    
+    @Param({"1", "4", "16"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.tiled(3, scale);
+    }
+    
+    @Benchmark
+    public Object parse() throws Throwable {
+        return (Object) BUILD_MAP.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public int part1() throws Throwable {
+        return (int) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part2() throws Throwable {
+        return (long) PART2.invokeExact(lines);
+    }
+}
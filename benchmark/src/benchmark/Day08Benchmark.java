@@ -0,0 +1,49 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day08Benchmark {
+    private static final MethodHandle PARSE_INSTRUCTIONS =
+            Days.method("Day08", "parseInstructions", Object.class, List.class);
+    private static final MethodHandle PARSE_NETWORK = Days.method("Day08", "parseNetwork", Object.class, List.class);
+    private static final MethodHandle PART1 = Days.method("Day08", "part1", long.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day08", "part2", long.class, List.class);
+    
+    @Param({"1", "10", "100"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.readOrGenerated(8, scale);
+    }
+    
+    @Benchmark
+    public void parse(final Blackhole blackhole) throws Throwable {
+        blackhole.consume((Object) PARSE_INSTRUCTIONS.invokeExact(lines));
+        blackhole.consume((Object) PARSE_NETWORK.invokeExact(lines));
+    }
+    
+    @Benchmark
+    public long part1() throws Throwable {
+        return (long) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part2() throws Throwable {
+        return (long) PART2.invokeExact(lines);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day11Benchmark {
+    private static final MethodHandle GET_EXPANSIONS = Days.method("Day11", "getExpansions", Object.class, List.class);
+    private static final MethodHandle PARSE_GALAXIES = Days.method("Day11", "parseGalaxies", Object.class, List.class);
+    private static final MethodHandle PART1 = Days.method("Day11", "part1", long.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day11", "part2", long.class, List.class);
+    
+    @Param({"1", "2", "4"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.tiled(11, scale);
+    }
+    
+    @Benchmark
+    public void parse(final Blackhole blackhole) throws Throwable {
+        blackhole.consume((Object) GET_EXPANSIONS.invokeExact(lines));
+        blackhole.consume((Object) PARSE_GALAXIES.invokeExact(lines));
+    }
+    
+    @Benchmark
+    public long part1() throws Throwable {
+        return (long) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part2() throws Throwable {
+        return (long) PART2.invokeExact(lines);
+    }
+}
@@ -0,0 +1,39 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day15Benchmark {
+    private static final MethodHandle PART1 = Days.method("Day15", "part1", long.class, String.class);
+    private static final MethodHandle PART2 = Days.method("Day15", "part2", long.class, String.class);
+    
+    @Param({"1", "10", "100"})
+    private int scale;
+    
+    private String line;
+    
+    @Setup
+    public void setup() throws IOException {
+        line = String.join(",", Collections.nCopies(scale, BenchmarkInput.read(15).getFirst()));
+    }
+    
+    @Benchmark
+    public long part1() throws Throwable {
+        return (long) PART1.invokeExact(line);
+    }
+    
+    @Benchmark
+    public long part2() throws Throwable {
+        return (long) PART2.invokeExact(line);
+    }
+}
@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day22Benchmark {
+    private static final MethodHandle GET_BRICKS = Days.method("Day22", "getBricks", Object.class, List.class);
+    private static final MethodHandle PART1 = Days.method("Day22", "part1", long.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day22", "part2", long.class, List.class);
+    
+    @Param({"1", "2", "4"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.stackedBricks(22, scale);
+    }
+    
+    @Benchmark
+    public Object parse() throws Throwable {
+        return (Object) GET_BRICKS.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part1() throws Throwable {
+        return (long) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part2() throws Throwable {
+        return (long) PART2.invokeExact(lines);
+    }
+}
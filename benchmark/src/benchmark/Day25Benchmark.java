@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day25Benchmark {
+    private static final MethodHandle PARSE_GRAPH = Days.method("Day25", "parseGraph", Object.class, List.class);
+    private static final MethodHandle PART1 = Days.method("Day25", "part1", long.class, List.class);
+    private static final MethodHandle PART2 = Days.method("Day25", "part2", String.class, List.class);
+    
+    @Param({"1", "2"})
+    private int scale;
+    
+    private List<String> lines;
+    
+    @Setup
+    public void setup() throws IOException {
+        lines = BenchmarkInput.readOrGenerated(25, scale);
+    }
+    
+    @Benchmark
+    public Object parse() throws Throwable {
+        return (Object) PARSE_GRAPH.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public long part1() throws Throwable {
+        return (long) PART1.invokeExact(lines);
+    }
+    
+    @Benchmark
+    public String part2() throws Throwable {
+        return (String) PART2.invokeExact(lines);
+    }
+}
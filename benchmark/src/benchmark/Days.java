@@ -0,0 +1,50 @@
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/**
+ * The day classes live in the default package, which JMH does not accept for benchmarks and which cannot be imported
+ * from a named package. This resolves their (often private) static methods as method handles instead. Stored in
+ * static final fields, invokeExact on them is constant folded by the JIT and costs no more than a direct call.
+ */
+final class Days {
+    private Days() {
+        // Utility
+    }
+    
+    static MethodHandle method(
+            final String className, final String name, final Class<?> returnType, final Class<?>... parameterTypes
+    ) {
+        final var type = MethodType.methodType(returnType, parameterTypes);
+        try {
+            final var target = Class.forName(className);
+            final var lookup = MethodHandles.privateLookupIn(target, MethodHandles.lookup());
+            final var method = Arrays.stream(target.getDeclaredMethods())
+                                     .filter(m -> m.getName().equals(name))
+                                     .filter(m -> accepts(m.getParameterTypes(), type.parameterArray()))
+                                     .findFirst()
+                                     .orElseThrow(() -> new IllegalArgumentException(
+                                             "No method %s.%s".formatted(className, name)));
+            
+            return lookup.unreflect(method).asType(type);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access %s.%s".formatted(className, name), e);
+        }
+    }
+    
+    // Tells overloads apart, e.g. part1(List) and part1(MappedInput)
+    private static boolean accepts(final Class<?>[] declared, final Class<?>[] requested) {
+        if (declared.length != requested.length) {
+            return false;
+        }
+        for (var i = 0; i < declared.length; i++) {
+            if (!declared[i].isAssignableFrom(requested[i]) && !requested[i].isAssignableFrom(declared[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
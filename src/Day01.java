@@ -1,72 +1,143 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
+import util.ByteLine;
+import util.MappedInput;
+
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
 
-public class Day01 {
-    static Map<String, String> digitsMap = Map.of(
-            "one",
-            "1",
-            "two",
-            "2",
-            "three",
-            "3",
-            "four",
-            "4",
-            "five",
-            "5",
-            "six",
-            "6",
-            "seven",
-            "7",
-            "eight",
-            "8",
-            "nine",
-            "9"
-    );
+public class Day01 implements StreamingSolver {
+    // Index + 1 is the value of the spelled out digit
+    static final String[] DIGITS = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
     
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day01.txt"));
+        final var input = MappedInput.map(Path.of("resources/day01.txt"));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(input));
+        System.out.println(part2(input));
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part1Accumulator() {
+        return new Calibrations(false);
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part2Accumulator() {
+        return new Calibrations(true);
     }
     
     static int part1(final List<String> lines) {
-        final var regex        = "(\\d)";
-        final var patternFirst = Pattern.compile(regex);
-        final var patternLast  = Pattern.compile(".*" + regex);
-        
-        return lines.stream().map(line -> {
-            final var matchesFirst = patternFirst.matcher(line).results().findFirst().orElseThrow().group(1);
-            final var matchesLast  = patternLast.matcher(line).results().findFirst().orElseThrow().group(1);
-            
-            return matchesFirst + matchesLast;
-        }).mapToInt(Integer::parseInt).sum();
+        return lines.stream().mapToInt(line -> calibrationValue(line, false)).sum();
     }
     
     static int part2(final List<String> lines) {
-        final var regex        = "(\\d|%s)".formatted(digitsMap.keySet()
-                                                               .stream()
-                                                               .reduce((a, b) -> a + "|" + b)
-                                                               .orElseThrow());
-        final var patternFirst = Pattern.compile(regex);
-        final var patternLast  = Pattern.compile(".*" + regex);
+        return lines.stream().mapToInt(line -> calibrationValue(line, true)).sum();
+    }
+    
+    // Works straight on the mapped bytes, without creating a string per line
+    static int part1(final MappedInput input) {
+        return calibrationSum(input, false);
+    }
+    
+    static int part2(final MappedInput input) {
+        return calibrationSum(input, true);
+    }
+    
+    private static int calibrationSum(final MappedInput input, final boolean spelledOut) {
+        final var cursor = input.cursor();
+        var       sum    = 0;
+        while (cursor.next()) {
+            sum += calibrationValue(cursor.line(), spelledOut);
+        }
+        return sum;
+    }
+    
+    private static int calibrationValue(final CharSequence line, final boolean spelledOut) {
+        // Without spelled out digits, the mapped bytes are scanned 8 at a time
+        if (!spelledOut && line instanceof final ByteLine bytes) {
+            final var first = bytes.indexOfDigit();
+            if (first == -1) {
+                throw new IllegalArgumentException("No digit in line: " + line);
+            }
+            return (bytes.byteAt(first) - '0') * 10 + bytes.byteAt(bytes.lastIndexOfDigit()) - '0';
+        }
+        
+        var first = -1;
+        var last  = -1;
+        
+        // Checking every position (instead of skipping matched words) finds overlapping digits like "eightwo"
+        for (var i = 0; i < line.length(); i++) {
+            final var digit = digitAt(line, i, spelledOut);
+            if (digit != -1) {
+                first = first == -1 ? digit : first;
+                last = digit;
+            }
+        }
+        
+        if (first == -1) {
+            throw new IllegalArgumentException("No digit in line: " + line);
+        }
+        
+        return first * 10 + last;
+    }
+    
+    private static int digitAt(final CharSequence line, final int index, final boolean spelledOut) {
+        final var c = line.charAt(index);
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (!spelledOut) {
+            return -1;
+        }
         
-        return lines.stream().map(line -> {
-            var matchesFirst = patternFirst.matcher(line).results().findFirst().orElseThrow().group(1);
-            var matchesLast  = patternLast.matcher(line).results().findFirst().orElseThrow().group(1);
-            
-            if (digitsMap.containsKey(matchesFirst)) {
-                matchesFirst = digitsMap.get(matchesFirst);
+        for (var digit = 0; digit < DIGITS.length; digit++) {
+            if (startsWith(line, index, DIGITS[digit])) {
+                return digit + 1;
             }
-            if (digitsMap.containsKey(matchesLast)) {
-                matchesLast = digitsMap.get(matchesLast);
+        }
+        return -1;
+    }
+    
+    private static boolean startsWith(final CharSequence line, final int index, final String prefix) {
+        if (index + prefix.length() > line.length()) {
+            return false;
+        }
+        for (var i = 0; i < prefix.length(); i++) {
+            if (line.charAt(index + i) != prefix.charAt(i)) {
+                return false;
             }
-            
-            return matchesFirst + matchesLast;
-        }).mapToInt(Integer::parseInt).sum();
+        }
+        return true;
+    }
+    
+    private static final class Calibrations implements LineAccumulator<Integer> {
+        private final boolean spelledOut;
+        private       int     sum;
+        
+        private Calibrations(final boolean spelledOut) {
+            this.spelledOut = spelledOut;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            sum += calibrationValue(line, spelledOut);
+        }
+        
+        @Override
+        public Integer result() {
+            return sum;
+        }
     }
 }
\ No newline at end of file
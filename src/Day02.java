@@ -1,69 +1,145 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
+import util.MappedInput;
+
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
-public class Day02 {
+public class Day02 implements StreamingSolver {
+    private static final int MAX_RED   = 12;
+    private static final int MAX_GREEN = 13;
+    private static final int MAX_BLUE  = 14;
+    
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day02.txt"));
+        final var input = MappedInput.map(Path.of("resources/day02.txt"));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(input));
+        System.out.println(part2(input));
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part1Accumulator() {
+        return new Games(false);
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part2Accumulator() {
+        return new Games(true);
     }
     
     static int part1(final List<String> lines) {
-        final var maxRed   = 12;
-        final var maxGreen = 13;
-        final var maxBlue  = 14;
+        return lines.stream().map(Game::parse).filter(Game::isPossible).mapToInt(Game::id).sum();
+    }
+    
+    static int part2(final List<String> lines) {
+        return lines.stream().map(Game::parse).mapToInt(Game::power).sum();
+    }
+    
+    // Works straight on the mapped bytes, without creating a string per line
+    static int part1(final MappedInput input) {
+        final var cursor = input.cursor();
+        var       sum    = 0;
+        while (cursor.next()) {
+            final var game = Game.parse(cursor.line());
+            sum += game.isPossible() ? game.id() : 0;
+        }
+        return sum;
+    }
+    
+    static int part2(final MappedInput input) {
+        final var cursor = input.cursor();
+        var       sum    = 0;
+        while (cursor.next()) {
+            sum += Game.parse(cursor.line()).power();
+        }
+        return sum;
+    }
+    
+    // Sums the ids of the possible games, or the powers of all games
+    private static final class Games implements LineAccumulator<Integer> {
+        private final boolean powers;
+        private       int     sum;
         
-        return lines.stream().mapToInt((line) -> {
-            final var parts = line.split(": ");
-            final var game  = Integer.parseInt(parts[0].split(" ")[1]);
-            
-            final var grabs = parts[1].split("; ");
-            for (final var grab : grabs) {
-                final var cubes = grab.split(", ");
-                for (final var cube : cubes) {
-                    final var cubeParts = cube.split(" ");
-                    final var amount    = Integer.parseInt(cubeParts[0]);
-                    final var color     = cubeParts[1];
-                    
-                    if (color.equals("red") && amount > maxRed ||
-                        color.equals("green") && amount > maxGreen ||
-                        color.equals("blue") && amount > maxBlue) {
-                        return 0;
-                    }
-                }
+        private Games(final boolean powers) {
+            this.powers = powers;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            final var game = Game.parse(line);
+            if (powers) {
+                sum += game.power();
+            } else {
+                sum += game.isPossible() ? game.id() : 0;
             }
-            
-            return game;
-        }).sum();
+        }
+        
+        @Override
+        public Integer result() {
+            return sum;
+        }
     }
     
-    static int part2(final List<String> lines) {
-        return lines.stream().mapToInt((line) -> {
-            final var parts    = line.split(": ");
-            var       minRed   = 0;
-            var       minGreen = 0;
-            var       minBlue  = 0;
+    // Only the maximum amount of each color matters, as it is the same for all grabs of a game
+    private record Game(int id, int red, int green, int blue) {
+        static Game parse(final CharSequence line) {
+            var colon = 0;
+            while (line.charAt(colon) != ':') {
+                colon++;
+            }
             
-            final var grabs = parts[1].split("; ");
-            for (final var grab : grabs) {
-                final var cubes = grab.split(", ");
-                for (final var cube : cubes) {
-                    final var cubeParts = cube.split(" ");
-                    final var amount    = Integer.parseInt(cubeParts[0]);
-                    final var color     = cubeParts[1];
-                    
-                    switch (color) {
-                        case "red" -> minRed = Math.max(minRed, amount);
-                        case "green" -> minGreen = Math.max(minGreen, amount);
-                        case "blue" -> minBlue = Math.max(minBlue, amount);
-                    }
+            final var id    = Integer.parseInt(line, "Game ".length(), colon, 10);
+            var       red   = 0;
+            var       green = 0;
+            var       blue  = 0;
+            
+            // Grabs look like "3 blue, 4 red; 1 red", color names contain no digits, so we can jump to each amount
+            var i = colon + 1;
+            while (i < line.length()) {
+                if (!isDigit(line.charAt(i))) {
+                    i++;
+                    continue;
+                }
+                
+                var end = i + 1;
+                while (isDigit(line.charAt(end))) {
+                    end++;
                 }
+                final var amount = Integer.parseInt(line, i, end, 10);
+                
+                switch (line.charAt(end + 1)) {
+                    case 'r' -> red = Math.max(red, amount);
+                    case 'g' -> green = Math.max(green, amount);
+                    case 'b' -> blue = Math.max(blue, amount);
+                    default -> throw new IllegalArgumentException("Invalid color in line: " + line);
+                }
+                i = end + 1;
             }
             
-            return minRed * minBlue * minGreen;
-        }).sum();
+            return new Game(id, red, green, blue);
+        }
+        
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+        
+        boolean isPossible() {
+            return red <= MAX_RED && green <= MAX_GREEN && blue <= MAX_BLUE;
+        }
+        
+        int power() {
+            return red * green * blue;
+        }
     }
 }
@@ -1,12 +1,13 @@
+import runner.Solver;
+import util.Grid;
 import util.Point;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.List;
 
-public class Day03 {
+public class Day03 implements Solver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day03.txt"));
         
@@ -14,113 +15,79 @@ public class Day03 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return buildMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static int part1(final List<String> lines) {
-        final var           map     = buildMap(lines);
-        final AtomicInteger partSum = new AtomicInteger();
-        
-        map.entrySet()
-           .stream()
-           .filter((entry) -> Element.of(entry.getValue()) == Element.SYMBOL)
-           .forEach((symbolEntry) -> {
-               final var numberParts     = findNumberPartsFromPoint(symbolEntry.getKey(), map);
-               final var numberPartsSeen = new HashSet<Point>();
-               
-               for (final var numberPart : numberParts) {
-                   final var sb = findNumberFromNumberPart(numberPart, numberPartsSeen, map);
-                   if (sb == null) {
-                       continue;
-                   }
-                   partSum.addAndGet(Integer.parseInt(sb.toString()));
-               }
-           });
-        
-        return partSum.get();
+        return sumOfPartNumbers(buildMap(lines));
     }
     
-    static int part2(final List<String> lines) {
-        final var           map      = buildMap(lines);
-        final AtomicInteger ratioSum = new AtomicInteger();
-        
-        map.entrySet().stream().filter((entry) -> entry.getValue() == Element.GEAR_ELEMENT).forEach((gearEntry) -> {
-            final var numberParts     = findNumberPartsFromPoint(gearEntry.getKey(), map);
-            final var numberPartsSeen = new HashSet<Point>();
-            
-            // We have to map out all the numbers, because the gear is maybe only connected to one number part.
-            final var ratios = new ArrayList<Integer>();
-            
-            for (final var numberPart : numberParts) {
-                final var sb = findNumberFromNumberPart(numberPart, numberPartsSeen, map);
-                if (sb == null) {
-                    continue;
-                }
-                ratios.add(Integer.parseInt(sb.toString()));
-            }
-            
-            if (ratios.size() < 2) {
-                return;
-            }
-            ratioSum.addAndGet(ratios.stream().reduce((a, b) -> a * b).orElseThrow());
-        });
-        
-        return ratioSum.get();
+    static long part2(final List<String> lines) {
+        return sumOfGearRatios(buildMap(lines));
     }
     
-    private static ArrayList<Point> findNumberPartsFromPoint(final Point point, final Map<Point, Character> map) {
-        final var numberParts = new ArrayList<Point>();
+    // The scans allocate nothing but their AdjacentNumbers, however large the map
+    static int sumOfPartNumbers(final Grid map) {
+        final var numbers = new AdjacentNumbers(map);
+        var       partSum = 0;
         
-        for (final var neighbor : point.neighbors()) {
-            final var neighborElement = Element.of(map.getOrDefault(neighbor, Element.EMPTY_ELEMENT));
-            if (neighborElement == Element.NUMBER) {
-                numberParts.add(neighbor);
+        for (var y = 0; y < map.height(); y++) {
+            for (var x = 0; x < map.width(); x++) {
+                if (Element.of(map.get(x, y)) != Element.SYMBOL) {
+                    continue;
+                }
+                
+                numbers.collect(x, y);
+                for (var i = 0; i < numbers.size(); i++) {
+                    partSum += numbers.get(i);
+                }
             }
         }
         
-        return numberParts;
+        return partSum;
     }
     
-    private static StringBuilder findNumberFromNumberPart(
-            final Point part, final HashSet<Point> partsSeen, final Map<Point, Character> map
-    ) {
-        if (partsSeen.contains(part)) {
-            return null;
-        }
-        
-        partsSeen.add(part);
-        final var sb = new StringBuilder();
-        sb.append(map.get(part));
-        
-        // Go left
-        var  current = part;
-        char currentChar;
-        while (Element.of((currentChar = map.getOrDefault((current = current.left()), Element.EMPTY_ELEMENT))) ==
-               Element.NUMBER) {
-            partsSeen.add(current);
-            sb.insert(0, currentChar);
-        }
+    static long sumOfGearRatios(final Grid map) {
+        final var numbers  = new AdjacentNumbers(map);
+        var       ratioSum = 0L;
         
-        // Go right
-        current = part;
-        while (Element.of((currentChar = map.getOrDefault((current = current.right()), Element.EMPTY_ELEMENT))) ==
-               Element.NUMBER) {
-            partsSeen.add(current);
-            sb.append(currentChar);
+        for (var y = 0; y < map.height(); y++) {
+            for (var x = 0; x < map.width(); x++) {
+                if (map.get(x, y) != Element.GEAR_ELEMENT) {
+                    continue;
+                }
+                
+                // We have to map out all the numbers, because the gear is maybe only connected to one number part.
+                numbers.collect(x, y);
+                if (numbers.size() < 2) {
+                    continue;
+                }
+                
+                var ratio = 1L;
+                for (var i = 0; i < numbers.size(); i++) {
+                    ratio *= numbers.get(i);
+                }
+                ratioSum += ratio;
+            }
         }
         
-        return sb;
+        return ratioSum;
     }
     
-    private static Map<Point, Character> buildMap(final List<String> lines) {
-        final var map = new HashMap<Point, Character>();
-        
-        for (int y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                final var c = line.charAt(x);
-                map.put(new Point(x, y), c);
-            }
-        }
-        
-        return map;
+    private static Grid buildMap(final List<String> lines) {
+        return Grid.parse(lines);
     }
     
     private enum Element {
@@ -128,8 +95,8 @@ public class Day03 {
         SYMBOL,
         EMPTY;
         
-        public static final Character EMPTY_ELEMENT = '.';
-        public static final Character GEAR_ELEMENT  = '*';
+        public static final char EMPTY_ELEMENT = '.';
+        public static final char GEAR_ELEMENT  = '*';
         
         static Element of(final char c) {
             if (c >= '0' && c <= '9') {
@@ -141,4 +108,54 @@ public class Day03 {
             }
         }
     }
+    
+    // The distinct numbers around a symbol, found by their first digit. Reused for every symbol, so the scan does
+    // not allocate per cell.
+    private static final class AdjacentNumbers implements Point.CoordinateConsumer {
+        private final Grid  map;
+        private final int[] starts = new int[8];
+        private       int   size;
+        
+        private AdjacentNumbers(final Grid map) {
+            this.map = map;
+        }
+        
+        void collect(final int x, final int y) {
+            size = 0;
+            Point.forEachNeighbor(x, y, map.width(), map.height(), this);
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int get(final int i) {
+            final var rowEnd = map.index(0, map.y(starts[i]) + 1);
+            var       number = 0;
+            for (var index = starts[i]; index < rowEnd && Element.of(map.get(index)) == Element.NUMBER; index++) {
+                number = number * 10 + map.get(index) - '0';
+            }
+            return number;
+        }
+        
+        @Override
+        public void accept(final int x, final int y) {
+            if (Element.of(map.get(x, y)) != Element.NUMBER) {
+                return;
+            }
+            
+            // Go left to the first digit
+            var start = map.index(x, y);
+            while (start > map.index(0, y) && Element.of(map.get(start - 1)) == Element.NUMBER) {
+                start--;
+            }
+            
+            for (var i = 0; i < size; i++) {
+                if (starts[i] == start) {
+                    return;
+                }
+            }
+            starts[size++] = start;
+        }
+    }
 }
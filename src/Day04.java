@@ -1,12 +1,15 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
+import util.ParseCursor;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
-public class Day04 {
+public class Day04 implements StreamingSolver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day04.txt"));
         
@@ -14,54 +17,144 @@ public class Day04 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return lines.stream().map(Day04::parseWinningNumbersAndNumbers).toList();
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part1Accumulator() {
+        return new Points();
+    }
+    
+    @Override
+    public LineAccumulator<Integer> part2Accumulator() {
+        return new Copies();
+    }
+    
     static int part1(final List<String> lines) {
+        final var card = new Card();
         return lines.stream().mapToInt((line) -> {
-            final Result result = parseWinningNumbersAndNumbers(line);
-            result.numbers.retainAll(result.winningNumbers);
-            
-            if (result.numbers.isEmpty()) {
-                return 0;
-            }
-            
-            return (int) Math.pow(2, result.numbers.size() - 1);
+            final var matches = card.matches(line);
+            return matches == 0 ? 0 : 1 << (matches - 1);
         }).sum();
     }
     
     static int part2(final List<String> lines) {
         final var cards = new int[lines.size()];
-        final var i     = new AtomicInteger();
+        final var card  = new Card();
         
         Arrays.fill(cards, 1);
         
-        lines.forEach((line) -> {
-            final Result result = parseWinningNumbersAndNumbers(line);
-            result.numbers().retainAll(result.winningNumbers());
-            
-            for (int j = 1; j <= result.numbers.size(); j++) {
-                cards[i.get() + j] += cards[i.get()];
+        for (var i = 0; i < lines.size(); i++) {
+            final var matches = card.matches(lines.get(i));
+            for (var j = 1; j <= matches; j++) {
+                cards[i + j] += cards[i];
             }
-            
-            i.getAndIncrement();
-        });
-        
+        }
         
         return Arrays.stream(cards).sum();
     }
     
     private static Result parseWinningNumbersAndNumbers(final String line) {
-        final var parts = line.split(": ");
-        final var game  = parts[1].split(" \\| ");
-        final var winningNumbers = Arrays.stream(game[0].trim().split("\\s+"))
-                                         .map(String::trim)
-                                         .map(Integer::parseInt)
-                                         .toList();
-        final var numbers = new ArrayList<>(Arrays.stream(game[1].trim().split("\\s+"))
-                                                  .map(String::trim)
-                                                  .map(Integer::parseInt)
-                                                  .toList());
+        final var cursor         = new ParseCursor(line).skipPast(':');
+        final var winningNumbers = new ArrayList<Integer>();
+        while (!cursor.skipSpaces().tryLiteral("|")) {
+            winningNumbers.add(cursor.nextInt());
+        }
+        final var numbers = new ArrayList<Integer>();
+        while (cursor.hasNextNumber()) {
+            numbers.add(cursor.nextInt());
+        }
         return new Result(winningNumbers, numbers);
     }
     
+    // Counts the matches of a line without boxing the numbers, the cursor and the winning numbers are reused for
+    // every line
+    private static final class Card {
+        private final ParseCursor cursor  = new ParseCursor();
+        private       int[]       winning = new int[16];
+        
+        int matches(final CharSequence line) {
+            cursor.reset(line).skipPast(':');
+            var count = 0;
+            while (!cursor.skipSpaces().tryLiteral("|")) {
+                if (count == winning.length) {
+                    winning = Arrays.copyOf(winning, count * 2);
+                }
+                winning[count++] = cursor.nextInt();
+            }
+            
+            var matches = 0;
+            while (cursor.hasNextNumber()) {
+                final var number = cursor.nextInt();
+                for (var i = 0; i < count; i++) {
+                    if (winning[i] == number) {
+                        matches++;
+                        break;
+                    }
+                }
+            }
+            return matches;
+        }
+    }
+    
+    private static final class Points implements LineAccumulator<Integer> {
+        private final Card card = new Card();
+        private       int  sum;
+        
+        @Override
+        public void accept(final CharSequence line) {
+            final var matches = card.matches(line);
+            sum += matches == 0 ? 0 : 1 << (matches - 1);
+        }
+        
+        @Override
+        public Integer result() {
+            return sum;
+        }
+    }
+    
+    // Instead of an array of all cards, only the copies won for the next few cards are kept. A card wins at most as
+    // many cards as it has numbers, so this window stays small.
+    private static final class Copies implements LineAccumulator<Integer> {
+        private final Card  card = new Card();
+        private       int[] won  = new int[16];
+        private       int   sum;
+        
+        @Override
+        public void accept(final CharSequence line) {
+            final var matches = card.matches(line);
+            final var copies  = 1 + won[0];
+            
+            System.arraycopy(won, 1, won, 0, won.length - 1);
+            won[won.length - 1] = 0;
+            if (matches > won.length) {
+                won = Arrays.copyOf(won, Math.max(matches, won.length * 2));
+            }
+            for (var j = 0; j < matches; j++) {
+                won[j] += copies;
+            }
+            
+            sum += copies;
+        }
+        
+        @Override
+        public Integer result() {
+            return sum;
+        }
+    }
+    
     private record Result(List<Integer> winningNumbers, ArrayList<Integer> numbers) {
     }
 }
@@ -1,11 +1,17 @@
+import runner.Solver;
+import util.ParseCursor;
+import util.interval.Interval;
+import util.interval.IntervalSet;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
-public class Day05 {
+public class Day05 implements Solver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day05.txt"));
         
@@ -13,98 +19,77 @@ public class Day05 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseAlmanac(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
-        final var seeds   = Arrays.stream(lines.getFirst().split(": ")[1].split(" ")).map(Long::parseLong).toList();
+        final var seeds   = parseSeeds(lines.getFirst());
         final var almanac = parseAlmanac(lines);
         
-        return seeds.stream().map((seed) -> {
+        return Arrays.stream(seeds).map((seed) -> {
             var currentValue = seed;
-            for (final var listMap : almanac) {
-                for (final var map : listMap) {
-                    if (currentValue >= map.src() && currentValue < map.end()) {
-                        currentValue += map.offset();
-                        break;
-                    }
-                }
+            for (final var layer : almanac) {
+                currentValue = layer.map(currentValue);
             }
             
             return currentValue;
-        }).min(Long::compare).orElseThrow();
+        }).min().orElseThrow();
     }
     
     static long part2(final List<String> lines) {
-        final var seeds  = Arrays.stream(lines.getFirst().split(": ")[1].split(" ")).map(Long::parseLong).toList();
-        final var ranges = new ArrayList<Range>();
+        final var seeds  = parseSeeds(lines.getFirst());
+        final var ranges = IntervalSet.builder();
         
-        for (int i = 0; i < seeds.size(); i += 2) {
-            ranges.add(new Range(seeds.get(i), seeds.get(i) + seeds.get(i + 1)));
+        for (int i = 0; i < seeds.length; i += 2) {
+            ranges.add(Interval.ofLength(seeds[i], seeds[i + 1]));
         }
         
-        final var almanac = parseAlmanac(lines);
-        var       min     = Long.MAX_VALUE;
-        
-        for (final var initialRange : ranges) {
-            var currentRanges = new ArrayList<Range>();
-            currentRanges.add(initialRange);
-            for (final var listMap : almanac) {
-                // We must not split up an offset range, so we need to keep track of them separately
-                final var offsetRanges = new ArrayList<Range>();
-                
-                for (final var map : listMap) {
-                    final var newRanges = new ArrayList<Range>();
-                    
-                    for (final var range : currentRanges) {
-                        // If the range is completely before or after the map, we can just add it to the next iteration
-                        if (range.start() >= map.end() || range.end() <= map.src()) {
-                            newRanges.add(range);
-                            continue;
-                        }
-                        
-                        // Range starts before the map, so we split away the part before the map
-                        if (range.start() < map.src()) {
-                            newRanges.add(new Range(range.start(), map.src()));
-                        }
-                        
-                        // Range is inside the map -> offset it
-                        final var innerStart = Math.max(range.start(), map.src());
-                        final var innerEnd   = Math.min(range.end(), map.end());
-                        if (innerStart < innerEnd) {
-                            offsetRanges.add(new Range(innerStart + map.offset(), innerEnd + map.offset()));
-                        }
-                        
-                        // Range ends after the map, so we split away the part after the map
-                        if (map.end() < range.end()) {
-                            newRanges.add(new Range(map.end(), range.end()));
-                        }
-                    }
-                    
-                    currentRanges = new ArrayList<>(newRanges);
-                }
-                currentRanges.addAll(offsetRanges);
-            }
-            
-            final var currentMin = currentRanges.stream().mapToLong(Range::start).min().orElseThrow();
-            min = Math.min(min, currentMin);
+        // All seed ranges go through the layers together, overlapping ones are coalesced on the way
+        var currentRanges = ranges.build();
+        for (final var layer : parseAlmanac(lines)) {
+            currentRanges = layer.map(currentRanges);
         }
         
-        return min;
+        return currentRanges.min();
     }
     
-    private static ArrayList<ArrayList<AlmanacMap>> parseAlmanac(final List<String> lines) {
-        final var almanac        = new ArrayList<ArrayList<AlmanacMap>>();
+    private static long[] parseSeeds(final String line) {
+        final var cursor = new ParseCursor(line).expect("seeds:");
+        final var seeds  = new long[cursor.countNumbers()];
+        for (var i = 0; i < seeds.length; i++) {
+            seeds[i] = cursor.nextLong();
+        }
+        return seeds;
+    }
+    
+    private static List<Layer> parseAlmanac(final List<String> lines) {
+        final var almanac        = new ArrayList<Layer>();
+        final var cursor         = new ParseCursor();
         var       currentListMap = new ArrayList<AlmanacMap>();
-        almanac.add(currentListMap);
         
         for (int i = 3; i < lines.size(); i++) {
             if (lines.get(i).isBlank()) {
+                almanac.add(Layer.of(currentListMap));
                 currentListMap = new ArrayList<>();
-                almanac.add(currentListMap);
                 i++; // Skip the next "abc-to-xyz:" line
                 continue;
             }
-            final var parts = Arrays.stream(lines.get(i).split(" ")).mapToLong(Long::parseLong).toArray();
-            currentListMap.add(new AlmanacMap(parts[0], parts[1], parts[2]));
+            cursor.reset(lines.get(i));
+            currentListMap.add(new AlmanacMap(cursor.nextLong(), cursor.nextLong(), cursor.nextLong()));
         }
+        almanac.add(Layer.of(currentListMap));
         
         return almanac;
     }
@@ -119,6 +104,43 @@ public class Day05 {
         }
     }
     
-    private record Range(long start, long end) {
+    /**
+     * The maps of one "abc-to-xyz" block, sorted by their source ranges, which do not overlap. Values outside of all
+     * of them keep their number.
+     */
+    private record Layer(long[] sources, long[] ends, long[] offsets) {
+        static Layer of(final List<AlmanacMap> maps) {
+            final var sorted = maps.stream().sorted(Comparator.comparingLong(AlmanacMap::src)).toList();
+            return new Layer(sorted.stream().mapToLong(AlmanacMap::src).toArray(),
+                             sorted.stream().mapToLong(AlmanacMap::end).toArray(),
+                             sorted.stream().mapToLong(AlmanacMap::offset).toArray());
+        }
+        
+        long map(final long value) {
+            final var index = indexOf(value);
+            return index < 0 ? value : value + offsets[index];
+        }
+        
+        IntervalSet map(final IntervalSet values) {
+            // Split at the ends of all maps, every piece is then either inside one map or in none
+            final var boundaries = new long[sources.length * 2];
+            System.arraycopy(sources, 0, boundaries, 0, sources.length);
+            System.arraycopy(ends, 0, boundaries, sources.length, ends.length);
+            
+            final var mapped = IntervalSet.builder();
+            for (final var piece : values.split(boundaries)) {
+                final var index = indexOf(piece.start());
+                mapped.add(index < 0 ? piece : piece.shift(offsets[index]));
+            }
+            return mapped.build();
+        }
+        
+        // The map whose source range contains the value, -1 if there is none
+        private int indexOf(final long value) {
+            // The last map starting at or before the value is the only one that can contain it
+            final var index = Arrays.binarySearch(sources, value);
+            final var last  = index >= 0 ? index : -index - 2;
+            return last >= 0 && value < ends[last] ? last : -1;
+        }
     }
 }
@@ -1,11 +1,18 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
+import util.MathUtil;
+
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
-public class Day06 {
+public class Day06 implements StreamingSolver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day06.txt"));
         
@@ -13,6 +20,26 @@ public class Day06 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part1Accumulator() {
+        return new Races(Day06::part1);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part2Accumulator() {
+        return new Races(Day06::part2);
+    }
+    
     static long part1(final List<String> lines) {
         final var times     = splitAndSkipFirst(lines.get(0)).mapToLong(Long::parseLong).toArray();
         final var distances = splitAndSkipFirst(lines.get(1)).mapToLong(Long::parseLong).toArray();
@@ -20,15 +47,7 @@ public class Day06 {
         var totalPossibilities = 1L;
         
         for (int i = 0; i < times.length; i++) {
-            var possibilities = 0L;
-            for (long t = 1; t < times[i]; t++) {
-                final var distance = t * (times[i] - t);
-                
-                if (distance > distances[i]) {
-                    possibilities++;
-                }
-            }
-            totalPossibilities *= possibilities;
+            totalPossibilities *= possibilities(times[i], distances[i]);
         }
         
         return totalPossibilities;
@@ -38,20 +57,62 @@ public class Day06 {
         final var time     = Long.parseLong(splitAndSkipFirst(lines.get(0)).reduce((a, b) -> a + b).orElseThrow());
         final var distance = Long.parseLong(splitAndSkipFirst(lines.get(1)).reduce((a, b) -> a + b).orElseThrow());
         
-        var totalPossibilities = 0L;
+        return possibilities(time, distance);
+    }
+    
+    // Holding the button for t travels t * (time - t), a parabola that beats the distance between its roots
+    // (time -+ sqrt(time^2 - 4 * distance)) / 2, and symmetrically around time / 2. The integer square root only
+    // estimates the first winning t, which is then corrected by checking it and its neighbour exactly.
+    private static long possibilities(final long time, final long distance) {
+        // Squared times beyond 3 * 10^9 do not fit into a long
+        final var discriminant = BigInteger.valueOf(time)
+                                           .multiply(BigInteger.valueOf(time))
+                                           .subtract(BigInteger.valueOf(distance).shiftLeft(2));
+        if (discriminant.signum() < 0) {
+            return 0;
+        }
         
-        for (long t = 1; t < time; t++) {
-            final var currentDistance = t * (time - t);
-            
-            if (currentDistance > distance) {
-                totalPossibilities++;
-            }
+        var first = (time - MathUtil.isqrt(discriminant).longValueExact()) / 2;
+        while (first <= time / 2 && !beats(first, time, distance)) {
+            first++;
+        }
+        while (first > 0 && beats(first - 1, time, distance)) {
+            first--;
         }
         
-        return totalPossibilities;
+        return first > time / 2 ? 0 : time - 2 * first + 1;
+    }
+    
+    private static boolean beats(final long hold, final long time, final long distance) {
+        // A product beyond a long is beyond every distance
+        final var travelled = hold * (time - hold);
+        return Math.multiplyHigh(hold, time - hold) != 0 || travelled < 0 || travelled > distance;
     }
     
     private static Stream<String> splitAndSkipFirst(final String line) {
         return Arrays.stream(line.split("\\s+")).skip(1);
     }
+    
+    // The input is just the line of times and the line of distances, so these are kept until the result
+    private static final class Races implements LineAccumulator<Long> {
+        private final ToLongFunction<List<String>> part;
+        private final List<String>                 lines = new ArrayList<>(2);
+        
+        private Races(final ToLongFunction<List<String>> part) {
+            this.part = part;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            if (lines.size() == 2) {
+                throw new IllegalArgumentException("More than two lines, at: " + line);
+            }
+            lines.add(line.toString());
+        }
+        
+        @Override
+        public Long result() {
+            return part.applyAsLong(lines);
+        }
+    }
 }
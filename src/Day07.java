@@ -1,10 +1,12 @@
+import runner.Solver;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 
-public class Day07 {
+public class Day07 implements Solver {
     
     final Comparator<Hand> handComparator = (hand1, hand2) -> {
         final var compareTypes = hand1.getTypeJoker().compareTo(hand2.getTypeJoker());
@@ -29,6 +31,21 @@ public class Day07 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return lines.stream().map(line -> Hand.fromString(line, true)).toList();
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var hands = lines.stream()
                                .map(line -> Hand.fromString(line, false))
@@ -1,14 +1,15 @@
+import runner.Solver;
 import util.MathUtil;
+import util.graph.CsrGraph;
+import util.graph.Interner;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class Day08 {
+public class Day08 implements Solver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day08.txt"));
         
@@ -16,53 +17,79 @@ public class Day08 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return List.of(parseInstructions(lines), parseNetwork(lines));
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var instructions = parseInstructions(lines);
-        final var nodes        = parseNodes(lines);
+        final var network      = parseNetwork(lines);
         
-        return navigate("AAA", "ZZZ", nodes, instructions);
+        return navigate(network.nodes().id("AAA"), network.endsWith("ZZZ"), network, instructions);
     }
     
     static long part2(final List<String> lines) {
         final var instructions = parseInstructions(lines);
-        final var nodes        = parseNodes(lines);
+        final var network      = parseNetwork(lines);
+        final var ends         = network.endsWith("Z");
         
-        final var startNodes = nodes.keySet().stream().filter(key -> key.endsWith("A")).toList();
-        final var cycles     = startNodes.stream().map(start -> navigate(start, "Z", nodes, instructions)).toList();
+        final var cycles = IntStream.range(0, network.nodes().size())
+                                    .filter(node -> network.nodes().name(node).endsWith("A"))
+                                    .mapToLong(start -> navigate(start, ends, network, instructions));
         
-        return cycles.stream().reduce(1L, MathUtil::lcm);
+        // Checked, the product of the cycle lengths easily overflows
+        return MathUtil.lcm(cycles);
     }
     
+    // Every node has two edges, left first, so the instruction (0 for L, 1 for R) is the offset of the edge to take
     private static long navigate(
-            final String start, final String end, final Map<String, Node> nodes, final List<Direction> instructions
+            final int start, final boolean[] ends, final Network network, final int[] instructions
     ) {
-        var current = start;
-        var i       = 0L;
-        while (!current.endsWith(end) || i == 0L) {
-            final var node        = nodes.get(current);
-            final var instruction = instructions.get((int) ((i++) % instructions.size()));
-            current = switch (instruction) {
-                case L -> node.left;
-                case R -> node.right;
-            };
+        final var graph   = network.graph();
+        var       current = start;
+        var       i       = 0L;
+        while (!ends[current] || i == 0L) {
+            final var instruction = instructions[(int) ((i++) % instructions.length)];
+            current = graph.target(graph.begin(current) + instruction);
         }
         return i;
     }
     
-    private static List<Direction> parseInstructions(final List<String> lines) {
-        return Arrays.stream(lines.getFirst().split("")).map(Direction::valueOf).toList();
+    private static int[] parseInstructions(final List<String> lines) {
+        return lines.getFirst().chars().map(c -> Direction.valueOf(Character.toString(c)).ordinal()).toArray();
     }
     
-    private static Map<String, Node> parseNodes(final List<String> lines) {
-        return lines.stream()
-                    .skip(2)
-                    .map(line -> line.split(" = "))
-                    .collect(Collectors.toMap(parts -> parts[0], parts -> {
-                        final var lookup = parts[1].split(", ");
-                        final var left   = lookup[0].substring(1);
-                        final var right  = lookup[1].substring(0, lookup[1].length() - 1);
-                        return new Node(left, right);
-                    }));
+    private static Network parseNetwork(final List<String> lines) {
+        final var nodes = new Interner<String>();
+        final var graph = CsrGraph.builder();
+        
+        for (final var line : lines.subList(2, lines.size())) {
+            final var parts  = line.split(" = ");
+            final var lookup = parts[1].split(", ");
+            final var node   = nodes.intern(parts[0]);
+            final var left   = nodes.intern(lookup[0].substring(1));
+            final var right  = nodes.intern(lookup[1].substring(0, lookup[1].length() - 1));
+            graph.addEdge(node, left).addEdge(node, right);
+        }
+        
+        final var network = new Network(nodes, graph.build());
+        for (var node = 0; node < nodes.size(); node++) {
+            if (network.graph().degree(node) != 2) {
+                throw new IllegalArgumentException("Node %s is not defined once".formatted(nodes.name(node)));
+            }
+        }
+        return network;
     }
     
     enum Direction {
@@ -70,6 +97,14 @@ public class Day08 {
         R,
     }
     
-    record Node(String left, String right) {
+    private record Network(Interner<String> nodes, CsrGraph graph) {
+        // Whether each node's name ends with the suffix, so the walk does not compare strings
+        boolean[] endsWith(final String suffix) {
+            final var ends = new boolean[nodes.size()];
+            for (var node = 0; node < ends.length; node++) {
+                ends[node] = nodes.name(node).endsWith(suffix);
+            }
+            return ends;
+        }
     }
 }
@@ -1,63 +1,107 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
+import util.MappedInput;
+import util.MathUtil;
+import util.ParseCursor;
+
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
-public class Day09 {
+public class Day09 implements StreamingSolver {
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day09.txt"));
+        final var input = MappedInput.map(Path.of("resources/day09.txt"));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(input));
+        System.out.println(part2(input));
+    }
+    
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMeasurements(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part1Accumulator() {
+        return new Extrapolations(false);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part2Accumulator() {
+        return new Extrapolations(true);
     }
     
     static long part1(final List<String> lines) {
-        final var measurements = parseMeasurements(lines);
-        var       total        = 0L;
-        
-        for (final var measurement : measurements) {
-            final var lastElements = differencesUntilZeroes(measurement).stream().map(List::getLast);
-            total += lastElements.reduce(0L, Long::sum);
-        }
-        
-        return total;
+        return parseMeasurements(lines).stream().mapToLong(measurement -> extrapolate(measurement, false)).sum();
     }
     
     static long part2(final List<String> lines) {
-        final var measurements = parseMeasurements(lines);
-        var       total        = 0L;
-        
-        for (final var measurement : measurements) {
-            final var firstElements = differencesUntilZeroes(measurement).stream().map(List::getFirst);
-            total += firstElements.reduce(0L, (a, b) -> b - a);
+        return parseMeasurements(lines).stream().mapToLong(measurement -> extrapolate(measurement, true)).sum();
+    }
+    
+    // Works straight on the mapped bytes, without creating a string per line
+    static long part1(final MappedInput input) {
+        return extrapolateAll(input, false);
+    }
+    
+    static long part2(final MappedInput input) {
+        return extrapolateAll(input, true);
+    }
+    
+    private static long extrapolateAll(final MappedInput input, final boolean backwards) {
+        final var cursor = input.cursor();
+        var       total  = 0L;
+        while (cursor.next()) {
+            total += extrapolate(parseMeasurement(cursor.line()), backwards);
         }
-        
         return total;
     }
     
-    private static List<List<Long>> parseMeasurements(final List<String> lines) {
-        return lines.stream()
-                    .map(line -> line.split(" "))
-                    .map(parts -> Arrays.stream(parts).map(Long::parseLong).toList())
-                    .toList();
+    private static List<long[]> parseMeasurements(final List<String> lines) {
+        return lines.stream().map(Day09::parseMeasurement).toList();
     }
     
-    private static ArrayList<List<Long>> differencesUntilZeroes(final List<Long> measurement) {
-        final var differenceList = new ArrayList<List<Long>>();
-        differenceList.add(measurement);
-        
-        while (differenceList.getFirst().stream().anyMatch(value -> value != 0L)) {
-            differenceList.addFirst(getDifferences(differenceList.getFirst()));
+    private static long[] parseMeasurement(final CharSequence line) {
+        final var cursor = new ParseCursor(line);
+        final var values = new long[cursor.countNumbers()];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = cursor.nextLong();
         }
-        
-        return differenceList;
+        return values;
     }
     
-    private static List<Long> getDifferences(final List<Long> measurement) {
-        final var previous = new AtomicLong(measurement.getFirst());
-        return measurement.stream().skip(1).map(value -> value - previous.getAndSet(value)).toList();
+    // The values are a polynomial in their index, so the next one is its value at the length and the previous one
+    // its value at -1
+    private static long extrapolate(final long[] values, final boolean backwards) {
+        return MathUtil.extrapolate(values, backwards ? -1 : values.length);
+    }
+    
+    private static final class Extrapolations implements LineAccumulator<Long> {
+        private final boolean backwards;
+        private       long    total;
+        
+        private Extrapolations(final boolean backwards) {
+            this.backwards = backwards;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            total += extrapolate(parseMeasurement(line), backwards);
+        }
+        
+        @Override
+        public Long result() {
+            return total;
+        }
     }
 }
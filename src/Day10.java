@@ -1,3 +1,5 @@
+import runner.Solver;
+import util.Grid;
 import util.Point;
 import util.Point.Direction;
 
@@ -6,10 +8,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 
-public class Day10 {
+public class Day10 implements Solver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day10.txt"));
         
@@ -17,6 +18,21 @@ public class Day10 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var map  = parseMap(lines);
         final var loop = getLoop(map);
@@ -35,25 +51,29 @@ public class Day10 {
                                     .filter(tile -> tile.next(startIn) == startOut)
                                     .findFirst()
                                     .orElseThrow();
-        map.put(loop.getFirst(), startTile);
+        map.set(loop.getFirst(), startTile.symbol);
         
-        final var yMax        = lines.size();
-        final var xMax        = lines.getFirst().length();
-        var       insideCount = 0;
+        // Mark the loop by cell index, so we do not have to search the loop list for every cell
+        final var onLoop = new boolean[map.size()];
+        for (final var point : loop) {
+            onLoop[map.index((int) point.x(), (int) point.y())] = true;
+        }
+        
+        var insideCount = 0;
         
-        for (var y = 0; y < yMax; y++) {
+        for (var y = 0; y < map.height(); y++) {
             var inside = false;
-            for (var x = 0; x < xMax; x++) {
-                final var point = new Point(x, y);
+            for (var x = 0; x < map.width(); x++) {
+                final var index = map.index(x, y);
                 
-                if (!loop.contains(point)) {
+                if (!onLoop[index]) {
                     insideCount += inside ? 1 : 0;
                     continue;
                 }
                 
                 // As we go from top to bottom and left to right, we have to toggle "inside" when we either cross a
                 // vertical line or a line hits an L or J tile (we could also use vertical, F and 7).
-                switch (map.get(point)) {
+                switch (Tile.from(map.get(index))) {
                     case VERTICAL, N_TO_E, N_TO_W -> inside = !inside;
                 }
             }
@@ -62,16 +82,17 @@ public class Day10 {
         return insideCount;
     }
     
-    private static ArrayList<Point> getLoop(final HashMap<Point, Tile> map) {
+    private static ArrayList<Point> getLoop(final Grid map) {
         final var loop  = new ArrayList<Point>();
         final var start = findStart(map);
         loop.add(start);
         var currentDirection = findFirstDirection(start, map);
         var currentPoint     = start.move(currentDirection);
         
-        while (!loop.contains(currentPoint)) {
+        // The loop is closed once we are back at the start
+        while (!currentPoint.equals(start)) {
             loop.add(currentPoint);
-            final var tile = map.get(currentPoint);
+            final var tile = Tile.from(map.get(currentPoint));
             currentDirection = tile.next(currentDirection);
             currentPoint = currentPoint.move(currentDirection);
         }
@@ -79,60 +100,63 @@ public class Day10 {
         return loop;
     }
     
-    private static Direction findFirstDirection(final Point start, final HashMap<Point, Tile> map) {
+    private static Direction findFirstDirection(final Point start, final Grid map) {
         return Arrays.stream(Direction.values()).filter(direction -> {
             final var point = start.move(direction);
-            if (!map.containsKey(point)) {
+            if (!map.contains(point)) {
                 return false;
             }
-            final var nextDirection = map.get(point).next(direction);
+            final var tile          = Tile.from(map.get(point));
+            final var nextDirection = tile.next(direction);
             if (nextDirection == null) {
                 return false;
             }
-            final var nextDirectionReverse = map.get(point).next(nextDirection.opposite());
+            final var nextDirectionReverse = tile.next(nextDirection.opposite());
             return point.move(nextDirectionReverse).equals(start);
         }).findFirst().orElseThrow();
     }
     
-    private static Point findStart(final HashMap<Point, Tile> map) {
-        return map.entrySet()
-                  .stream()
-                  .filter(entry -> entry.getValue() == Tile.START)
-                  .findFirst()
-                  .orElseThrow()
-                  .getKey();
+    private static Point findStart(final Grid map) {
+        final var index = map.indexOf(Tile.START.symbol);
+        if (index == -1) {
+            throw new IllegalStateException("No start found");
+        }
+        return new Point(map.x(index), map.y(index));
     }
     
-    private static HashMap<Point, Tile> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Tile>();
-        for (var y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (var x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Tile.fromSymbol(line.substring(x, x + 1)));
-            }
-        }
-        return map;
+    private static Grid parseMap(final List<String> lines) {
+        return Grid.parse(lines);
     }
     
     enum Tile {
-        EMPTY("."),
-        VERTICAL("|"),
-        HORIZONTAL("-"),
-        N_TO_E("L"),
-        N_TO_W("J"),
-        S_TO_E("F"),
-        S_TO_W("7"),
-        START("S"),
+        EMPTY('.'),
+        VERTICAL('|'),
+        HORIZONTAL('-'),
+        N_TO_E('L'),
+        N_TO_W('J'),
+        S_TO_E('F'),
+        S_TO_W('7'),
+        START('S'),
         ;
         
-        private final String symbol;
+        private final char symbol;
         
-        Tile(final String symbol) {
+        Tile(final char symbol) {
             this.symbol = symbol;
         }
         
-        public static Tile fromSymbol(final String symbol) {
-            return Arrays.stream(values()).filter(tile -> tile.symbol.equals(symbol)).findFirst().orElseThrow();
+        public static Tile from(final char symbol) {
+            return switch (symbol) {
+                case '.' -> EMPTY;
+                case '|' -> VERTICAL;
+                case '-' -> HORIZONTAL;
+                case 'L' -> N_TO_E;
+                case 'J' -> N_TO_W;
+                case 'F' -> S_TO_E;
+                case '7' -> S_TO_W;
+                case 'S' -> START;
+                default -> throw new IllegalArgumentException("Invalid tile: " + symbol);
+            };
         }
         
         public Direction next(final Direction direction) {
@@ -1,4 +1,5 @@
-import util.Pair;
+import runner.Solver;
+import util.IndexPairs;
 import util.Point;
 
 import java.io.IOException;
@@ -7,11 +8,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-import static util.Pair.pair;
-import static util.Pair.pairsFromList;
 import static util.Point.manhattanDistance;
 
-public class Day11 {
+public class Day11 implements Solver {
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day11.txt"));
         
@@ -19,38 +18,59 @@ public class Day11 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return List.of(getExpansions(lines), parseGalaxies(lines));
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
-        final var expansion = getExpansions(lines);
-        final var pairs     = pairsFromList(parseGalaxies(lines));
-        
-        return pairs.stream().mapToLong(pair -> getDistanceWithExpansionFactor(pair, expansion, 2)).sum();
+        return sumOfDistances(lines, 2);
     }
     
     static long part2(final List<String> lines) {
+        return sumOfDistances(lines, 1000000);
+    }
+    
+    // The pairs are enumerated lazily and in parallel, so even 10^5 galaxies (5 * 10^9 pairs) need no memory
+    private static long sumOfDistances(final List<String> lines, final int factor) {
         final var expansions = getExpansions(lines);
-        final var pairs      = pairsFromList(parseGalaxies(lines));
+        final var galaxies   = parseGalaxies(lines);
         
-        return pairs.stream().mapToLong(pair -> getDistanceWithExpansionFactor(pair, expansions, 1000000)).sum();
+        return IndexPairs.sum(galaxies.size(), (first, second) -> getDistanceWithExpansionFactor(
+                galaxies.get(first), galaxies.get(second), expansions, factor
+        ));
     }
     
-    private static Pair<List<Integer>> getExpansions(final List<String> lines) {
-        final var yExpansion = new ArrayList<Integer>();
+    // One pass over all lines, jumping from galaxy to galaxy with String.indexOf (a vectorized intrinsic of the JIT)
+    // instead of walking every column separately
+    private static Expansions getExpansions(final List<String> lines) {
+        final var emptyRowsBefore = new int[lines.size() + 1];
+        final var occupied        = new boolean[lines.getFirst().length()];
         for (var y = 0; y < lines.size(); y++) {
-            if (!lines.get(y).contains("#")) {
-                yExpansion.add(y);
+            final var line   = lines.get(y);
+            var       galaxy = line.indexOf('#');
+            emptyRowsBefore[y + 1] = emptyRowsBefore[y] + (galaxy == -1 ? 1 : 0);
+            for (; galaxy != -1; galaxy = line.indexOf('#', galaxy + 1)) {
+                occupied[galaxy] = true;
             }
         }
         
-        final var xExpansion = new ArrayList<Integer>();
-        for (var x = 0; x < lines.getFirst().length(); x++) {
-            final var finalX        = x;
-            final var currentColumn = lines.stream().map(line -> line.charAt(finalX));
-            if (currentColumn.noneMatch(c -> c == '#')) {
-                xExpansion.add(x);
-            }
+        final var emptyColumnsBefore = new int[occupied.length + 1];
+        for (var x = 0; x < occupied.length; x++) {
+            emptyColumnsBefore[x + 1] = emptyColumnsBefore[x] + (occupied[x] ? 0 : 1);
         }
         
-        return pair(xExpansion, yExpansion);
+        return new Expansions(emptyColumnsBefore, emptyRowsBefore);
     }
     
     private static List<Point> parseGalaxies(final List<String> lines) {
@@ -68,16 +88,27 @@ public class Day11 {
     }
     
     private static long getDistanceWithExpansionFactor(
-            final Pair<Point> pair, final Pair<List<Integer>> expansions, final int factor
+            final Point first, final Point second, final Expansions expansions, final int factor
     ) {
-        final var fromX = Math.min(pair.first().x(), pair.second().x());
-        final var toX   = Math.max(pair.first().x(), pair.second().x());
-        final var fromY = Math.min(pair.first().y(), pair.second().y());
-        final var toY   = Math.max(pair.first().y(), pair.second().y());
+        final var xExpansion = expansions.emptyColumnsBetween((int) first.x(), (int) second.x()) * (factor - 1L);
+        final var yExpansion = expansions.emptyRowsBetween((int) first.y(), (int) second.y()) * (factor - 1L);
         
-        final var xExpansion = expansions.first().stream().filter(x -> x >= fromX && x <= toX).count() * (factor - 1);
-        final var yExpansion = expansions.second().stream().filter(y -> y >= fromY && y <= toY).count() * (factor - 1);
+        return manhattanDistance(first, second) + xExpansion + yExpansion;
+    }
+    
+    /**
+     * The empty columns and rows as prefix counts, so the expansion between two galaxies takes constant time.
+     *
+     * @param emptyColumnsBefore The number of empty columns left of every x (and of the whole width at the end)
+     * @param emptyRowsBefore    The number of empty rows above every y (and of the whole height at the end)
+     */
+    private record Expansions(int[] emptyColumnsBefore, int[] emptyRowsBefore) {
+        int emptyColumnsBetween(final int x1, final int x2) {
+            return Math.abs(emptyColumnsBefore[x2] - emptyColumnsBefore[x1]);
+        }
         
-        return manhattanDistance(pair) + xExpansion + yExpansion;
+        int emptyRowsBetween(final int y1, final int y2) {
+            return Math.abs(emptyRowsBefore[y2] - emptyRowsBefore[y1]);
+        }
     }
 }
@@ -1,13 +1,29 @@
+import runner.LineAccumulator;
+import runner.Metrics;
+import runner.StreamingSolver;
+import util.LongMemo;
+import util.Scratch;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
-public class Day12 {
-    private static final String               UNKNOWN = "?";
-    private static final String               GOOD    = ".";
-    private static final String               BAD     = "#";
-    private static final Map<Candidate, Long> CACHE   = new HashMap<>();
+public class Day12 implements StreamingSolver {
+    private static final char UNKNOWN = '?';
+    private static final char GOOD    = '.';
+    private static final char BAD     = '#';
+    
+    private static final LongAdder CACHE_HITS    = Metrics.counter("Day12", "cacheHits");
+    private static final LongAdder CACHE_MISSES  = Metrics.counter("Day12", "cacheMisses");
+    // Far more than the states of a line, so a line practically never evicts its own entries
+    private static final int       MEMO_CAPACITY = 1 << 14;
+    // The memo is cleared for every line, but its table is reused by the next one on the same thread
+    private static final Scratch<LongMemo> MEMOS = new Scratch<>(() -> LongMemo.local(MEMO_CAPACITY), LongMemo::clear);
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day12.txt"));
@@ -16,67 +32,155 @@ public class Day12 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return lines.stream().map(Candidate::fromStringExpanded).toList();
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part1Accumulator() {
+        return new Arrangements(Candidate::fromString);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part2Accumulator() {
+        return new Arrangements(Candidate::fromStringExpanded);
+    }
+    
     static long part1(final List<String> lines) {
-        return lines.stream().map(Candidate::fromString).mapToLong(Day12::solutionsFor).sum();
+        return lines.stream()
+                    .map(Candidate::fromString)
+                    .mapToLong(Day12::arrangements)
+                    .sum();
     }
     
     static long part2(final List<String> lines) {
-        return lines.stream().map(Candidate::fromStringExpanded).mapToLong(Day12::solutionsFor).sum();
+        return lines.stream()
+                    .map(Candidate::fromStringExpanded)
+                    .mapToLong(Day12::arrangements)
+                    .sum();
     }
     
-    private static long solutionsFor(final Candidate candidate) {
-        // Memoization pattern, records ara perfect keys for cache maps (they implement equals and hashCode)
-        if (CACHE.containsKey(candidate)) {
-            return CACHE.get(candidate);
+    // Each line gets its own memo (the keys are positions in the line), so lines can run concurrently
+    private static long arrangements(final Candidate candidate) {
+        // A line with more states than the shared memo holds gets one of its own, evictions would make it exponential
+        final var states = (candidate.conditions().length() + 1) * (candidate.groups().length + 1);
+        final var memo   = states <= MEMO_CAPACITY / 2 ? MEMOS.acquire() : LongMemo.local(states * 2);
+        try {
+            return solutionsFor(candidate, 0, 0, memo);
+        } finally {
+            final var stats = memo.stats();
+            CACHE_HITS.add(stats.hits());
+            CACHE_MISSES.add(stats.misses());
+            MEMOS.release(memo);
+        }
+    }
+    
+    // The arrangements of the conditions from the position on, with the groups from the given one on
+    private static long solutionsFor(final Candidate candidate, final int position, final int group,
+                                     final LongMemo memo) {
+        // Memoization pattern, the state packs into a primitive key, so the memo does not box anything
+        final var key    = (long) position << 32 | group;
+        final var cached = memo.getOrDefault(key, -1);
+        if (cached >= 0) {
+            return cached;
         }
         
-        final var result = solutionsForUncached(candidate);
-        CACHE.put(candidate, result);
+        final var result = solutionsForUncached(candidate, position, group, memo);
+        // The states further left cover more of the line, so they are dearer to recompute
+        memo.put(key, result, candidate.conditions().length() - position);
         return result;
     }
     
-    private static long solutionsForUncached(final Candidate candidate) {
+    private static long solutionsForUncached(final Candidate candidate, final int position, final int group,
+                                             final LongMemo memo) {
+        final var conditions = candidate.conditions();
+        final var groups     = candidate.groups();
+        
         // If condition is empty, we have found a solution if there are no groups left
-        if (candidate.conditions.isEmpty()) {
-            return candidate.groups.isEmpty() ? 1 : 0;
+        if (position >= conditions.length()) {
+            return group == groups.length ? 1 : 0;
         }
         // If there are no groups left, we have found a solution if the remaining conditions are all not BAD
-        if (candidate.groups.isEmpty()) {
-            return candidate.conditions.contains(BAD) ? 0 : 1;
+        if (group == groups.length) {
+            return conditions.indexOf(BAD, position) < 0 ? 1 : 0;
         }
         
         // Check if the conditions is long enough to contain all groups + a space between each group
-        final var sumOfGroups = candidate.groups.stream().reduce(0, Integer::sum);
-        if (candidate.conditions.length() < sumOfGroups + candidate.groups.size() - 1) {
+        if (conditions.length() - position < candidate.minLengths()[group]) {
             return 0;
         }
         
-        if (candidate.conditions.startsWith(GOOD)) {
-            return solutionsFor(new Candidate(candidate.conditions.substring(1), candidate.groups));
-        }
-        if (candidate.conditions.startsWith(BAD)) {
-            // The next group-length parts contains good, this is not a solution
-            if (candidate.conditions.substring(1, candidate.groups.getFirst()).contains(GOOD)) {
-                return 0;
-            }
-            // If after the group-length parts is a bad part, this is not a solution (String::startsWith works out of bounds)
-            if (candidate.conditions.startsWith(BAD, candidate.groups.getFirst())) {
+        return switch (conditions.charAt(position)) {
+            case GOOD -> solutionsFor(candidate, position + 1, group, memo);
+            case BAD -> solutionsForGroupAt(candidate, position, group, memo);
+            default -> solutionsForGroupAt(candidate, position, group, memo) +
+                       solutionsFor(candidate, position + 1, group, memo);
+        };
+    }
+    
+    // The arrangements with the group starting at the position, as if it was BAD
+    private static long solutionsForGroupAt(final Candidate candidate, final int position, final int group,
+                                            final LongMemo memo) {
+        final var conditions = candidate.conditions();
+        final var end        = position + candidate.groups()[group];
+        
+        // The next group-length parts contains good, this is not a solution
+        for (var i = position + 1; i < end; i++) {
+            if (conditions.charAt(i) == GOOD) {
                 return 0;
             }
-            
-            final var isAtEnd = candidate.groups.getFirst() == candidate.conditions.length();
-            
-            return solutionsFor(new Candidate(
-                    isAtEnd ? "" : candidate.conditions.substring(candidate.groups.getFirst() + 1),
-                    candidate.groups.subList(1, candidate.groups.size())
-            ));
+        }
+        // If after the group-length parts is a bad part, this is not a solution
+        if (end < conditions.length() && conditions.charAt(end) == BAD) {
+            return 0;
         }
         
-        return solutionsFor(new Candidate(BAD + candidate.conditions.substring(1), candidate.groups)) +
-               solutionsFor(new Candidate(GOOD + candidate.conditions.substring(1), candidate.groups));
+        // Skip the group and the good part after it
+        return solutionsFor(candidate, Math.min(end + 1, conditions.length()), group + 1, memo);
     }
     
-    private record Candidate(String conditions, List<Integer> groups) {
+    // Every line gets a cleared memo, so memory does not grow with the input
+    private static final class Arrangements implements LineAccumulator<Long> {
+        private final Function<String, Candidate> parser;
+        private       long                        sum;
+        
+        private Arrangements(final Function<String, Candidate> parser) {
+            this.parser = parser;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            sum += arrangements(parser.apply(line.toString()));
+        }
+        
+        @Override
+        public Long result() {
+            return sum;
+        }
+    }
+    
+    /**
+     * @param minLengths The length the groups from each index on need at least, with a good part between two groups
+     */
+    private record Candidate(String conditions, int[] groups, int[] minLengths) {
+        private Candidate(final String conditions, final int[] groups) {
+            this(conditions, groups, new int[groups.length + 1]);
+            for (var group = groups.length - 1; group >= 0; group--) {
+                minLengths[group] = minLengths[group + 1] + groups[group] + (group == groups.length - 1 ? 0 : 1);
+            }
+        }
+        
         public static Candidate fromString(final String string) {
             final var parts = string.split(" ");
             return new Candidate(parts[0], parseGroups(parts[1]));
@@ -86,11 +190,12 @@ public class Day12 {
             final var parts          = string.split(" ");
             final var conditionsCopy = Collections.nCopies(5, parts[0]);
             final var groupsCopy     = Collections.nCopies(5, parts[1]);
-            return new Candidate(String.join(UNKNOWN, conditionsCopy), parseGroups(String.join(",", groupsCopy)));
+            return new Candidate(String.join(String.valueOf(UNKNOWN), conditionsCopy),
+                                 parseGroups(String.join(",", groupsCopy)));
         }
         
-        private static List<Integer> parseGroups(final String part) {
-            return Arrays.stream(part.split(",")).map(Integer::parseInt).toList();
+        private static int[] parseGroups(final String part) {
+            return Arrays.stream(part.split(",")).mapToInt(Integer::parseInt).toArray();
         }
     }
 }
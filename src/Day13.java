@@ -1,4 +1,4 @@
-import util.StringUtil;
+import runner.Solver;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -6,7 +6,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Day13 {
+public class Day13 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day13.txt"));
@@ -15,6 +15,21 @@ public class Day13 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parsePatterns(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         return parsePatterns(lines).stream()
                                    .map(pattern -> findSimilar(pattern.rows, 0) * 100 + findSimilar(pattern.cols, 0))
@@ -27,8 +42,8 @@ public class Day13 {
                                    .reduce(0, Integer::sum);
     }
     
-    private static int findSimilar(final List<String> lines, final int difference) {
-        for (var i = 1; i < lines.size(); i++) {
+    private static int findSimilar(final long[] lines, final int difference) {
+        for (var i = 1; i < lines.length; i++) {
             if (isSimilar(lines, i, difference)) {
                 return i;
             }
@@ -37,22 +52,19 @@ public class Day13 {
     }
     
     // Checks if each pair of lines an equal distance from the mirror point are similar, similar meaning they differ in
-    // their characters by exactly the requiredDifference parameter.
-    private static boolean isSimilar(final List<String> lines, final int mirrorPoint, final int requiredDifference) {
-        final var limit      = Math.min(mirrorPoint, lines.size() - mirrorPoint); // Prevents out of bounds
+    // their characters by exactly the requiredDifference parameter. A line is a single long, so two lines differ in
+    // the number of bits set in their XOR.
+    private static boolean isSimilar(final long[] lines, final int mirrorPoint, final int requiredDifference) {
+        final var limit      = Math.min(mirrorPoint, lines.length - mirrorPoint); // Prevents out of bounds
         var       difference = 0;
         
         for (var i = 0; i < limit && difference <= requiredDifference; i++) {
-            final var before = lines.get(mirrorPoint - i - 1);
-            final var after  = lines.get(mirrorPoint + i);
-            
-            difference += StringUtil.difference(before, after);
+            difference += Long.bitCount(lines[mirrorPoint - i - 1] ^ lines[mirrorPoint + i]);
         }
         
         return difference == requiredDifference;
     }
     
-    
     static ArrayList<Pattern> parsePatterns(final List<String> lines) {
         final var patterns = new ArrayList<Pattern>();
         
@@ -70,18 +82,33 @@ public class Day13 {
         return patterns;
     }
     
-    record Pattern(List<String> rows, List<String> cols) {
-        static Pattern fromRows(final List<String> rows) {
-            final var cols = new ArrayList<String>();
-            for (var i = 0; i < rows.getFirst().length(); i++) {
-                final var col = new StringBuilder();
-                for (final var from : rows) {
-                    col.append(from.charAt(i));
+    /**
+     * @param rows The rows, the '#' at x is bit x of row y
+     * @param cols The columns, the '#' at y is bit y of column x
+     */
+    record Pattern(long[] rows, long[] cols) {
+        static Pattern fromRows(final List<String> lines) {
+            final var width  = lines.getFirst().length();
+            final var height = lines.size();
+            if (width > Long.SIZE || height > Long.SIZE) {
+                throw new IllegalArgumentException("Pattern larger than %dx%d: %dx%d".formatted(Long.SIZE,
+                                                                                                 Long.SIZE,
+                                                                                                 width,
+                                                                                                 height));
+            }
+            
+            final var rows = new long[height];
+            final var cols = new long[width];
+            for (var y = 0; y < height; y++) {
+                final var line = lines.get(y);
+                for (var x = 0; x < width; x++) {
+                    if (line.charAt(x) == '#') {
+                        rows[y] |= 1L << x;
+                        cols[x] |= 1L << y;
+                    }
                 }
-                cols.add(col.toString());
             }
             return new Pattern(rows, cols);
         }
-        
     }
 }
@@ -1,36 +1,68 @@
-import util.Point;
+import runner.CycleEvent;
+import runner.Solver;
+import util.CharGrid;
+import util.Grid;
+import util.LongIntHashMap;
+import util.OffHeapGrid;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-public class Day14 {
+public class Day14 implements Solver {
+    private static final char ROUND_ROCK = 'O';
+    private static final char ROCK       = '#';
+    private static final char EMPTY      = '.';
+    
+    private static final int CYCLES = 1000000000;
     
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day14.txt"));
+        // Works on the mapped file, off the heap. The tilts change the grid, so each part gets its own copy.
+        final var map = validate(OffHeapGrid.map(Path.of("resources/day14.txt")));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(map.copy()));
+        System.out.println(part2(map.copy()));
+    }
+    
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
     }
     
     static long part1(final List<String> lines) {
-        final var map  = parseMap(lines);
-        final var xMax = lines.getFirst().length();
-        final var yMax = lines.size();
+        return part1(parseMap(lines));
+    }
+    
+    static long part2(final List<String> lines) {
+        return part2(parseMap(lines));
+    }
+    
+    /**
+     * Tilts the given map, which can be on or off the heap.
+     */
+    static long part1(final CharGrid map) {
+        final var xMax = map.width();
+        final var yMax = map.height();
         
         // Tilt up
         for (var y = 1; y < yMax; y++) {
             for (var x = 0; x < xMax; x++) {
-                final var tile = map.get(new Point(x, y));
-                if (tile == Tile.ROUND_ROCK) {
+                final var tile = map.get(x, y);
+                if (tile == ROUND_ROCK) {
                     var currentY = y;
-                    while (currentY > 0 && map.get(new Point(x, currentY - 1)) == Tile.EMPTY) {
-                        map.put(new Point(x, currentY), Tile.EMPTY);
-                        map.put(new Point(x, currentY - 1), Tile.ROUND_ROCK);
+                    while (currentY > 0 && map.get(x, currentY - 1) == EMPTY) {
+                        map.set(x, currentY, EMPTY);
+                        map.set(x, currentY - 1, ROUND_ROCK);
                         currentY--;
                     }
                 }
@@ -40,46 +72,85 @@ public class Day14 {
         return calculateLoad(yMax, map);
     }
     
-    static long part2(final List<String> lines) {
-        final var map  = parseMap(lines);
-        final var xMax = lines.getFirst().length();
-        final var yMax = lines.size();
-        final var seen = new ArrayList<Map<Point, Tile>>();
+    /**
+     * Cycles the given map, which can be on or off the heap.
+     */
+    static long part2(final CharGrid map) {
+        final var xMax       = map.width();
+        final var yMax       = map.height();
+        final var states     = new LongIntHashMap();
+        final var cycleFound = new CycleEvent();
+        cycleFound.begin();
         
-        int index;
-        for (var i = 0L; i < 1000000000; i++) {
+        // A state is stored as its hash, one copy of the map is only taken to confirm a repeated hash
+        for (var i = 0; i < CYCLES; i++) {
             cycle(map, xMax, yMax);
-            if ((index = seen.indexOf(map)) != -1) {
-                // Add the remaining cycles to the index
-                final var remaining       = 1000000000 - i;
-                final var cycleLength     = i - index;
-                final var remainingCycles = remaining / cycleLength;
-                i += remainingCycles * cycleLength;
-                continue;
+            var       hash  = hash(map, xMax, yMax);
+            final var index = states.getOrDefault(hash, -1);
+            if (index != -1 && i + (i - index) < CYCLES) {
+                final var cycleLength = i - index;
+                final var start       = map.copy();
+                for (var j = 0; j < cycleLength; j++) {
+                    cycle(map, xMax, yMax);
+                }
+                i += cycleLength;
+                if (map.equals(start)) {
+                    // The states repeat from the index on, the map after the remaining cycles is a known one
+                    final var remaining = Math.floorMod(CYCLES - 1 - i, cycleLength);
+                    for (var j = 0; j < remaining; j++) {
+                        cycle(map, xMax, yMax);
+                    }
+                    if (cycleFound.shouldCommit()) {
+                        cycleFound.end();
+                        cycleFound.day = 14;
+                        cycleFound.subject = "platform";
+                        cycleFound.start = index;
+                        cycleFound.length = cycleLength;
+                        cycleFound.statesExplored = states.size();
+                        cycleFound.commit();
+                    }
+                    break;
+                }
+                // Two states with the same hash, the states in between are not stored again
+                hash = hash(map, xMax, yMax);
             }
-            seen.add(new HashMap<>(map));
+            states.put(hash, i);
         }
         
         return calculateLoad(yMax, map);
     }
     
-    private static long calculateLoad(final int yMax, final Map<Point, Tile> map) {
-        return map.entrySet()
-                  .stream()
-                  .filter(entry -> entry.getValue() == Tile.ROUND_ROCK)
-                  .mapToLong(entry -> yMax - entry.getKey().y())
-                  .sum();
+    // The positions of the round rocks, mixed in the order of the scan. Different states may collide.
+    private static long hash(final CharGrid map, final int xMax, final int yMax) {
+        var hash = 0L;
+        for (var y = 0; y < yMax; y++) {
+            for (var x = 0; x < xMax; x++) {
+                if (map.get(x, y) == ROUND_ROCK) {
+                    hash = (hash + (long) y * xMax + x + 1) * 0x9E3779B97F4A7C15L;
+                    hash ^= hash >>> 32;
+                }
+            }
+        }
+        return hash;
     }
     
-    private static void cycle(final Map<Point, Tile> map, final int xMax, final int yMax) {
+    private static long calculateLoad(final int yMax, final CharGrid map) {
+        var load = 0L;
+        for (var y = 0; y < yMax; y++) {
+            load += (long) (yMax - y) * map.countInRow(y, ROUND_ROCK);
+        }
+        return load;
+    }
+    
+    private static void cycle(final CharGrid map, final int xMax, final int yMax) {
         // Tilt up
         for (var y = 1; y < yMax; y++) {
             for (var x = 0; x < xMax; x++) {
-                if (map.get(new Point(x, y)) == Tile.ROUND_ROCK) {
+                if (map.get(x, y) == ROUND_ROCK) {
                     var currentY = y;
-                    while (currentY > 0 && map.get(new Point(x, currentY - 1)) == Tile.EMPTY) {
-                        map.put(new Point(x, currentY), Tile.EMPTY);
-                        map.put(new Point(x, currentY - 1), Tile.ROUND_ROCK);
+                    while (currentY > 0 && map.get(x, currentY - 1) == EMPTY) {
+                        map.set(x, currentY, EMPTY);
+                        map.set(x, currentY - 1, ROUND_ROCK);
                         currentY--;
                     }
                 }
@@ -89,11 +160,11 @@ public class Day14 {
         // Tilt left
         for (var x = 1; x < xMax; x++) {
             for (var y = 0; y < yMax; y++) {
-                if (map.get(new Point(x, y)) == Tile.ROUND_ROCK) {
+                if (map.get(x, y) == ROUND_ROCK) {
                     var currentX = x;
-                    while (currentX > 0 && map.get(new Point(currentX - 1, y)) == Tile.EMPTY) {
-                        map.put(new Point(currentX, y), Tile.EMPTY);
-                        map.put(new Point(currentX - 1, y), Tile.ROUND_ROCK);
+                    while (currentX > 0 && map.get(currentX - 1, y) == EMPTY) {
+                        map.set(currentX, y, EMPTY);
+                        map.set(currentX - 1, y, ROUND_ROCK);
                         currentX--;
                     }
                 }
@@ -103,11 +174,11 @@ public class Day14 {
         // Tilt down
         for (var y = yMax - 2; y >= 0; y--) {
             for (var x = 0; x < xMax; x++) {
-                if (map.get(new Point(x, y)) == Tile.ROUND_ROCK) {
+                if (map.get(x, y) == ROUND_ROCK) {
                     var currentY = y;
-                    while (currentY < yMax - 1 && map.get(new Point(x, currentY + 1)) == Tile.EMPTY) {
-                        map.put(new Point(x, currentY), Tile.EMPTY);
-                        map.put(new Point(x, currentY + 1), Tile.ROUND_ROCK);
+                    while (currentY < yMax - 1 && map.get(x, currentY + 1) == EMPTY) {
+                        map.set(x, currentY, EMPTY);
+                        map.set(x, currentY + 1, ROUND_ROCK);
                         currentY++;
                     }
                 }
@@ -117,11 +188,11 @@ public class Day14 {
         // Tilt right
         for (var x = xMax - 2; x >= 0; x--) {
             for (var y = 0; y < yMax; y++) {
-                if (map.get(new Point(x, y)) == Tile.ROUND_ROCK) {
+                if (map.get(x, y) == ROUND_ROCK) {
                     var currentX = x;
-                    while (currentX < xMax - 1 && map.get(new Point(currentX + 1, y)) == Tile.EMPTY) {
-                        map.put(new Point(currentX, y), Tile.EMPTY);
-                        map.put(new Point(currentX + 1, y), Tile.ROUND_ROCK);
+                    while (currentX < xMax - 1 && map.get(currentX + 1, y) == EMPTY) {
+                        map.set(currentX, y, EMPTY);
+                        map.set(currentX + 1, y, ROUND_ROCK);
                         currentX++;
                     }
                 }
@@ -129,33 +200,21 @@ public class Day14 {
         }
     }
     
-    private static Map<Point, Tile> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Tile>();
-        
-        for (var y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (var x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Tile.from(line.charAt(x)));
+    private static Grid parseMap(final List<String> lines) {
+        return validate(Grid.parse(lines));
+    }
+    
+    private static <G extends CharGrid> G validate(final G map) {
+        for (var y = 0; y < map.height(); y++) {
+            final var row = map.row(y);
+            for (var x = 0; x < row.length(); x++) {
+                final var c = row.charAt(x);
+                if (c != ROUND_ROCK && c != ROCK && c != EMPTY) {
+                    throw new IllegalArgumentException("Invalid tile type: " + c);
+                }
             }
         }
         
         return map;
     }
-    
-    
-    private enum Tile {
-        ROUND_ROCK,
-        ROCK,
-        EMPTY,
-        ;
-        
-        public static Tile from(final char c) {
-            return switch (c) {
-                case '.' -> EMPTY;
-                case '#' -> ROCK;
-                case 'O' -> ROUND_ROCK;
-                default -> throw new IllegalArgumentException("Invalid tile type: " + c);
-            };
-        }
-    }
 }
@@ -1,11 +1,14 @@
+import runner.Solver;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 
-public class Day15 {
+public class Day15 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day15.txt"));
@@ -14,6 +17,16 @@ public class Day15 {
         System.out.println(part2(lines.getFirst()));
     }
     
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines.getFirst());
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines.getFirst());
+    }
+    
     static long part1(final String line) {
         return Arrays.stream(line.split(",")).map(Day15::hash).reduce(0, Integer::sum);
     }
@@ -1,118 +1,194 @@
+import runner.Solver;
+import util.CharGrid;
+import util.Grid;
+import util.LongBitSet;
+import util.LongHashSet;
+import util.LongStack;
+import util.OffHeapGrid;
 import util.Point;
+import util.Scratch;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayDeque;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 
-public class Day16 {
+public class Day16 implements Solver {
+    private static final Point.Direction[]   DIRECTIONS  = Point.Direction.values();
+    // The outgoing directions of a beam that keeps its heading (by heading), or that is split
+    private static final Point.Direction[][] STRAIGHT    = Arrays.stream(DIRECTIONS)
+                                                                 .map(direction -> new Point.Direction[]{direction})
+                                                                 .toArray(Point.Direction[][]::new);
+    private static final Point.Direction[]   EAST_WEST   = {Point.Direction.E, Point.Direction.W};
+    private static final Point.Direction[]   NORTH_SOUTH = {Point.Direction.N, Point.Direction.S};
+    // Part 2 counts the rays of every edge cell, so the collections are reused instead of allocated per count
+    private static final Scratch<Beams>      BEAMS       = new Scratch<>(Beams::new, Beams::clear);
     
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day16.txt"));
+        // Works on the mapped file, off the heap
+        final var map = OffHeapGrid.map(Path.of("resources/day16.txt"));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(map));
+        System.out.println(part2(map));
+    }
+    
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
     }
     
     static long part1(final List<String> lines) {
-        final var map  = parseMap(lines);
-        final var maxX = lines.getFirst().length();
-        final var maxY = lines.size();
-        
-        return countRays(new Beam(new Point(0, 0), Point.Direction.E), map, maxX, maxY);
-    }
-    
-    private static long countRays(final Beam start, final HashMap<Point, Tile> map, final int maxX, final int maxY) {
-        final var beamsSeen = new HashSet<Beam>();
-        final var beams     = new ArrayDeque<Beam>();
-        beams.add(start);
-        
-        Beam beam;
-        while ((beam = beams.poll()) != null) {
-            // Out of bounds or seen
-            if (beam.point().x() < 0 ||
-                beam.point().x() >= maxX ||
-                beam.point().y() < 0 ||
-                beam.point().y() >= maxY ||
-                !beamsSeen.add(beam)) {
+        final var map = parseMap(lines);
+        
+        return countRays(map, 0, Point.Direction.E);
+    }
+    
+    private static long countRays(final Grid map, final int start, final Point.Direction direction) {
+        final var scratch = BEAMS.acquire();
+        try {
+            return countRays(map, start, direction, scratch);
+        } finally {
+            BEAMS.release(scratch);
+        }
+    }
+    
+    // A beam is the index of its cell in the grid and its direction, packed as index * 4 + direction
+    private static long countRays(final Grid map, final int start, final Point.Direction direction,
+                                  final Beams scratch) {
+        final var beamsSeen = scratch.seen;
+        final var energized = scratch.energized(map.size());
+        final var beams     = scratch.beams;
+        beams.push(beam(start, direction));
+        
+        var count = 0L;
+        while (!beams.isEmpty()) {
+            final var beam = beams.pop();
+            if (!beamsSeen.add(beam)) {
                 continue;
             }
             
-            switch (map.get(beam.point())) {
-                case EMPTY -> beams.push(new Beam(beam.point().move(beam.direction()), beam.direction()));
-                case MIRROR_LEFT -> {
-                    switch (beam.direction()) {
-                        case N -> beams.push(new Beam(beam.point().move(Point.Direction.E), Point.Direction.E));
-                        case E -> beams.push(new Beam(beam.point().move(Point.Direction.N), Point.Direction.N));
-                        case S -> beams.push(new Beam(beam.point().move(Point.Direction.W), Point.Direction.W));
-                        case W -> beams.push(new Beam(beam.point().move(Point.Direction.S), Point.Direction.S));
-                    }
-                }
-                case MIRROR_RIGHT -> {
-                    switch (beam.direction()) {
-                        case N -> beams.push(new Beam(beam.point().move(Point.Direction.W), Point.Direction.W));
-                        case E -> beams.push(new Beam(beam.point().move(Point.Direction.S), Point.Direction.S));
-                        case S -> beams.push(new Beam(beam.point().move(Point.Direction.E), Point.Direction.E));
-                        case W -> beams.push(new Beam(beam.point().move(Point.Direction.N), Point.Direction.N));
-                    }
-                }
-                case SPLIT_HORIZONTAL -> {
-                    switch (beam.direction()) {
-                        case E, W -> beams.push(new Beam(beam.point().move(beam.direction()), beam.direction()));
-                        case N, S -> {
-                            beams.push(new Beam(beam.point().move(Point.Direction.E), Point.Direction.E));
-                            beams.push(new Beam(beam.point().move(Point.Direction.W), Point.Direction.W));
-                        }
-                    }
+            final var index   = (int) (beam >>> 2);
+            final var heading = DIRECTIONS[(int) beam & 3];
+            if (!energized[index]) {
+                energized[index] = true;
+                count++;
+            }
+            
+            // Beams leaving the grid are dropped right away
+            for (final var next : Tile.parse(map.get(index)).outgoing(heading)) {
+                if (map.canMove(index, next)) {
+                    beams.push(beam(index + map.offset(next), next));
                 }
-                case SPLIT_VERTICAL -> {
-                    switch (beam.direction()) {
-                        case N, S -> beams.push(new Beam(beam.point().move(beam.direction()), beam.direction()));
-                        case E, W -> {
-                            beams.push(new Beam(beam.point().move(Point.Direction.N), Point.Direction.N));
-                            beams.push(new Beam(beam.point().move(Point.Direction.S), Point.Direction.S));
-                        }
-                    }
+            }
+        }
+        
+        return count;
+    }
+    
+    private static long countRays(final OffHeapGrid map, final long start, final Point.Direction direction) {
+        final var scratch = BEAMS.acquire();
+        try {
+            return countRays(map, start, direction, scratch);
+        } finally {
+            BEAMS.release(scratch);
+        }
+    }
+    
+    // The same search on long indices. The grid is off the heap, and the beams seen and the cells energized are bit
+    // sets on long indices, so they hold every beam of any grid an OffHeapGrid can hold, at a bit per beam.
+    private static long countRays(final OffHeapGrid map, final long start, final Point.Direction direction,
+                                  final Beams scratch) {
+        final var beamsSeen = scratch.seenBits(map.size() * DIRECTIONS.length);
+        final var energized = scratch.energizedBits(map.size());
+        final var beams     = scratch.beams;
+        beams.push(beam(start, direction));
+        
+        while (!beams.isEmpty()) {
+            final var beam = beams.pop();
+            if (!beamsSeen.add(beam)) {
+                continue;
+            }
+            
+            final var index   = beam >>> 2;
+            final var heading = DIRECTIONS[(int) beam & 3];
+            energized.add(index);
+            
+            for (final var next : Tile.parse(map.get(index)).outgoing(heading)) {
+                if (map.canMove(index, next)) {
+                    beams.push(beam(index + map.offset(next), next));
                 }
             }
         }
         
-        return beamsSeen.stream().map(Beam::point).distinct().count();
+        return energized.cardinality();
+    }
+    
+    private static long beam(final long index, final Point.Direction direction) {
+        return index << 2 | direction.ordinal();
     }
     
     static long part2(final List<String> lines) {
-        final var map  = parseMap(lines);
-        final var maxX = lines.getFirst().length();
-        final var maxY = lines.size();
+        final var map = parseMap(lines);
+        
+        return maxRays(map, (x, y, direction) -> countRays(map, map.index(x, y), direction));
+    }
+    
+    static long part1(final OffHeapGrid map) {
+        return countRays(map, 0, Point.Direction.E);
+    }
+    
+    static long part2(final OffHeapGrid map) {
+        // The rays share one scratch, its bit sets are sized to the grid once and only cleared where a ray wrote
+        final var scratch = BEAMS.acquire();
+        try {
+            return maxRays(map, (x, y, direction) -> {
+                final var count = countRays(map, map.index(x, y), direction, scratch);
+                scratch.clearBits();
+                return count;
+            });
+        } finally {
+            BEAMS.release(scratch);
+        }
+    }
+    
+    // The most cells energized by a beam entering at any edge cell, for either kind of grid
+    private static long maxRays(final CharGrid map, final RayCount rays) {
+        final var maxX = map.width();
+        final var maxY = map.height();
         
         var max = 0L;
         
         // Left and right
         for (var y = 0; y < maxY; y++) {
-            max = Math.max(max, countRays(new Beam(new Point(0, y), Point.Direction.E), map, maxX, maxY));
-            max = Math.max(max, countRays(new Beam(new Point(maxX - 1, y), Point.Direction.W), map, maxX, maxY));
+            max = Math.max(max, rays.from(0, y, Point.Direction.E));
+            max = Math.max(max, rays.from(maxX - 1, y, Point.Direction.W));
         }
         // Top and bottom
         for (var x = 0; x < maxX; x++) {
-            max = Math.max(max, countRays(new Beam(new Point(x, 0), Point.Direction.S), map, maxX, maxY));
-            max = Math.max(max, countRays(new Beam(new Point(x, maxY - 1), Point.Direction.N), map, maxX, maxY));
+            max = Math.max(max, rays.from(x, 0, Point.Direction.S));
+            max = Math.max(max, rays.from(x, maxY - 1, Point.Direction.N));
         }
         
         return max;
     }
     
-    private static HashMap<Point, Tile> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Tile>();
-        for (var y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (var x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Tile.parse(line.charAt(x)));
-            }
-        }
-        return map;
+    private static Grid parseMap(final List<String> lines) {
+        return Grid.parse(lines);
+    }
+    
+    @FunctionalInterface
+    private interface RayCount {
+        long from(int x, int y, Point.Direction direction);
     }
     
     private enum Tile {
@@ -133,9 +209,77 @@ public class Day16 {
                 default -> throw new IllegalArgumentException("Unknown tile: " + c);
             };
         }
+        
+        public Point.Direction[] outgoing(final Point.Direction heading) {
+            return switch (this) {
+                case EMPTY -> STRAIGHT[heading.ordinal()];
+                case MIRROR_LEFT -> STRAIGHT[(switch (heading) {
+                    case N -> Point.Direction.E;
+                    case E -> Point.Direction.N;
+                    case S -> Point.Direction.W;
+                    case W -> Point.Direction.S;
+                }).ordinal()];
+                case MIRROR_RIGHT -> STRAIGHT[(switch (heading) {
+                    case N -> Point.Direction.W;
+                    case E -> Point.Direction.S;
+                    case S -> Point.Direction.E;
+                    case W -> Point.Direction.N;
+                }).ordinal()];
+                case SPLIT_HORIZONTAL -> switch (heading) {
+                    case E, W -> STRAIGHT[heading.ordinal()];
+                    case N, S -> EAST_WEST;
+                };
+                case SPLIT_VERTICAL -> switch (heading) {
+                    case N, S -> STRAIGHT[heading.ordinal()];
+                    case E, W -> NORTH_SOUTH;
+                };
+            };
+        }
     }
     
-    // We could also call this "vector"
-    private record Beam(Point point, Point.Direction direction) {
+    private static final class Beams {
+        private static final LongBitSet NO_BITS = new LongBitSet(0);
+        
+        private final LongHashSet seen          = new LongHashSet();
+        private final LongStack   beams         = new LongStack();
+        private       boolean[]   energized     = new boolean[0];
+        // Only used for off heap grids, which are too large to keep their bit sets per thread between parts
+        private       LongBitSet  seenBits      = NO_BITS;
+        private       LongBitSet  energizedBits = NO_BITS;
+        
+        // Cleared when the scratch is released
+        private boolean[] energized(final int size) {
+            if (energized.length < size) {
+                energized = new boolean[size];
+            }
+            return energized;
+        }
+        
+        private LongBitSet seenBits(final long size) {
+            if (seenBits.size() < size) {
+                seenBits = new LongBitSet(size);
+            }
+            return seenBits;
+        }
+        
+        private LongBitSet energizedBits(final long size) {
+            if (energizedBits.size() < size) {
+                energizedBits = new LongBitSet(size);
+            }
+            return energizedBits;
+        }
+        
+        private void clearBits() {
+            seenBits.clear();
+            energizedBits.clear();
+        }
+        
+        private void clear() {
+            seen.clear();
+            beams.clear();
+            Arrays.fill(energized, false);
+            seenBits = NO_BITS;
+            energizedBits = NO_BITS;
+        }
     }
 }
@@ -1,11 +1,20 @@
+import runner.Solver;
+import util.Grid;
+import util.LongHashSet;
+import util.LongIntHashMap;
 import util.Point;
+import util.Scratch;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.util.List;
+import java.util.PriorityQueue;
 
-public class Day17 {
+public class Day17 implements Solver {
+    private static final Point.Direction[] DIRECTIONS   = Point.Direction.values();
+    private static final int               NO_DIRECTION = 4;
+    private static final Scratch<Search>   SEARCHES     = new Scratch<>(Search::new, Search::clear);
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day17.txt"));
@@ -14,6 +23,21 @@ public class Day17 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         return getHeatLoss(lines, 1, 3);
     }
@@ -24,40 +48,54 @@ public class Day17 {
     
     
     private static long getHeatLoss(final List<String> lines, final int minStep, final int maxStep) {
-        final var map = parseMap(lines);
-        
-        final var queue  = new PriorityQueue<Node>();
-        final var seen   = new HashSet<Step>();
-        final var target = new Point(lines.getFirst().length() - 1, lines.size() - 1);
-        queue.add(new Node(new Step(new Point(0, 0), null), 0));
+        final var search = SEARCHES.acquire();
+        try {
+            return getHeatLoss(parseMap(lines), minStep, maxStep, search);
+        } finally {
+            SEARCHES.release(search);
+        }
+    }
+    
+    // A step is the index of its cell in the grid and the direction it was entered from, packed as index * 8 + the
+    // ordinal of the direction, or NO_DIRECTION for the start
+    private static long getHeatLoss(final Grid map, final int minStep, final int maxStep, final Search search) {
+        final var queue  = search.queue;
+        final var seen   = search.seen;
+        final var costs  = search.costs;
+        final var target = map.index(map.width() - 1, map.height() - 1);
+        queue.add(new Node(step(0, NO_DIRECTION), 0));
         
         while (!queue.isEmpty()) {
-            final var node = queue.poll();
-            final var step = node.step();
+            final var node  = queue.poll();
+            final var index = (int) (node.step() >>> 3);
+            final var from  = (int) node.step() & 7;
             
-            if (step.point().equals(target)) {
+            if (index == target) {
                 return node.cost();
             }
-            if (!seen.add(step)) {
+            if (!seen.add(node.step())) {
                 continue;
             }
             
-            for (final Point.Direction direction : Point.Direction.values()) {
-                if (step.direction() == direction || step.direction() == direction.opposite()) {
+            for (final var direction : DIRECTIONS) {
+                if (from == direction.ordinal() || from == direction.opposite().ordinal()) {
                     continue;
                 }
                 
-                var newPoint = step.point();
+                var newIndex = index;
                 var newCost  = node.cost();
                 for (int i = 1; i <= maxStep; i++) {
-                    newPoint = newPoint.move(direction);
-                    if (!map.containsKey(newPoint)) {
+                    if (!map.canMove(newIndex, direction)) {
                         break;
                     }
-                    newCost += map.get(newPoint);
+                    newIndex += map.offset(direction);
+                    newCost += map.get(newIndex) - '0';
                     
-                    if (i >= minStep) {
-                        queue.add(new Node(new Step(newPoint, direction), newCost));
+                    // Only queue a step if it is cheaper than any queued before
+                    final var newStep = step(newIndex, direction.ordinal());
+                    if (i >= minStep && newCost < costs.getOrDefault(newStep, Integer.MAX_VALUE)) {
+                        costs.put(newStep, newCost);
+                        queue.add(new Node(newStep, newCost));
                     }
                 }
             }
@@ -66,26 +104,40 @@ public class Day17 {
         throw new IllegalStateException("No path found");
     }
     
-    private static Map<Point, Integer> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Integer>();
+    private static long step(final int index, final int direction) {
+        return (long) index << 3 | direction;
+    }
+    
+    // Keeps the digits as they are, the heat loss of a cell is its char minus '0'
+    private static Grid parseMap(final List<String> lines) {
+        final var map = Grid.parse(lines);
         
-        for (var y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (var x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Integer.parseInt(line.substring(x, x + 1)));
+        for (var index = 0; index < map.size(); index++) {
+            if (!Character.isDigit(map.get(index))) {
+                throw new NumberFormatException("Invalid heat loss: " + map.get(index));
             }
         }
         
         return map;
     }
     
-    private record Step(Point point, Point.Direction direction) {
-    }
-    
-    private record Node(Step step, int cost) implements Comparable<Node> {
+    private record Node(long step, int cost) implements Comparable<Node> {
         @Override
         public int compareTo(final Node other) {
             return Integer.compare(this.cost(), other.cost());
         }
     }
+    
+    // The collections of a search, reused between the searches on a thread
+    private static final class Search {
+        private final PriorityQueue<Node> queue = new PriorityQueue<>();
+        private final LongHashSet         seen  = new LongHashSet();
+        private final LongIntHashMap      costs = new LongIntHashMap();
+        
+        private void clear() {
+            queue.clear();
+            seen.clear();
+            costs.clear();
+        }
+    }
 }
@@ -1,3 +1,5 @@
+import runner.LineAccumulator;
+import runner.StreamingSolver;
 import util.Point;
 
 import java.io.IOException;
@@ -6,7 +8,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Function;
 
-public class Day18 {
+public class Day18 implements StreamingSolver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day18.txt"));
@@ -15,6 +17,31 @@ public class Day18 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return lines.stream().map(Instruction::fromPart2).toList();
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part1Accumulator() {
+        return new Area(Instruction::fromPart1);
+    }
+    
+    @Override
+    public LineAccumulator<Long> part2Accumulator() {
+        return new Area(Instruction::fromPart2);
+    }
+    
     static long part1(final List<String> lines) {
         return getArea(lines, Instruction::fromPart1);
     }
@@ -24,12 +51,25 @@ public class Day18 {
     }
     
     private static long getArea(final List<String> lines, final Function<String, Instruction> parser) {
-        var shoelaces       = 0L;
-        var boundary        = 0L;
-        var currentPosition = new Point();
+        final var area = new Area(parser);
+        lines.forEach(area::accept);
+        return area.result();
+    }
+    
+    // Only the running sums and the current position are needed, so the instructions can be streamed
+    private static final class Area implements LineAccumulator<Long> {
+        private final Function<String, Instruction> parser;
+        private       long                          shoelaces;
+        private       long                          boundary;
+        private       Point                         currentPosition = new Point();
         
-        for (final var line : lines) {
-            final var instruction  = parser.apply(line);
+        private Area(final Function<String, Instruction> parser) {
+            this.parser = parser;
+        }
+        
+        @Override
+        public void accept(final CharSequence line) {
+            final var instruction  = parser.apply(line.toString());
             final var nextPosition = currentPosition.move(instruction.direction(), instruction.distance());
             
             // See https://en.wikipedia.org/wiki/Shoelace_formula
@@ -38,15 +78,18 @@ public class Day18 {
             currentPosition = nextPosition;
         }
         
-        // See https://en.wikipedia.org/wiki/Pick%27s_theorem
-        // A = shoelaces / 2 (Shoelace formula)
-        // A = I + B/2 - 1 (Pick's theorem)
-        // -> I = A + 1 - B/2
-        // Total = I + B
-        // Total = (A + 1 - B/2) + B
-        // Total = A + 1 + B/2
-        // Total = shoelaces / 2 + 1 + B/2
-        return shoelaces / 2 + 1 + boundary / 2;
+        @Override
+        public Long result() {
+            // See https://en.wikipedia.org/wiki/Pick%27s_theorem
+            // A = shoelaces / 2 (Shoelace formula)
+            // A = I + B/2 - 1 (Pick's theorem)
+            // -> I = A + 1 - B/2
+            // Total = I + B
+            // Total = (A + 1 - B/2) + B
+            // Total = A + 1 + B/2
+            // Total = shoelaces / 2 + 1 + B/2
+            return shoelaces / 2 + 1 + boundary / 2;
+        }
     }
     
     private record Instruction(Point.Direction direction, int distance) {
@@ -1,4 +1,6 @@
-import util.Pair;
+import runner.Solver;
+import util.interval.Box;
+import util.interval.Interval;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -9,7 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class Day19 {
+public class Day19 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day19.txt"));
@@ -18,6 +20,21 @@ public class Day19 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseInstructions(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var instructions = parseInstructions(lines);
         final var parts        = lines.stream().skip(instructions.size() + 1).map(Part::from).toList();
@@ -28,13 +45,7 @@ public class Day19 {
             var result = "in";
             while (!result.equals("A") && !result.equals("R")) {
                 for (final var rule : instructions.get(result)) {
-                    if (rule.variable() == null) {
-                        result = rule.target();
-                        break;
-                    }
-                    final var variable = part.valueOf(rule.variable());
-                    
-                    if (rule.isSmaller() && variable < rule.value() || !rule.isSmaller() && variable > rule.value()) {
+                    if (rule.isUnconditional() || rule.matches(part.valueOf(rule.variable()))) {
                         result = rule.target();
                         break;
                     }
@@ -48,32 +59,33 @@ public class Day19 {
     
     static long part2(final List<String> lines) {
         final var instructions = parseInstructions(lines);
-        final var state        = new State("in", new Intervals());
+        final var state        = new State("in", Box.cube(4, Interval.closed(1, 4000)));
         final var candidates   = new ArrayDeque<State>();
         candidates.add(state);
         
         var sum = 0L;
         
         while (!candidates.isEmpty()) {
-            final var candidate        = candidates.poll();
-            var       currentIntervals = candidate.intervals();
+            final var candidate = candidates.poll();
+            var       box       = candidate.box();
             
             if (candidate.target().equals("A")) {
-                sum += currentIntervals.sum();
+                sum += box.volume();
                 continue;
             }
-            if (candidate.target().equals("R")) {
+            if (candidate.target().equals("R") || box.isEmpty()) {
                 continue;
             }
             
-            for (final var instruction : instructions.get(candidate.target())) {
-                if (instruction.variable() == null) {
-                    candidates.add(new State(instruction.target(), currentIntervals));
-                    continue;
+            for (final var rule : instructions.get(candidate.target())) {
+                if (rule.isUnconditional()) {
+                    candidates.add(new State(rule.target(), box));
+                    break;
                 }
                 
-                candidates.add(new State(instruction.target(), currentIntervals.apply(instruction)));
-                currentIntervals = currentIntervals.apply(instruction.invert());
+                final var side = box.side(rule.variable());
+                candidates.add(new State(rule.target(), box.with(rule.variable(), rule.accepted(side))));
+                box = box.with(rule.variable(), rule.rejected(side));
             }
         }
         
@@ -90,74 +102,49 @@ public class Day19 {
                     }));
     }
     
-    private record State(String target, Intervals intervals) {
+    private record State(String target, Box box) {
     }
     
-    private record Intervals(Pair<Long> x, Pair<Long> m, Pair<Long> a, Pair<Long> s) {
-        private Intervals() {
-            this(new Pair<>(1L, 4000L), new Pair<>(1L, 4000L), new Pair<>(1L, 4000L), new Pair<>(1L, 4000L));
-        }
-        
-        public Long sum() {
-            return (x.second() - x.first() + 1) *
-                   (m.second() - m.first() + 1) *
-                   (a.second() - a.first() + 1) *
-                   (s.second() - s.first() + 1);
-        }
-        
-        private Intervals apply(final Rule rule) {
-            final var pair = switch (rule.variable()) {
-                case "x" -> x();
-                case "m" -> m();
-                case "a" -> a();
-                case "s" -> s();
-                default -> throw new IllegalStateException("Unexpected value: " + rule.variable());
-            };
-            
-            var lowerBound = pair.first();
-            var upperBound = pair.second();
-            
-            if (rule.isSmaller()) {
-                upperBound = rule.value() - 1;
-            } else {
-                lowerBound = rule.value() + 1;
-            }
-            
-            final Pair<Long> p = new Pair<>(lowerBound, upperBound);
-            
-            return switch (rule.variable()) {
-                case "x" -> new Intervals(p, m, a, s);
-                case "m" -> new Intervals(x, p, a, s);
-                case "a" -> new Intervals(x, m, p, s);
-                case "s" -> new Intervals(x, m, a, p);
-                default -> throw new IllegalStateException("Unexpected value: " + rule.variable());
-            };
-        }
-        
-    }
-    
-    private record Rule(String target, String variable, Long value, Boolean isSmaller) {
+    /**
+     * A rule "x<v:target" or "x>v:target" on the rating of the variable (as its index in xmas), or the unconditional
+     * last rule of a workflow with variable -1.
+     */
+    private record Rule(String target, int variable, long value, boolean isSmaller) {
         public static Rule from(final String line) {
             final var parts = line.split(":");
             
             if (parts.length == 1) {
-                return new Rule(parts[0], null, null, null);
+                return new Rule(parts[0], -1, 0, false);
             }
             
             final var operation = parts[0].split("[<>]");
-            final var variable  = operation[0];
+            final var variable  = "xmas".indexOf(operation[0]);
+            if (operation[0].length() != 1 || variable < 0) {
+                throw new IllegalArgumentException("Unknown category: " + operation[0]);
+            }
+            
             final var value     = Long.parseLong(operation[1]);
             final var isSmaller = parts[0].contains("<");
             
             return new Rule(parts[1], variable, value, isSmaller);
         }
         
-        public Rule invert() {
-            if (isSmaller()) {
-                return new Rule(target(), variable(), value() - 1, false);
-            } else {
-                return new Rule(target(), variable(), value() + 1, true);
-            }
+        public boolean isUnconditional() {
+            return variable < 0;
+        }
+        
+        public boolean matches(final long rating) {
+            return isSmaller ? rating < value : rating > value;
+        }
+        
+        // The ratings of the side sent to the target
+        public Interval accepted(final Interval side) {
+            return isSmaller ? side.below(value) : side.from(value + 1);
+        }
+        
+        // The ratings of the side going on to the next rule
+        public Interval rejected(final Interval side) {
+            return isSmaller ? side.from(value) : side.below(value + 1);
         }
     }
     
@@ -174,12 +161,12 @@ public class Day19 {
             return x + m + a + s;
         }
         
-        public int valueOf(final String variable) {
+        public int valueOf(final int variable) {
             return switch (variable) {
-                case "x" -> x;
-                case "m" -> m;
-                case "a" -> a;
-                case "s" -> s;
+                case 0 -> x;
+                case 1 -> m;
+                case 2 -> a;
+                case 3 -> s;
                 default -> throw new IllegalStateException("Unexpected value: " + variable);
             };
         }
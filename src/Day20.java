@@ -1,15 +1,17 @@
+import runner.CycleEvent;
+import runner.Solver;
+import util.IntQueue;
 import util.MathUtil;
+import util.graph.CsrGraph;
+import util.graph.Interner;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayDeque;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
-public class Day20 {
+public class Day20 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day20.txt"));
@@ -18,22 +20,37 @@ public class Day20 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseCircuit(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
-        final var modules = parseModules(lines);
+        final var circuit = parseCircuit(lines);
+        final var queue   = new IntQueue();
         var       low     = 0L;
         var       high    = 0L;
         
         for (var i = 0; i < 1000; i++) {
-            final var signalQueue = new ArrayDeque<Signal>();
-            signalQueue.add(new Signal(null, "roadcaster", false)); // That's not a typo, we removed the first char
+            queue.add(Circuit.signal(circuit.button, false));
             
-            while (!signalQueue.isEmpty()) {
-                final var signal = signalQueue.poll();
+            while (!queue.isEmpty()) {
+                final var signal = queue.poll();
                 
-                high += signal.value() ? 1 : 0;
-                low += signal.value() ? 0 : 1;
+                high += Circuit.isHigh(signal) ? 1 : 0;
+                low += Circuit.isHigh(signal) ? 0 : 1;
                 
-                process(modules.get(signal.target()), signal, signalQueue);
+                circuit.process(signal, queue);
             }
         }
         
@@ -41,7 +58,7 @@ public class Day20 {
     }
     
     static long part2(final List<String> lines) {
-        final var modules = parseModules(lines);
+        final var circuit = parseCircuit(lines);
         
         // rx needs to be low, so let's inspect the input
         // &mg -> rx (all mg inputs must be high, so rx is low)
@@ -53,86 +70,76 @@ public class Day20 {
         // -> Find the cycle of each conjunction (jg, rh, jm and hf) when it is the target of a low-signal
         // -> LCM of all cycles
         
-        final var cycles = new HashMap<String, Long>();
-        cycles.put("jg", 0L);
-        cycles.put("rh", 0L);
-        cycles.put("jm", 0L);
-        cycles.put("hf", 0L);
+        final var watched = List.of("jg", "rh", "jm", "hf");
+        final var cycles  = new long[watched.size()];
+        // The index of every module in cycles, -1 if it is not watched
+        final var slots   = new int[circuit.modules.size()];
+        Arrays.fill(slots, -1);
+        for (var slot = 0; slot < watched.size(); slot++) {
+            final var module = circuit.modules.id(watched.get(slot));
+            if (module != -1) {
+                slots[module] = slot;
+            }
+        }
         
-        var currentCycle = 0L;
+        final var queue        = new IntQueue();
+        var       currentCycle = 0L;
+        var       pulses       = 0L;
         
         // Break when all cycles are non 0
-        while (!cycles.values().stream().allMatch(cycle -> cycle != 0L)) {
+        while (!Arrays.stream(cycles).allMatch(cycle -> cycle != 0L)) {
             currentCycle++;
-            final var signalQueue = new ArrayDeque<Signal>();
-            signalQueue.add(new Signal(null, "roadcaster", false));
-            while (!signalQueue.isEmpty()) {
-                final var signal = signalQueue.poll();
+            queue.add(Circuit.signal(circuit.button, false));
+            while (!queue.isEmpty()) {
+                final var signal = queue.poll();
+                final var target = circuit.wiring.target(Circuit.edge(signal));
+                pulses++;
                 
                 // It *could* be, that one cycle fits multiple times in another,
                 // so we need to set the cycle length only the first time we see it
-                if (cycles.getOrDefault(signal.target(), -1L) == 0L && !signal.value()) {
-                    cycles.put(signal.target(), currentCycle);
+                if (slots[target] != -1 && cycles[slots[target]] == 0L && !Circuit.isHigh(signal)) {
+                    cycles[slots[target]] = currentCycle;
+                    
+                    final var cycleFound = new CycleEvent();
+                    if (cycleFound.shouldCommit()) {
+                        cycleFound.day = 20;
+                        cycleFound.subject = circuit.modules.name(target);
+                        cycleFound.length = currentCycle;
+                        cycleFound.statesExplored = pulses;
+                        cycleFound.commit();
+                    }
                 }
                 
-                process(modules.get(signal.target()), signal, signalQueue);
+                circuit.process(signal, queue);
             }
         }
         
-        return cycles.values().stream().reduce(1L, MathUtil::lcm);
+        return MathUtil.lcm(Arrays.stream(cycles));
     }
     
-    private static void process(final Module module, final Signal signal, final ArrayDeque<Signal> signalQueue) {
-        if (module == null) {
-            return;
-        }
+    private static Circuit parseCircuit(final List<String> lines) {
+        final var modules = new Interner<String>();
+        final var wiring  = CsrGraph.builder();
+        final var types   = new Type[lines.size() + 1];
         
-        final var nextSource = signal.target();
+        // The button is a module of its own, wired to the broadcaster, so every pulse travels along an edge
+        final var button = modules.intern("button");
+        wiring.addEdge(button, modules.intern("roadcaster")); // That's not a typo, we removed the first char
         
-        switch (module.type()) {
-            case FLIP_FLOP -> {
-                if (!signal.value()) {
-                    final var nextState = !module.state().get("");
-                    module.state().put("", nextState);
-                    
-                    for (final var nextTarget : module.targets()) {
-                        signalQueue.add(new Signal(nextSource, nextTarget, nextState));
-                    }
-                }
-            }
-            case CONJUNCTION -> {
-                module.state().put(signal.source(), signal.value());
-                final var nextState = !module.state().values().stream().allMatch(value -> value);
-                for (final var nextTarget : module.targets()) {
-                    signalQueue.add(new Signal(nextSource, nextTarget, nextState));
-                }
-            }
-            case BROADCASTER -> {
-                for (final var nextTarget : module.targets()) {
-                    signalQueue.add(new Signal(nextSource, nextTarget, signal.value()));
-                }
-            }
+        // All modules with a line are interned first, so their ids are below the size of types
+        final var definitions = lines.stream().map(line -> line.split(" -> ")).toList();
+        for (final var parts : definitions) {
+            types[modules.intern(parts[0].substring(1))] = Type.from(parts[0].charAt(0));
         }
-    }
-    
-    private static Map<String, Module> parseModules(final List<String> lines) {
-        final var modules = lines.stream()
-                                 .map(line -> line.split(" -> "))
-                                 .collect(Collectors.toMap(parts -> parts[0].substring(1), Module::from));
-        
-        for (final var entry : modules.entrySet()) {
-            final var target = entry.getKey();
-            final var module = entry.getValue();
-            if (module.type() == Type.CONJUNCTION) {
-                for (final var otherEntry : modules.entrySet()) {
-                    if (otherEntry.getValue().targets().contains(target)) {
-                        module.state().put(otherEntry.getKey(), false);
-                    }
-                }
+        for (final var parts : definitions) {
+            final var module = modules.id(parts[0].substring(1));
+            for (final var target : parts[1].split(", ")) {
+                wiring.addEdge(module, modules.intern(target));
             }
         }
         
-        return modules;
+        // Targets without a line of their own (like rx) are modules without a type, they ignore their pulses
+        return new Circuit(modules, wiring.vertices(modules.size()).build(), Arrays.copyOf(types, modules.size()));
     }
     
     private enum Type {
@@ -150,20 +157,78 @@ public class Day20 {
         }
     }
     
-    private record Module(Type type, List<String> targets, Map<String, Boolean> state) {
-        public static Module from(final String[] parts) {
-            final var type    = Type.from(parts[0].charAt(0));
-            final var targets = List.of(parts[1].split(", "));
-            final Map<String, Boolean> state = switch (type) {
-                case FLIP_FLOP -> new HashMap<>(Map.of("", false));
-                case CONJUNCTION -> new HashMap<>();
-                default -> null;
-            };
+    /**
+     * The modules and their wiring, as a graph over interned module ids, with the state of all modules in arrays. A
+     * pulse is the edge it travels along and its value, packed as edge * 2 + high.
+     */
+    private static final class Circuit {
+        private final Interner<String> modules;
+        private final CsrGraph         wiring;
+        private final Type[]           types;
+        private final int              button;
+        // Flip-flop states, by module
+        private final boolean[]        on;
+        // The last pulse of every input of a conjunction, by edge, and the number of its high inputs, by module
+        private final boolean[]        remembered;
+        private final int[]            highInputs;
+        private final int[]            inputs;
+        
+        private Circuit(final Interner<String> modules, final CsrGraph wiring, final Type[] types) {
+            this.modules = modules;
+            this.wiring = wiring;
+            this.types = types;
+            this.button = wiring.begin(modules.id("button"));
+            this.on = new boolean[types.length];
+            this.remembered = new boolean[wiring.edges()];
+            this.highInputs = new int[types.length];
+            this.inputs = new int[types.length];
+            for (var edge = 0; edge < wiring.edges(); edge++) {
+                inputs[wiring.target(edge)]++;
+            }
+        }
+        
+        static int signal(final int edge, final boolean high) {
+            return edge << 1 | (high ? 1 : 0);
+        }
+        
+        static int edge(final int signal) {
+            return signal >>> 1;
+        }
+        
+        static boolean isHigh(final int signal) {
+            return (signal & 1) != 0;
+        }
+        
+        void process(final int signal, final IntQueue queue) {
+            final var edge   = edge(signal);
+            final var high   = isHigh(signal);
+            final var module = wiring.target(edge);
+            if (types[module] == null) {
+                return;
+            }
             
-            return new Module(type, targets, state);
+            switch (types[module]) {
+                case FLIP_FLOP -> {
+                    if (!high) {
+                        on[module] = !on[module];
+                        send(module, on[module], queue);
+                    }
+                }
+                case CONJUNCTION -> {
+                    if (remembered[edge] != high) {
+                        remembered[edge] = high;
+                        highInputs[module] += high ? 1 : -1;
+                    }
+                    send(module, highInputs[module] != inputs[module], queue);
+                }
+                case BROADCASTER -> send(module, high, queue);
+            }
+        }
+        
+        private void send(final int module, final boolean high, final IntQueue queue) {
+            for (var edge = wiring.begin(module); edge < wiring.end(module); edge++) {
+                queue.add(signal(edge, high));
+            }
         }
-    }
-    
-    private record Signal(String source, String target, boolean value) {
     }
 }
\ No newline at end of file
@@ -1,132 +1,160 @@
+import runner.Solver;
+import util.CharGrid;
+import util.Grid;
+import util.LongHashSet;
+import util.MathUtil;
+import util.OffHeapGrid;
 import util.Point;
+import util.Point.Direction;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
-public class Day21 {
+public class Day21 implements Solver {
+    private static final char START  = 'S';
+    private static final char GARDEN = '.';
+    private static final char ROCK   = '#';
     
     public static void main(final String[] args) throws IOException {
-        final var lines = Files.readAllLines(Path.of("resources/day21.txt"));
+        // Works on the mapped file, off the heap
+        final var map = validate(OffHeapGrid.map(Path.of("resources/day21.txt")));
         
-        System.out.println(part1(lines));
-        System.out.println(part2(lines));
+        System.out.println(part1(map));
+        System.out.println(part2(map));
+    }
+    
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
     }
     
     static long part1(final List<String> lines) {
-        final var xMax  = lines.getFirst().length();
-        final var yMax  = lines.size();
-        final var map   = parseMap(lines);
-        final var rocks = getRocks(map);
-        
-        var steps = getStartStepAsSet(map);
+        return part1(parseMap(lines));
+    }
+    
+    static long part2(final List<String> lines) {
+        return part2(parseMap(lines));
+    }
+    
+    static long part1(final CharGrid map) {
+        final var walk = new Walk(map);
         
         for (int i = 1; i <= 64; i++) {
-            steps = getNextSteps(steps, rocks, xMax, yMax);
+            walk.step();
         }
         
-        return steps.size();
+        return walk.size();
     }
     
-    static long part2(final List<String> lines) {
+    static long part2(final CharGrid map) {
         // Note: in our input, xMax and yMax are equal! So it is a square.
         // We also notice, that from our start point onwards in all directions,
         // the map has no rock in it. This means, we can measure the growth
         // which must be quadratic.
         // To solve the quadratic growth, we measure the growth 3 times, each
         // when the step counter is at target % xMax (plus xMax).
-        final var xMax  = lines.getFirst().length();
-        final var yMax  = lines.size();
-        final var map   = parseMap(lines);
-        final var rocks = getRocks(map);
+        final var xMax = map.width();
         
         final var target = 26501365;
         final var offset = target % xMax;
-        final var sizes  = new ArrayList<Integer>();
-        var       steps  = getStartStepAsSet(map);
+        final var sizes  = new long[3];
+        final var walk   = new Walk(map);
+        var       found  = 0;
         var       i      = 1;
         
-        while (sizes.size() < 3) {
-            steps = getNextSteps(steps, rocks, xMax, yMax);
+        while (found < sizes.length) {
+            walk.step();
             
             if (i % xMax == offset) {
-                sizes.add(steps.size());
+                sizes[found++] = walk.size();
             }
             i++;
         }
         
-        return solveQuadratic(target / xMax, sizes.get(0), sizes.get(1), sizes.get(2));
-    }
-    
-    private static Set<Point> getRocks(final Map<Point, Tile> map) {
-        return map.entrySet()
-                  .stream()
-                  .filter(entry -> entry.getValue() == Tile.ROCK)
-                  .map(Map.Entry::getKey)
-                  .collect(Collectors.toSet());
+        // The sizes are a quadratic in the number of maps walked, evaluated at 0, 1 and 2
+        return MathUtil.extrapolate(sizes, target / xMax);
     }
     
-    private static long solveQuadratic(final long n, final int a, final int b, final int c) {
-        return a + (b - a) * n + ((c - b) - (b - a)) * (n * (n - 1) / 2);
-    }
-    
-    private static Set<Point> getNextSteps(
-            final Set<Point> steps, final Set<Point> rocks, final int xMax, final int yMax
-    ) {
-        final var nextSteps = new HashSet<Point>();
-        
-        for (final var step : steps) {
-            for (final var neighbor : step.adjacent()) {
-                final var xMod = neighbor.x() % xMax;
-                final var yMod = neighbor.y() % yMax;
-                final var x    = xMod < 0 ? xMod + xMax : xMod;
-                final var y    = yMod < 0 ? yMod + yMax : yMod;
-                if (!rocks.contains(new Point(x, y))) {
-                    nextSteps.add(neighbor);
+    private static LongHashSet getStartStepAsSet(final CharGrid map) {
+        for (var y = 0; y < map.height(); y++) {
+            final var row = map.row(y);
+            for (var x = 0; x < row.length(); x++) {
+                if (row.charAt(x) == START) {
+                    final var steps = new LongHashSet();
+                    steps.add(Point.pack(x, y));
+                    return steps;
                 }
             }
         }
-        
-        return nextSteps;
+        throw new IllegalArgumentException("No start found");
     }
     
-    private static Set<Point> getStartStepAsSet(final Map<Point, Tile> map) {
-        return map.entrySet()
-                  .stream()
-                  .filter(entry -> entry.getValue() == Tile.STEP)
-                  .map(Map.Entry::getKey)
-                  .collect(Collectors.toSet());
+    private static Grid parseMap(final List<String> lines) {
+        return validate(Grid.parse(lines));
     }
     
-    @SuppressWarnings("DuplicatedCode")
-    private static Map<Point, Tile> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Tile>();
-        
-        for (var y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (var x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Tile.from(line.charAt(x)));
+    private static <G extends CharGrid> G validate(final G map) {
+        for (var y = 0; y < map.height(); y++) {
+            final var row = map.row(y);
+            for (var x = 0; x < row.length(); x++) {
+                final var c = row.charAt(x);
+                if (c != GARDEN && c != ROCK && c != START) {
+                    throw new IllegalArgumentException("Unknown tile: " + c);
+                }
             }
         }
         
         return map;
     }
     
-    private enum Tile {
-        STEP,
-        GARDEN,
-        ROCK,
-        ;
+    // The steps reachable after each number of steps, as packed points on the map repeating infinitely in all
+    // directions. The sets of two consecutive steps and the array of the current steps are reused for every step.
+    private static final class Walk {
+        private static final Direction[] DIRECTIONS = Direction.values();
+        
+        private final CharGrid    map;
+        private       LongHashSet steps;
+        private       LongHashSet nextSteps = new LongHashSet();
+        private       long[]      current   = new long[0];
+        
+        private Walk(final CharGrid map) {
+            this.map = map;
+            this.steps = getStartStepAsSet(map);
+        }
+        
+        void step() {
+            current = steps.toArray(current);
+            nextSteps.clear();
+            
+            for (var i = 0; i < steps.size(); i++) {
+                for (final var direction : DIRECTIONS) {
+                    final var neighbor = Point.movePacked(current[i], direction);
+                    final var x        = Math.floorMod(Point.packedX(neighbor), map.width());
+                    final var y        = Math.floorMod(Point.packedY(neighbor), map.height());
+                    if (map.get(x, y) != ROCK) {
+                        nextSteps.add(neighbor);
+                    }
+                }
+            }
+            
+            final var previous = steps;
+            steps = nextSteps;
+            nextSteps = previous;
+        }
         
-        public static Tile from(final char c) {
-            return switch (c) {
-                case '.' -> GARDEN;
-                case '#' -> ROCK;
-                case 'S' -> STEP;
-                default -> throw new IllegalArgumentException("Unknown tile: " + c);
-            };
+        int size() {
+            return steps.size();
         }
     }
 }
\ No newline at end of file
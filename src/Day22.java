@@ -1,3 +1,6 @@
+import runner.Solver;
+import util.ParseCursor;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -5,7 +8,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class Day22 {
+public class Day22 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day22.txt"));
@@ -14,6 +17,21 @@ public class Day22 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return getBricks(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var bricks = getBricks(lines);
         
@@ -77,15 +95,15 @@ public class Day22 {
     
     private record Brick(Point3D a, Point3D b) {
         public static Brick fromString(final String line) {
-            final var parts = line.split("~");
-            final var a     = Arrays.stream(parts[0].split(",")).mapToInt(Integer::parseInt).toArray();
-            final var b     = Arrays.stream(parts[1].split(",")).mapToInt(Integer::parseInt).toArray();
+            final var cursor = new ParseCursor(line);
+            final var a      = Point3D.of(cursor);
+            final var b      = Point3D.of(cursor.expect("~"));
             
-            if (a[2] > b[2]) {
+            if (a.z() > b.z()) {
                 throw new IllegalArgumentException("Brick is not valid");
             }
             
-            return new Brick(Point3D.of(a), Point3D.of(b));
+            return new Brick(a, b);
         }
         
         public Set<Point3D> toSet() {
@@ -104,8 +122,8 @@ public class Day22 {
     }
     
     private record Point3D(int x, int y, int z) {
-        public static Point3D of(final int[] coords) {
-            return new Point3D(coords[0], coords[1], coords[2]);
+        public static Point3D of(final ParseCursor cursor) {
+            return new Point3D(cursor.nextInt(), cursor.nextInt(), cursor.nextInt());
         }
         
         public Point3D moveDown() {
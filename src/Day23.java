@@ -1,11 +1,23 @@
+import runner.Metrics;
+import runner.Solver;
+import util.Grid;
+import util.LongStack;
 import util.Point;
+import util.graph.CsrGraph;
+import util.graph.Interner;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
-public class Day23 {
+public class Day23 implements Solver {
+    private static final LongAdder       STATES_EXPANDED = Metrics.counter("Day23", "statesExpanded");
+    private static final LongAccumulator QUEUE_MAX_SIZE  = Metrics.maximum("Day23", "queueMaxSize");
+    
+    private static final Point.Direction[] DIRECTIONS = Point.Direction.values();
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day23.txt"));
@@ -14,141 +26,105 @@ public class Day23 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseMap(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var map    = parseMap(lines);
         final var start  = new Point(1, 0);
-        final var target = new Point(lines.size() - 2, lines.size() - 1);
+        final var target = new Point(map.width() - 2, map.height() - 1);
         
-        final var edgeMap = getEdgeMap(map, true);
-        
-        return getLongestPath(edgeMap, start, target);
+        return getLongestPath(Trails.of(map, start, target, true), start, target);
     }
     
     static long part2(final List<String> lines) {
         final var map    = parseMap(lines);
         final var start  = new Point(1, 0);
-        final var target = new Point(lines.size() - 2, lines.size() - 1);
-        
-        final var edgeMap = getEdgeMap(map, false);
-        collapseEdgeMap(edgeMap);
+        final var target = new Point(map.width() - 2, map.height() - 1);
         
-        return getLongestPath(edgeMap, start, target);
+        return getLongestPath(Trails.of(map, start, target, false), start, target);
     }
     
-    private static int getLongestPath(final Map<Point, Set<Edge>> edgeMap, final Point start, final Point target) {
-        final var queue = new ArrayDeque<Edge>();
-        queue.add(new Edge(start, 0));
-        final var visited = new HashSet<Point>();
-        var       longest = 0;
+    // The stack holds junctions and their distance from the start, packed as distance << 32 | junction. A distance
+    // of -1 marks the backtracking from the junction.
+    private static int getLongestPath(final Trails trails, final Point start, final Point target) {
+        final var graph    = trails.graph();
+        final var targetId = trails.junctions().id(target);
+        final var visited  = new boolean[graph.vertices()];
+        final var stack    = new LongStack();
+        var       longest  = 0;
+        stack.push(path(trails.junctions().id(start), 0));
         
-        while (!queue.isEmpty()) {
-            final var edge = queue.pop();
-            if (edge.distance() == -1) {
-                visited.remove(edge.point());
+        while (!stack.isEmpty()) {
+            final var path     = stack.pop();
+            final var junction = (int) path;
+            final var distance = (int) (path >> 32);
+            if (distance == -1) {
+                visited[junction] = false;
                 continue;
             }
             
-            if (edge.point().equals(target)) {
-                longest = Math.max(longest, edge.distance());
+            if (junction == targetId) {
+                longest = Math.max(longest, distance);
                 continue;
             }
             
-            if (!visited.add(edge.point())) {
+            if (visited[junction]) {
                 continue;
             }
+            visited[junction] = true;
+            STATES_EXPANDED.increment();
             
             // Backtrack
-            queue.push(new Edge(edge.point(), -1));
-            for (final var nextEdge : edgeMap.get(edge.point())) {
-                queue.push(new Edge(nextEdge.point(), edge.distance() + nextEdge.distance()));
+            stack.push(path(junction, -1));
+            for (var edge = graph.begin(junction); edge < graph.end(junction); edge++) {
+                stack.push(path(graph.target(edge), distance + graph.weight(edge)));
             }
+            QUEUE_MAX_SIZE.accumulate(stack.size());
         }
         
         return longest;
     }
     
-    private static void collapseEdgeMap(final Map<Point, Set<Edge>> edgeMap) {
-        while (true) {
-            var didCollapse = false;
-            for (final var edge : edgeMap.entrySet()) {
-                final var point = edge.getKey();
-                final var edges = edge.getValue();
-                
-                if (edges.size() == 2) {
-                    final var iterator = edges.iterator();
-                    final var edgeA    = iterator.next();
-                    final var edgeB    = iterator.next();
-                    final var distance = edgeA.distance() + edgeB.distance();
-                    
-                    edgeMap.get(edgeA.point()).remove(new Edge(point, edgeA.distance()));
-                    edgeMap.get(edgeA.point()).add(new Edge(edgeB.point(), distance));
-                    
-                    edgeMap.get(edgeB.point()).add(new Edge(edgeA.point(), distance));
-                    edgeMap.get(edgeB.point()).remove(new Edge(point, edgeB.distance()));
-                    
-                    edgeMap.remove(point);
-                    didCollapse = true;
-                    break;
-                }
-            }
-            if (!didCollapse) {
-                break;
-            }
-        }
-    }
-    
-    private static Map<Point, Set<Edge>> getEdgeMap(final Map<Point, Tile> map, final boolean handleSlopes) {
-        final var edgeMap = new HashMap<Point, Set<Edge>>();
-        
-        for (final var entry : map.entrySet()) {
-            final var point = entry.getKey();
-            final var tile  = entry.getValue();
-            
-            if (tile == Tile.FOREST || handleSlopes && tile.isSlope()) {
-                continue;
-            }
-            
-            for (final var direction : new Point.Direction[]{Point.Direction.E, Point.Direction.S, Point.Direction.W, Point.Direction.N}) {
-                final var nextPoint = point.move(direction);
-                final var nextTile  = map.getOrDefault(nextPoint, Tile.FOREST);
-                
-                if (nextTile == Tile.FOREST) {
-                    continue;
-                }
-                
-                if (nextTile.isSlope() && handleSlopes) {
-                    edgeMap.computeIfAbsent(point, p -> new HashSet<>())
-                           .add(new Edge(nextPoint.move(nextTile.moveSlope()), 2));
-                    continue;
-                }
-                edgeMap.computeIfAbsent(point, p -> new HashSet<>()).add(new Edge(nextPoint, 1));
-                edgeMap.computeIfAbsent(nextPoint, p -> new HashSet<>()).add(new Edge(point, 1));
-            }
-        }
-        
-        return edgeMap;
+    private static long path(final int junction, final int distance) {
+        return (long) distance << 32 | junction;
     }
     
-    private static Map<Point, Tile> parseMap(final List<String> lines) {
-        final var map = new HashMap<Point, Tile>();
+    private static Grid parseMap(final List<String> lines) {
+        final var map = Grid.parse(lines);
         
-        for (int y = 0; y < lines.size(); y++) {
-            final var line = lines.get(y);
-            for (int x = 0; x < line.length(); x++) {
-                map.put(new Point(x, y), Tile.from(line.charAt(x)));
-            }
+        for (var index = 0; index < map.size(); index++) {
+            Tile.from(map.get(index));
         }
         
         return map;
     }
     
     private enum Tile {
-        PATH,
-        FOREST,
-        SLOPE_DOWN,
-        SLOPE_RIGHT,
+        PATH('.'),
+        FOREST('#'),
+        SLOPE_DOWN('v'),
+        SLOPE_RIGHT('>'),
         ;
         
+        private final char symbol;
+        
+        Tile(final char symbol) {
+            this.symbol = symbol;
+        }
+        
         public static Tile from(final char c) {
             return switch (c) {
                 case '.' -> PATH;
@@ -172,6 +148,93 @@ public class Day23 {
         }
     }
     
-    private record Edge(Point point, int distance) {
+    // The trails between the junctions as a weighted graph, the cells in between are only walked through. A junction
+    // is a cell with other than two neighbors, so it includes the dead ends, and the start and target.
+    private record Trails(Interner<Point> junctions, CsrGraph graph) {
+        static Trails of(final Grid map, final Point start, final Point target, final boolean handleSlopes) {
+            final var junctions  = new Interner<Point>();
+            final var isJunction = new boolean[map.size()];
+            for (var index = 0; index < map.size(); index++) {
+                final var point = new Point(map.x(index), map.y(index));
+                final var tile  = Tile.from(map.get(index));
+                if (tile == Tile.FOREST || handleSlopes && tile.isSlope()) {
+                    continue;
+                }
+                if (point.equals(start) || point.equals(target) || neighbors(map, point) != 2) {
+                    junctions.intern(point);
+                    isJunction[index] = true;
+                }
+            }
+            
+            final var graph = CsrGraph.builder().vertices(junctions.size());
+            for (var junction = 0; junction < junctions.size(); junction++) {
+                for (final var direction : DIRECTIONS) {
+                    final var from  = junctions.name(junction);
+                    final var trail = walk(map, junctions, isJunction, from, direction, handleSlopes);
+                    if (trail != -1) {
+                        graph.addEdge(junction, (int) trail, (int) (trail >> 32));
+                    }
+                }
+            }
+            return new Trails(junctions, graph.build());
+        }
+        
+        // Follows the trail from the junction up to the next one, packed as distance << 32 | junction, or -1 if it
+        // leads into the forest or up a slope. Stepping onto a slope with slopes handled moves down the slope at once.
+        private static long walk(final Grid map,
+                                 final Interner<Point> junctions,
+                                 final boolean[] isJunction,
+                                 final Point from,
+                                 final Point.Direction direction,
+                                 final boolean handleSlopes) {
+            var x        = (int) from.x();
+            var y        = (int) from.y();
+            var heading  = direction;
+            var distance = 0;
+            while (true) {
+                x += heading.dx();
+                y += heading.dy();
+                distance++;
+                final var tile = Tile.from(map.getOrDefault(x, y, Tile.FOREST.symbol));
+                if (tile == Tile.FOREST) {
+                    return -1;
+                }
+                if (handleSlopes && tile.isSlope()) {
+                    if (tile.moveSlope() == heading.opposite()) {
+                        return -1;
+                    }
+                    heading = tile.moveSlope();
+                    x += heading.dx();
+                    y += heading.dy();
+                    distance++;
+                    final var below = Tile.from(map.getOrDefault(x, y, Tile.FOREST.symbol));
+                    if (below == Tile.FOREST || below.isSlope()) {
+                        return -1;
+                    }
+                }
+                
+                if (isJunction[map.index(x, y)]) {
+                    return path(junctions.id(new Point(x, y)), distance);
+                }
+                // Not a junction, so there is exactly one way on besides the way back
+                for (final var next : DIRECTIONS) {
+                    if (next != heading.opposite()
+                        && map.getOrDefault(x + next.dx(), y + next.dy(), Tile.FOREST.symbol) != Tile.FOREST.symbol) {
+                        heading = next;
+                        break;
+                    }
+                }
+            }
+        }
+        
+        private static int neighbors(final Grid map, final Point point) {
+            var neighbors = 0;
+            for (final var direction : DIRECTIONS) {
+                if (map.getOrDefault(point.move(direction), Tile.FOREST.symbol) != Tile.FOREST.symbol) {
+                    neighbors++;
+                }
+            }
+            return neighbors;
+        }
     }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 import com.microsoft.z3.Context;
 import com.microsoft.z3.Status;
+import runner.Solver;
+import util.ParseCursor;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
-public class Day24 {
+public class Day24 implements Solver {
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day24.txt"));
@@ -15,6 +17,21 @@ public class Day24 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return lines.stream().map(Hailstone::fromString).toList();
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
     static long part1(final List<String> lines) {
         final var hailstones = lines.stream().map(Hailstone::fromString).toList();
         final var max        = 400000000000000L;
@@ -98,16 +115,9 @@ public class Day24 {
     
     private record Hailstone(Point3D p, Point3D v) {
         public static Hailstone fromString(final String line) {
-            final var parts  = line.split(" @ ");
-            final var points = new Point3D[2];
-            for (int i = 0; i < 2; i++) {
-                final var coords = parts[i].split(", ");
-                points[i] = new Point3D(Long.parseLong(coords[0]),
-                                        Long.parseLong(coords[1]),
-                                        Long.parseLong(coords[2])
-                );
-            }
-            return new Hailstone(points[0], points[1]);
+            final var cursor = new ParseCursor(line);
+            final var p      = Point3D.of(cursor);
+            return new Hailstone(p, Point3D.of(cursor.skipSpaces().expect("@")));
         }
         
         public double intersectionTime2D(final Hailstone other) {
@@ -117,5 +127,8 @@ public class Day24 {
     }
     
     private record Point3D(long x, long y, long z) {
+        public static Point3D of(final ParseCursor cursor) {
+            return new Point3D(cursor.nextLong(), cursor.nextLong(), cursor.nextLong());
+        }
     }
 }
\ No newline at end of file
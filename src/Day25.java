@@ -1,11 +1,20 @@
-import util.Pair;
+import runner.KargerTrialEvent;
+import runner.Metrics;
+import runner.Solver;
+import util.graph.Interner;
+import util.graph.UnionFind;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
 
-public class Day25 {
+public class Day25 implements Solver {
+    private static final LongAdder TRIALS       = Metrics.counter("Day25", "trials");
+    private static final LongAdder CONTRACTIONS = Metrics.counter("Day25", "contractions");
     
     public static void main(final String[] args) throws IOException {
         final var lines = Files.readAllLines(Path.of("resources/day25.txt"));
@@ -14,22 +23,60 @@ public class Day25 {
         System.out.println(part2(lines));
     }
     
+    @Override
+    public Object parse(final List<String> lines) {
+        return parseGraph(lines);
+    }
+    
+    @Override
+    public Object solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+    
+    @Override
+    public Object solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+    
+    // Karger's algorithm: contracting random edges until two vertices are left finds the minimum cut with some
+    // probability, so we repeat it until the cut has the 3 wires. Contracting the edges in a random order, skipping
+    // those inside one vertex already, is the same as picking a random remaining edge each time.
     static long part1(final List<String> lines) {
-        final var graph = parseGraph(lines);
+        final var graph  = parseGraph(lines);
+        final var random = new Random();
         
-        while (true) {
-            final var currentGraph = graph.copy();
+        for (var trial = 1; ; trial++) {
+            final var trialEvent = new KargerTrialEvent();
+            trialEvent.begin();
+            
+            final var order      = graph.shuffledEdges(random);
+            final var components = new UnionFind(graph.vertices());
+            for (var i = 0; i < order.length && components.sets() > 2; i++) {
+                if (components.union(graph.from()[order[i]], graph.to()[order[i]])) {
+                    CONTRACTIONS.increment();
+                }
+            }
+            TRIALS.increment();
+            
+            var cutSize = 0;
+            for (var edge = 0; edge < graph.edges(); edge++) {
+                cutSize += components.connected(graph.from()[edge], graph.to()[edge]) ? 0 : 1;
+            }
             
-            while (currentGraph.vertices().size() > 2) {
-                final var edge = currentGraph.edges().get(new Random().nextInt(0, currentGraph.edges().size()));
-                currentGraph.contract(edge);
+            trialEvent.end();
+            if (trialEvent.shouldCommit()) {
+                trialEvent.trial = trial;
+                trialEvent.vertices = graph.vertices();
+                trialEvent.edges = graph.edges();
+                trialEvent.cutSize = cutSize;
+                trialEvent.success = cutSize == 3;
+                trialEvent.commit();
             }
             
-            if (currentGraph.edges().size() == 3) {
-                return currentGraph.vertices()
-                                   .stream()
-                                   .mapToLong(v -> v.split("\\|").length)
-                                   .reduce(1L, (a, b) -> a * b);
+            if (cutSize == 3) {
+                // Every vertex is in one of the two halves
+                final var half = components.size(0);
+                return (long) half * (graph.vertices() - half);
             }
         }
     }
@@ -39,47 +86,40 @@ public class Day25 {
     }
     
     private static Graph parseGraph(final List<String> lines) {
-        final var vertices = new HashSet<String>();
-        final var edges    = new ArrayList<Pair<String>>();
+        final var vertices = new Interner<String>();
+        final var from     = new ArrayList<Integer>();
+        final var to       = new ArrayList<Integer>();
         
         for (final var line : lines) {
             final var parts  = line.split(": ");
-            final var vertex = parts[0];
-            vertices.add(parts[0]);
+            final var vertex = vertices.intern(parts[0]);
             
             for (final var otherVertex : parts[1].split(" ")) {
-                edges.add(new Pair<>(vertex, otherVertex));
-                vertices.add(otherVertex);
+                from.add(vertex);
+                to.add(vertices.intern(otherVertex));
             }
         }
         
-        return new Graph(new ArrayList<>(vertices), edges);
+        return new Graph(vertices.size(),
+                         from.stream().mapToInt(Integer::intValue).toArray(),
+                         to.stream().mapToInt(Integer::intValue).toArray());
     }
     
-    private record Graph(ArrayList<String> vertices, ArrayList<Pair<String>> edges) {
-        public void contract(final Pair<String> edge) {
-            final var newVertex   = "%s|%s".formatted(edge.first(), edge.second());
-            vertices.remove(edge.first());
-            vertices.remove(edge.second());
-            vertices.add(newVertex);
-            
-            final var edgeReversed = Pair.reverse(edge);
-            
-            for (int i = 0; i < edges.size(); i++) {
-                final var e = edges.get(i);
-                if (e.equals(edge) || e.equals(edgeReversed)) {
-                    edges.remove(i);
-                    i--;
-                } else if (e.first().equals(edge.first()) || e.first().equals(edge.second())) {
-                    edges.set(i, new Pair<>(newVertex, e.second()));
-                } else if (e.second().equals(edge.first()) || e.second().equals(edge.second())) {
-                    edges.set(i, new Pair<>(e.first(), newVertex));
-                }
-            }
+    // The wires as two arrays of interned vertex ids, edge i connects from[i] and to[i]
+    private record Graph(int vertices, int[] from, int[] to) {
+        int edges() {
+            return from.length;
         }
         
-        public Graph copy() {
-            return new Graph(new ArrayList<>(vertices), new ArrayList<>(edges));
+        int[] shuffledEdges(final Random random) {
+            final var order = new int[from.length];
+            for (var i = 0; i < order.length; i++) {
+                // Inside-out Fisher-Yates shuffle
+                final var j = random.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            return order;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lines of letters, digits and spelled out digits. Every line has at least one numeric digit, as part 1 needs.
+ */
+final class Day01Generator implements InputGenerator {
+    private static final int      LINES   = 1000;
+    private static final String[] WORDS   = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+    private static final String   LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>(LINES * scale);
+        
+        for (var i = 0; i < LINES * scale; i++) {
+            final var sb     = new StringBuilder();
+            final var pieces = random.nextInt(3, 16);
+            for (var piece = 0; piece < pieces; piece++) {
+                final var kind = random.nextInt(10);
+                if (kind < 6) {
+                    sb.append(Generators.pick(random, LETTERS));
+                } else if (kind < 8) {
+                    sb.append(random.nextInt(1, 10));
+                } else {
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            sb.insert(random.nextInt(sb.length() + 1), random.nextInt(1, 10));
+            lines.add(sb.toString());
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,33 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Games of one to six draws, each of one to three colors with 1 to 20 cubes.
+ */
+final class Day02Generator implements InputGenerator {
+    private static final int      LINES  = 100;
+    private static final String[] COLORS = {"red", "green", "blue"};
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>(LINES * scale);
+        
+        for (var game = 1; game <= LINES * scale; game++) {
+            final var draws = new ArrayList<String>();
+            for (var draw = random.nextInt(1, 7); draw > 0; draw--) {
+                final var cubes  = new ArrayList<String>();
+                final var colors = new ArrayList<>(List.of(COLORS));
+                for (var color = random.nextInt(1, 4); color > 0; color--) {
+                    cubes.add("%d %s".formatted(random.nextInt(1, 21), colors.remove(random.nextInt(colors.size()))));
+                }
+                draws.add(String.join(", ", cubes));
+            }
+            lines.add("Game %d: %s".formatted(game, String.join("; ", draws)));
+        }
+        
+        return lines;
+    }
+}
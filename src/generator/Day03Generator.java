@@ -0,0 +1,39 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An engine schematic of numbers with up to three digits and symbols. Numbers on a row are always separated by at
+ * least one other cell, so they do not run into each other.
+ */
+final class Day03Generator implements InputGenerator {
+    private static final int    SIDE    = 140;
+    private static final String SYMBOLS = "*#+$/@%=&-";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side  = Generators.side(SIDE, scale);
+        final var lines = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new StringBuilder(side);
+            while (row.length() < side) {
+                final var kind = random.nextInt(100);
+                if (kind < 12 && row.length() + 4 <= side) {
+                    row.append(random.nextInt(1, 1000)).append('.');
+                } else if (kind < 14) {
+                    row.append('*');
+                } else if (kind < 17) {
+                    row.append(Generators.pick(random, SYMBOLS));
+                } else {
+                    row.append('.');
+                }
+            }
+            lines.add(row.substring(0, side));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,56 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Scratchcards with 10 winning numbers and 25 numbers, all from 1 to 99. No card wins copies of cards past the end,
+ * and the copies are kept in check, so the total number of cards fits in an int like the solver expects.
+ */
+final class Day04Generator implements InputGenerator {
+    private static final int LINES      = 200;
+    private static final int WINNING    = 10;
+    private static final int NUMBERS    = 25;
+    private static final int MAX_COPIES = 1000;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var count  = LINES * scale;
+        final var lines  = new ArrayList<String>(count);
+        final var copies = new long[count];
+        var       total  = 0L;
+        
+        for (var card = 0; card < count; card++) {
+            copies[card]++;
+            total += copies[card];
+            
+            var matches = random.nextInt(10) < 4 ? 0 : random.nextInt(1, WINNING + 1);
+            if (copies[card] > MAX_COPIES || total > Integer.MAX_VALUE / 4) {
+                matches = 0;
+            }
+            matches = Math.min(matches, count - card - 1);
+            for (var next = card + 1; next <= card + matches; next++) {
+                copies[next] += copies[card];
+            }
+            
+            final var pool = IntStream.rangeClosed(1, 99).boxed().collect(Collectors.toList());
+            Collections.shuffle(pool, random);
+            final var winning = pool.subList(0, WINNING);
+            final var numbers = new ArrayList<>(winning.subList(0, matches));
+            numbers.addAll(pool.subList(WINNING, WINNING + NUMBERS - matches));
+            Collections.shuffle(numbers, random);
+            
+            lines.add("Card %3d: %s | %s".formatted(card + 1, format(winning), format(numbers)));
+        }
+        
+        return lines;
+    }
+    
+    private static String format(final List<Integer> numbers) {
+        return numbers.stream().map("%2d"::formatted).collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,73 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Seed ranges and seven maps. The source ranges of a map never overlap, like the solver expects: every map cuts a
+ * span of the 32 bit numbers into ranges and moves most of them to a shuffled place within the span.
+ */
+final class Day05Generator implements InputGenerator {
+    private static final int      SEED_RANGES = 10;
+    private static final int      MAP_RANGES  = 30;
+    private static final long     LIMIT       = 1L << 32;
+    private static final String[] CATEGORIES  = {
+            "seed", "soil", "fertilizer", "water", "light", "temperature", "humidity", "location"
+    };
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>();
+        
+        final var seeds = new StringBuilder("seeds:");
+        for (var i = 0; i < SEED_RANGES * scale; i++) {
+            final var start = random.nextLong(LIMIT / 2);
+            seeds.append(' ').append(start).append(' ').append(random.nextLong(1, LIMIT / 8));
+        }
+        lines.add(seeds.toString());
+        
+        for (var map = 0; map < CATEGORIES.length - 1; map++) {
+            lines.add("");
+            lines.add("%s-to-%s map:".formatted(CATEGORIES[map], CATEGORIES[map + 1]));
+            lines.addAll(ranges(random, MAP_RANGES * scale));
+        }
+        
+        return lines;
+    }
+    
+    private static List<String> ranges(final Random random, final int count) {
+        final var cuts = new TreeSet<Long>();
+        while (cuts.size() < count + 1) {
+            cuts.add(random.nextLong(LIMIT));
+        }
+        
+        final var starts  = new ArrayList<>(cuts);
+        final var lengths = new ArrayList<Long>();
+        for (var i = 0; i < count; i++) {
+            lengths.add(starts.get(i + 1) - starts.get(i));
+        }
+        
+        // Lay the ranges out again in a shuffled order, from the same start
+        final var order = new ArrayList<Integer>();
+        for (var i = 0; i < count; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        
+        final var ranges = new ArrayList<String>();
+        var       dst    = starts.getFirst();
+        for (final var i : order) {
+            // Some ranges are left out, so their numbers map to themselves
+            if (random.nextInt(10) != 0) {
+                ranges.add("%d %d %d".formatted(dst, starts.get(i), lengths.get(i)));
+            }
+            dst += lengths.get(i);
+        }
+        Collections.shuffle(ranges, random);
+        
+        return ranges;
+    }
+}
@@ -0,0 +1,37 @@
+package generator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Four races. Part 2 joins all times into one number and simulates every millisecond of it, so the joined time has
+ * to stay below 10^9 (its square still fits in a long). The scale can therefore only add one digit to it, beyond
+ * that the input stays the same size.
+ */
+final class Day06Generator implements InputGenerator {
+    private static final int RACES      = 4;
+    private static final int DIGITS     = 2;
+    private static final int MAX_DIGITS = 9;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var extraDigits = Math.min(MAX_DIGITS - RACES * DIGITS, (int) Math.log10(scale));
+        
+        final var times     = new StringBuilder("Time:");
+        final var distances = new StringBuilder("Distance:");
+        for (var race = 0; race < RACES; race++) {
+            final var digits = DIGITS + (race == 0 ? extraDigits : 0);
+            final var min    = (long) Math.pow(10, digits - 1);
+            final var time   = random.nextLong(Math.max(min, 7), min * 10);
+            // The record is beaten by holding the button for about the middle half of the race
+            final var best     = (time / 2) * (time - time / 2);
+            final var distance = random.nextLong(best / 2, best * 7 / 8 + 1);
+            
+            final var width = Math.max(String.valueOf(time).length(), String.valueOf(distance).length()) + 2;
+            times.append(("%" + width + "d").formatted(time));
+            distances.append(("%" + width + "d").formatted(distance));
+        }
+        
+        return List.of(times.toString(), distances.toString());
+    }
+}
@@ -0,0 +1,48 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Distinct hands of five cards with bids from 1 to 1000, the solver rejects equal hands. Every other hand draws from
+ * a few card values only, so all hand types (and plenty of jokers) show up.
+ */
+final class Day07Generator implements InputGenerator {
+    private static final int    LINES     = 1000;
+    private static final String CARDS     = "AKQJT98765432";
+    // Far fewer than the 13^5 distinct hands, so drawing a new one stays cheap
+    private static final int    MAX_SCALE = 100;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        if (scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be at most %d: %d".formatted(MAX_SCALE, scale));
+        }
+        
+        final var hands = new HashSet<String>();
+        final var lines = new ArrayList<String>(LINES * scale);
+        
+        while (lines.size() < LINES * scale) {
+            final var values = random.nextBoolean() ? CARDS : randomValues(random, random.nextInt(1, 4));
+            final var hand   = new StringBuilder(5);
+            for (var card = 0; card < 5; card++) {
+                hand.append(Generators.pick(random, values));
+            }
+            if (hands.add(hand.toString())) {
+                lines.add("%s %d".formatted(hand, random.nextInt(1, 1001)));
+            }
+        }
+        
+        return lines;
+    }
+    
+    private static String randomValues(final Random random, final int count) {
+        final var values = new StringBuilder(count);
+        for (var i = 0; i < count; i++) {
+            values.append(Generators.pick(random, CARDS));
+        }
+        return values.toString();
+    }
+}
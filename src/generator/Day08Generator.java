@@ -0,0 +1,91 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A network of six separate rings, one per ghost. Each ring starts at a node ending in A, AAA for the first, and
+ * runs back to its first node after the one node ending in Z, ZZZ for the first. So the first Z is reached after as
+ * many steps as the ring is long and from then on periodically, which is what the LCM in part 2 relies on.
+ * <p>
+ * The ring lengths are distinct primes times a common factor that grows with the scale, so their LCM grows
+ * linearly and still fits in a long.
+ */
+final class Day08Generator implements InputGenerator {
+    private static final int[]  PRIMES       = {41, 43, 47, 53, 59, 61, 67, 71, 73, 79};
+    private static final int    GHOSTS       = 6;
+    private static final int    INSTRUCTIONS = 263;
+    // Node names other than the starts and ends avoid A and Z completely
+    private static final String INNER        = "BCDEFGHIJKLMNOPQRSTUVWXY";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var primes = new ArrayList<Integer>();
+        for (final var prime : PRIMES) {
+            primes.add(prime);
+        }
+        Collections.shuffle(primes, random);
+        
+        final var factor     = 2 * scale;
+        final var innerNodes = primes.subList(0, GHOSTS).stream().mapToInt(prime -> prime * factor - 1).sum();
+        final var width      = innerNameLength(innerNodes);
+        
+        final var nodes = new ArrayList<String>();
+        var       inner = 0;
+        for (var ghost = 0; ghost < GHOSTS; ghost++) {
+            final var start  = ghost == 0 ? "AAA" : innerName(ghost, 2) + "A";
+            final var end    = ghost == 0 ? "ZZZ" : innerName(ghost, 2) + "Z";
+            final var length = primes.get(ghost) * factor;
+            
+            // start -> ring[0] -> ... -> ring[length - 2] -> end -> ring[0]
+            final var ring = new ArrayList<String>();
+            for (var i = 0; i < length - 1; i++) {
+                ring.add(innerName(inner++, width));
+            }
+            ring.add(end);
+            
+            nodes.add(node(start, ring.getFirst()));
+            for (var i = 0; i < ring.size(); i++) {
+                nodes.add(node(ring.get(i), ring.get((i + 1) % ring.size())));
+            }
+        }
+        Collections.shuffle(nodes, random);
+        
+        final var instructions = new StringBuilder(INSTRUCTIONS);
+        for (var i = 0; i < INSTRUCTIONS; i++) {
+            instructions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        
+        final var lines = new ArrayList<String>(nodes.size() + 2);
+        lines.add(instructions.toString());
+        lines.add("");
+        lines.addAll(nodes);
+        return lines;
+    }
+    
+    private static String node(final String name, final String next) {
+        return "%s = (%s, %s)".formatted(name, next, next);
+    }
+    
+    private static int innerNameLength(final int count) {
+        var length   = 3;
+        var capacity = (long) Math.pow(INNER.length(), length);
+        while (capacity < count) {
+            capacity *= INNER.length();
+            length++;
+        }
+        return length;
+    }
+    
+    private static String innerName(final int index, final int length) {
+        final var chars = new char[length];
+        var       rest  = index;
+        for (var i = length - 1; i >= 0; i--) {
+            chars[i] = INNER.charAt(rest % INNER.length());
+            rest /= INNER.length();
+        }
+        return new String(chars);
+    }
+}
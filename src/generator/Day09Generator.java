@@ -0,0 +1,41 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sequences of 21 values of random integer polynomials up to degree 12, so the differences reach all zeroes well
+ * before the end of a line.
+ */
+final class Day09Generator implements InputGenerator {
+    private static final int LINES      = 200;
+    private static final int VALUES     = 21;
+    private static final int MAX_DEGREE = 12;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>(LINES * scale);
+        
+        for (var i = 0; i < LINES * scale; i++) {
+            // The first value of every level of differences, the last level is constant
+            final var degree = random.nextInt(1, MAX_DEGREE + 1);
+            final var levels = new long[degree + 1];
+            for (var level = 0; level <= degree; level++) {
+                levels[level] = random.nextLong(-9, 10) * (level == 0 ? 1000 : 1);
+            }
+            
+            final var values = new StringBuilder();
+            for (var value = 0; value < VALUES; value++) {
+                values.append(value == 0 ? "" : " ").append(levels[0]);
+                // Step every level forward by adding the level below it
+                for (var level = 0; level < degree; level++) {
+                    levels[level] += levels[level + 1];
+                }
+            }
+            lines.add(values.toString());
+        }
+        
+        return lines;
+    }
+}
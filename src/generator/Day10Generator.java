@@ -0,0 +1,167 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One closed loop of pipes between junk pipes. The loop is the outline of a random tree of 3x3 blocks: every block
+ * starts as a ring around its center cell, and every edge of the tree joins the rings of two neighboring blocks into
+ * one. The loop is therefore simple, and the block centers (and every junk cell among them) are enclosed by it. The
+ * start only connects to its two neighbors on the loop, as the solver expects.
+ */
+final class Day10Generator implements InputGenerator {
+    private static final int    BLOCKS = 46;
+    private static final String JUNK   = "|-LJ7F...";
+    
+    // Neighbor bits of a loop cell
+    private static final int N = 1;
+    private static final int E = 2;
+    private static final int S = 4;
+    private static final int W = 8;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var blocks = Generators.side(BLOCKS, scale);
+        final var side   = blocks * 3;
+        final var links  = new int[side * side];
+        final var inTree = new boolean[blocks * blocks];
+        
+        // Grow a random tree over about 60% of the blocks, starting in the middle
+        final var frontier = new ArrayList<int[]>();
+        final var root     = blocks / 2 * blocks + blocks / 2;
+        inTree[root] = true;
+        ring(links, side, blocks / 2, blocks / 2);
+        addFrontier(frontier, inTree, blocks, root);
+        
+        var treeSize = 1;
+        while (!frontier.isEmpty() && treeSize < blocks * blocks * 6 / 10) {
+            final var edge = frontier.remove(random.nextInt(frontier.size()));
+            final var from = edge[0];
+            final var to   = edge[1];
+            if (inTree[to]) {
+                continue;
+            }
+            inTree[to] = true;
+            treeSize++;
+            ring(links, side, to % blocks, to / blocks);
+            join(links, side, from, to, blocks);
+            addFrontier(frontier, inTree, blocks, to);
+        }
+        
+        final var map = new char[side][side];
+        for (var y = 0; y < side; y++) {
+            for (var x = 0; x < side; x++) {
+                final var cell = links[y * side + x];
+                map[y][x] = cell == 0 ? Generators.pick(random, JUNK) : pipe(cell);
+            }
+        }
+        
+        // Put the start on a random loop cell and clear the junk around it
+        int start;
+        do {
+            start = random.nextInt(side * side);
+        } while (links[start] == 0);
+        final var startX = start % side;
+        final var startY = start / side;
+        map[startY][startX] = 'S';
+        final int[][] around = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+        for (final var offset : around) {
+            final var x = startX + offset[0];
+            final var y = startY + offset[1];
+            if (x >= 0 && x < side && y >= 0 && y < side && links[y * side + x] == 0) {
+                map[y][x] = '.';
+            }
+        }
+        
+        final var lines = new ArrayList<String>(side);
+        for (final var row : map) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+    
+    private static void addFrontier(
+            final List<int[]> frontier, final boolean[] inTree, final int blocks, final int block
+    ) {
+        final var x = block % blocks;
+        final var y = block / blocks;
+        if (x > 0 && !inTree[block - 1]) {
+            frontier.add(new int[]{block, block - 1});
+        }
+        if (x < blocks - 1 && !inTree[block + 1]) {
+            frontier.add(new int[]{block, block + 1});
+        }
+        if (y > 0 && !inTree[block - blocks]) {
+            frontier.add(new int[]{block, block - blocks});
+        }
+        if (y < blocks - 1 && !inTree[block + blocks]) {
+            frontier.add(new int[]{block, block + blocks});
+        }
+    }
+    
+    // Links the 8 border cells of a block into a ring
+    private static void ring(final int[] links, final int side, final int blockX, final int blockY) {
+        final int[][] ring = {{0, 0}, {1, 0}, {2, 0}, {2, 1}, {2, 2}, {1, 2}, {0, 2}, {0, 1}};
+        for (var i = 0; i < ring.length; i++) {
+            final var a = ring[i];
+            final var b = ring[(i + 1) % ring.length];
+            link(links, side, blockX * 3 + a[0], blockY * 3 + a[1], blockX * 3 + b[0], blockY * 3 + b[1]);
+        }
+    }
+    
+    // Replaces one ring edge of each block by two edges across their shared side, which merges the two loops
+    private static void join(final int[] links, final int side, final int from, final int to, final int blocks) {
+        final var first  = Math.min(from, to);
+        final var second = Math.max(from, to);
+        final var x      = first % blocks * 3;
+        final var y      = first / blocks * 3;
+        
+        if (second == first + 1) {
+            unlink(links, side, x + 2, y + 1, x + 2, y + 2);
+            unlink(links, side, x + 3, y + 1, x + 3, y + 2);
+            link(links, side, x + 2, y + 1, x + 3, y + 1);
+            link(links, side, x + 2, y + 2, x + 3, y + 2);
+        } else {
+            unlink(links, side, x + 1, y + 2, x + 2, y + 2);
+            unlink(links, side, x + 1, y + 3, x + 2, y + 3);
+            link(links, side, x + 1, y + 2, x + 1, y + 3);
+            link(links, side, x + 2, y + 2, x + 2, y + 3);
+        }
+    }
+    
+    private static void link(final int[] links, final int side, final int ax, final int ay, final int bx,
+                             final int by) {
+        links[ay * side + ax] |= direction(bx - ax, by - ay);
+        links[by * side + bx] |= direction(ax - bx, ay - by);
+    }
+    
+    private static void unlink(
+            final int[] links, final int side, final int ax, final int ay, final int bx, final int by
+    ) {
+        links[ay * side + ax] &= ~direction(bx - ax, by - ay);
+        links[by * side + bx] &= ~direction(ax - bx, ay - by);
+    }
+    
+    private static int direction(final int dx, final int dy) {
+        if (dx == 1) {
+            return E;
+        }
+        if (dx == -1) {
+            return W;
+        }
+        return dy == 1 ? S : N;
+    }
+    
+    private static char pipe(final int links) {
+        return switch (links) {
+            case N | S -> '|';
+            case E | W -> '-';
+            case N | E -> 'L';
+            case N | W -> 'J';
+            case S | W -> '7';
+            case S | E -> 'F';
+            default -> throw new IllegalStateException("Not a loop cell: " + links);
+        };
+    }
+}
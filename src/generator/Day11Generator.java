@@ -0,0 +1,42 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An image with about 2% galaxies, where about 5% of the rows and columns are kept empty to be expanded.
+ */
+final class Day11Generator implements InputGenerator {
+    private static final int SIDE = 140;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side      = Generators.side(SIDE, scale);
+        final var emptyRows = emptyLines(random, side);
+        final var emptyCols = emptyLines(random, side);
+        final var lines     = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new char[side];
+            Arrays.fill(row, '.');
+            for (var x = 0; x < side && !emptyRows[y]; x++) {
+                if (!emptyCols[x] && random.nextInt(50) == 0) {
+                    row[x] = '#';
+                }
+            }
+            lines.add(new String(row));
+        }
+        
+        return lines;
+    }
+    
+    private static boolean[] emptyLines(final Random random, final int side) {
+        final var empty = new boolean[side];
+        for (var i = 0; i < side; i++) {
+            empty[i] = random.nextInt(20) == 0;
+        }
+        return empty;
+    }
+}
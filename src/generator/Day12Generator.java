@@ -0,0 +1,48 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Rows of up to 20 springs with their damaged groups. Every row is made from a real arrangement, of which about
+ * half the springs are then hidden behind a '?', so every row has at least one solution.
+ */
+final class Day12Generator implements InputGenerator {
+    private static final int LINES      = 1000;
+    private static final int MAX_LENGTH = 20;
+    private static final int MAX_GROUPS = 6;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>(LINES * scale);
+        
+        for (var i = 0; i < LINES * scale; i++) {
+            final var springs = new StringBuilder();
+            final var groups  = new ArrayList<Integer>();
+            
+            // The first group always fits, so there is at least one
+            springs.append(".".repeat(random.nextInt(3)));
+            for (var group = random.nextInt(1, MAX_GROUPS + 1); group > 0; group--) {
+                final var size = random.nextInt(1, 6);
+                if (springs.length() + size > MAX_LENGTH) {
+                    break;
+                }
+                springs.append("#".repeat(size)).append(".".repeat(random.nextInt(1, 4)));
+                groups.add(size);
+            }
+            springs.setLength(Math.min(springs.length(), MAX_LENGTH));
+            
+            for (var spring = 0; spring < springs.length(); spring++) {
+                if (random.nextBoolean()) {
+                    springs.setCharAt(spring, '?');
+                }
+            }
+            
+            lines.add(springs + " " + groups.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,107 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Patterns with exactly one perfect reflection line and exactly one other line that is a reflection up to a single
+ * smudge, over rows and columns together, as both parts need.
+ * <p>
+ * A pattern is mirrored at a line past its middle, which leaves its first two rows out of the reflection. The second
+ * row then copies the first but for one cell, which makes the line between them the smudged reflection. Patterns
+ * with any further (smudged) reflection by chance are thrown away. Half of the patterns are transposed, half are
+ * flipped upside down.
+ */
+final class Day13Generator implements InputGenerator {
+    private static final int PATTERNS = 100;
+    private static final int MIN_SIZE = 7;
+    private static final int MAX_SIZE = 17;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var lines = new ArrayList<String>();
+        
+        for (var i = 0; i < PATTERNS * scale; i++) {
+            if (i > 0) {
+                lines.add("");
+            }
+            lines.addAll(pattern(random));
+        }
+        
+        return lines;
+    }
+    
+    private static List<String> pattern(final Random random) {
+        while (true) {
+            final var height = random.nextInt(MIN_SIZE, MAX_SIZE + 1);
+            final var width  = random.nextInt(MIN_SIZE, MAX_SIZE + 1);
+            final var rows   = new char[height][width];
+            for (final var row : rows) {
+                for (var x = 0; x < width; x++) {
+                    row[x] = random.nextBoolean() ? '#' : '.';
+                }
+            }
+            
+            // Mirror at a line that leaves rows 0 and 1 out, then make rows 0 and 1 differ by one cell
+            final var mirror = random.nextInt((height + 3) / 2, height);
+            for (var offset = 0; mirror + offset < height; offset++) {
+                rows[mirror + offset] = rows[mirror - offset - 1].clone();
+            }
+            rows[1] = rows[0].clone();
+            final var smudge = random.nextInt(width);
+            rows[1][smudge] = rows[1][smudge] == '#' ? '.' : '#';
+            
+            final var pattern = new ArrayList<String>(height);
+            for (final var row : rows) {
+                pattern.add(new String(row));
+            }
+            
+            final var oriented = orient(random, pattern);
+            if (reflections(oriented, 0) == 1 && reflections(oriented, 1) == 1) {
+                return oriented;
+            }
+        }
+    }
+    
+    private static List<String> orient(final Random random, final List<String> rows) {
+        var oriented = new ArrayList<>(rows);
+        if (random.nextBoolean()) {
+            oriented = new ArrayList<>(oriented.reversed());
+        }
+        return random.nextBoolean() ? transpose(oriented) : oriented;
+    }
+    
+    // The number of reflection lines over rows and columns with exactly the given number of differing cells
+    private static int reflections(final List<String> rows, final int difference) {
+        return reflectionLines(rows, difference) + reflectionLines(transpose(rows), difference);
+    }
+    
+    private static int reflectionLines(final List<String> rows, final int difference) {
+        var count = 0;
+        for (var mirror = 1; mirror < rows.size(); mirror++) {
+            var differing = 0;
+            for (var offset = 0; mirror - offset - 1 >= 0 && mirror + offset < rows.size(); offset++) {
+                final var before = rows.get(mirror - offset - 1);
+                final var after  = rows.get(mirror + offset);
+                for (var x = 0; x < before.length(); x++) {
+                    differing += before.charAt(x) == after.charAt(x) ? 0 : 1;
+                }
+            }
+            count += differing == difference ? 1 : 0;
+        }
+        return count;
+    }
+    
+    private static ArrayList<String> transpose(final List<String> rows) {
+        final var columns = new ArrayList<String>(rows.getFirst().length());
+        for (var x = 0; x < rows.getFirst().length(); x++) {
+            final var column = new StringBuilder(rows.size());
+            for (final var row : rows) {
+                column.append(row.charAt(x));
+            }
+            columns.add(column.toString());
+        }
+        return columns;
+    }
+}
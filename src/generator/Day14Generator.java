@@ -0,0 +1,29 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A platform with about 20% round rocks and 15% cube rocks.
+ */
+final class Day14Generator implements InputGenerator {
+    private static final int SIDE = 100;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side  = Generators.side(SIDE, scale);
+        final var lines = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new char[side];
+            for (var x = 0; x < side; x++) {
+                final var tile = random.nextInt(100);
+                row[x] = tile < 20 ? 'O' : tile < 35 ? '#' : '.';
+            }
+            lines.add(new String(row));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,41 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One line of steps, which insert, replace or remove lenses of a limited set of labels, so labels recur.
+ */
+final class Day15Generator implements InputGenerator {
+    private static final int    STEPS   = 4000;
+    private static final int    LABELS  = 500;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var labels = new ArrayList<String>();
+        for (var i = 0; i < LABELS * scale; i++) {
+            final var label = new StringBuilder();
+            for (var length = random.nextInt(2, 7); length > 0; length--) {
+                label.append(Generators.pick(random, LETTERS));
+            }
+            labels.add(label.toString());
+        }
+        
+        final var steps = new StringBuilder();
+        for (var i = 0; i < STEPS * scale; i++) {
+            if (i > 0) {
+                steps.append(',');
+            }
+            steps.append(labels.get(random.nextInt(labels.size())));
+            if (random.nextInt(10) < 4) {
+                steps.append('-');
+            } else {
+                steps.append('=').append(random.nextInt(1, 10));
+            }
+        }
+        
+        return List.of(steps.toString());
+    }
+}
@@ -0,0 +1,29 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A contraption with about 10% mirrors and splitters.
+ */
+final class Day16Generator implements InputGenerator {
+    private static final int    SIDE  = 110;
+    private static final String TILES = "/\\-|";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side  = Generators.side(SIDE, scale);
+        final var lines = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new char[side];
+            for (var x = 0; x < side; x++) {
+                row[x] = random.nextInt(10) == 0 ? Generators.pick(random, TILES) : '.';
+            }
+            lines.add(new String(row));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,28 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A city of heat losses from 1 to 9.
+ */
+final class Day17Generator implements InputGenerator {
+    private static final int SIDE = 141;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side  = Generators.side(SIDE, scale);
+        final var lines = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new char[side];
+            for (var x = 0; x < side; x++) {
+                row[x] = (char) ('0' + random.nextInt(1, 10));
+            }
+            lines.add(new String(row));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,60 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A dig plan whose instructions, read either way, outline a closed, simple polygon: a row of columns of random
+ * heights standing on a flat base. Going up, then right along the tops of the columns, then down and back left
+ * along the base alternates horizontal and vertical instructions, so both polygons get the same number of them.
+ * Part 2 distances have to fit in five hex digits, which limits the width of its polygon.
+ */
+final class Day18Generator implements InputGenerator {
+    private static final int COLUMNS      = 350;
+    private static final int MAX_DISTANCE = 0xFFFFF;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var columns = COLUMNS * scale;
+        final var part1   = outline(random, columns, 10, 1000);
+        final var part2   = outline(random, columns, Math.max(1, MAX_DISTANCE / columns), MAX_DISTANCE);
+        
+        final var lines = new ArrayList<String>(part1.size());
+        for (var i = 0; i < part1.size(); i++) {
+            final var direction = part1.get(i)[0];
+            final var distance  = part1.get(i)[1];
+            final var hex       = "%05x%d".formatted(part2.get(i)[1], part2.get(i)[0]);
+            lines.add("%c %d (#%s)".formatted("RDLU".charAt(direction), distance, hex));
+        }
+        return lines;
+    }
+    
+    // Instructions as {direction, distance}, directions 0 to 3 meaning R, D, L, U
+    private static List<int[]> outline(final Random random, final int columns, final int maxWidth,
+                                       final int maxHeight) {
+        final var instructions = new ArrayList<int[]>();
+        var       height       = random.nextInt(1, maxHeight + 1);
+        var       width        = 0;
+        
+        instructions.add(new int[]{3, height});
+        for (var column = 0; column < columns; column++) {
+            final var columnWidth = random.nextInt(1, maxWidth + 1);
+            instructions.add(new int[]{0, columnWidth});
+            width += columnWidth;
+            
+            if (column < columns - 1) {
+                int next;
+                do {
+                    next = random.nextInt(1, maxHeight + 1);
+                } while (next == height);
+                instructions.add(next > height ? new int[]{3, next - height} : new int[]{1, height - next});
+                height = next;
+            }
+        }
+        instructions.add(new int[]{1, height});
+        instructions.add(new int[]{2, width});
+        
+        return instructions;
+    }
+}
@@ -0,0 +1,120 @@
+package generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A tree of workflows below "in", grown breadth first, followed by parts with ratings from 1 to 4000. Every rule
+ * sends a part either to a new workflow or to A or R, so no part can loop, and every workflow but "in" is reached
+ * from exactly one rule. Larger scales give more and therefore deeper workflows.
+ * <p>
+ * Part 2 replaces the bound of a rating with the value of a condition instead of intersecting it, so conditions
+ * have to narrow the ratings that can reach them. The generator tracks these ratings along the tree and only picks
+ * values that split them.
+ */
+final class Day19Generator implements InputGenerator {
+    private static final int    WORKFLOWS = 550;
+    private static final int    PARTS     = 200;
+    private static final int    MAX       = 4000;
+    private static final String RATINGS   = "xmas";
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var tree = new Tree(random, WORKFLOWS * scale);
+        tree.queue.add(new Workflow("in", new int[]{1, 1, 1, 1}, new int[]{MAX, MAX, MAX, MAX}));
+        
+        final var workflows = new ArrayList<String>();
+        while (!tree.queue.isEmpty()) {
+            workflows.add(tree.rules(tree.queue.poll()));
+        }
+        Collections.shuffle(workflows, random);
+        
+        final var lines = new ArrayList<>(workflows);
+        lines.add("");
+        for (var i = 0; i < PARTS * scale; i++) {
+            lines.add("{x=%d,m=%d,a=%d,s=%d}".formatted(random.nextInt(1, MAX + 1),
+                                                        random.nextInt(1, MAX + 1),
+                                                        random.nextInt(1, MAX + 1),
+                                                        random.nextInt(1, MAX + 1)));
+        }
+        return lines;
+    }
+    
+    // The workflows still to write, with the ratings that can reach them
+    private static final class Tree {
+        private final Random               random;
+        private final int                  count;
+        private final int                  nameLength;
+        private final ArrayDeque<Workflow> queue = new ArrayDeque<>();
+        private       int                  created = 1;
+        
+        private Tree(final Random random, final int count) {
+            this.random = random;
+            this.count = count;
+            this.nameLength = Generators.nameLength(count, 3);
+        }
+        
+        String rules(final Workflow workflow) {
+            final var min   = workflow.min().clone();
+            final var max   = workflow.max().clone();
+            final var rules = new ArrayList<String>();
+            
+            for (var conditions = random.nextInt(1, 4); conditions > 0; conditions--) {
+                final var rating = splittableRating(min, max);
+                if (rating == -1) {
+                    break;
+                }
+                
+                final var smaller  = random.nextBoolean();
+                final var takenMin = min.clone();
+                final var takenMax = max.clone();
+                final int value;
+                if (smaller) {
+                    // Taken for min..value - 1, the next rule gets value..max
+                    value = random.nextInt(min[rating] + 1, max[rating] + 1);
+                    takenMax[rating] = value - 1;
+                    min[rating] = value;
+                } else {
+                    // Taken for value + 1..max, the next rule gets min..value
+                    value = random.nextInt(min[rating], max[rating]);
+                    takenMin[rating] = value + 1;
+                    max[rating] = value;
+                }
+                rules.add("%c%c%d:%s".formatted(RATINGS.charAt(rating),
+                                                smaller ? '<' : '>',
+                                                value,
+                                                target(takenMin, takenMax)));
+            }
+            rules.add(target(min, max));
+            
+            return "%s{%s}".formatted(workflow.name(), String.join(",", rules));
+        }
+        
+        private String target(final int[] min, final int[] max) {
+            // A new workflow whenever no other is pending, so the tree does not die out early
+            if (created < count && (queue.isEmpty() || random.nextInt(4) != 0)) {
+                final var name = Generators.name(created++, nameLength);
+                queue.add(new Workflow(name, min, max));
+                return name;
+            }
+            return random.nextBoolean() ? "A" : "R";
+        }
+        
+        private int splittableRating(final int[] min, final int[] max) {
+            final var first = random.nextInt(RATINGS.length());
+            for (var i = 0; i < RATINGS.length(); i++) {
+                final var rating = (first + i) % RATINGS.length();
+                if (min[rating] < max[rating]) {
+                    return rating;
+                }
+            }
+            return -1;
+        }
+    }
+    
+    private record Workflow(String name, int[] min, int[] max) {
+    }
+}
@@ -0,0 +1,104 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The broadcaster feeds counters of 12 flip-flops each. A counter counts button presses in binary: the flip-flops
+ * whose bit is set in its period report to a conjunction hub, which resets the counter by sending to the flip-flops
+ * whose bit is clear (and the first one) once they are all on. The hub then also sends a low pulse through a single
+ * input conjunction.
+ * <p>
+ * Part 2 relies on the exact wiring of the real inputs: the single input conjunctions of four counters are jg, rh,
+ * jm and hf, and they feed the conjunction mg, which feeds rx. Their periods are distinct primes, so the LCM is
+ * their product. Larger scales add more counters, with single input conjunctions that lead nowhere.
+ */
+final class Day20Generator implements InputGenerator {
+    private static final int         BITS      = 12;
+    private static final String[]    INVERTERS = {"jg", "rh", "jm", "hf"};
+    private static final Set<String> RESERVED  = Set.of("jg", "rh", "jm", "hf", "mg", "rx", "in", "out");
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var counters = INVERTERS.length * scale;
+        final var names    = names(random, counters * (BITS + 1));
+        final var periods  = periods(random, counters);
+        final var lines    = new ArrayList<String>();
+        final var starts   = new ArrayList<String>();
+        
+        for (var counter = 0; counter < counters; counter++) {
+            final var period     = periods.get(counter);
+            final var flipFlops  = names.subList(counter * (BITS + 1), counter * (BITS + 1) + BITS);
+            final var hub        = names.get(counter * (BITS + 1) + BITS);
+            final var inverter   = counter < INVERTERS.length ? INVERTERS[counter] : hub + "i";
+            final var hubTargets = new ArrayList<String>();
+            starts.add(flipFlops.getFirst());
+            
+            for (var bit = 0; bit < BITS; bit++) {
+                final var targets = new ArrayList<String>();
+                if (bit < BITS - 1) {
+                    targets.add(flipFlops.get(bit + 1));
+                }
+                if ((period >> bit & 1) == 1) {
+                    targets.add(hub);
+                }
+                if ((period >> bit & 1) == 0 || bit == 0) {
+                    hubTargets.add(flipFlops.get(bit));
+                }
+                Collections.shuffle(targets, random);
+                lines.add("%%%s -> %s".formatted(flipFlops.get(bit), String.join(", ", targets)));
+            }
+            hubTargets.add(inverter);
+            Collections.shuffle(hubTargets, random);
+            lines.add("&%s -> %s".formatted(hub, String.join(", ", hubTargets)));
+            lines.add("&%s -> %s".formatted(inverter, counter < INVERTERS.length ? "mg" : "out"));
+        }
+        lines.add("&mg -> rx");
+        lines.add("broadcaster -> " + String.join(", ", starts));
+        Collections.shuffle(lines, random);
+        
+        return lines;
+    }
+    
+    private static List<String> names(final Random random, final int count) {
+        final var length = Generators.nameLength(count + RESERVED.size(), 2);
+        final var names  = new ArrayList<String>();
+        for (var i = 0; names.size() < count; i++) {
+            final var name = Generators.name(i, length);
+            if (!RESERVED.contains(name)) {
+                names.add(name);
+            }
+        }
+        Collections.shuffle(names, random);
+        return names;
+    }
+    
+    // Distinct primes for the first four counters, any odd 12 bit numbers with the top bit set for the others
+    private static List<Integer> periods(final Random random, final int counters) {
+        final var periods = new ArrayList<Integer>();
+        final var primes  = new HashSet<Integer>();
+        while (primes.size() < INVERTERS.length) {
+            final var candidate = random.nextInt(3 << (BITS - 2), 1 << BITS) | 1;
+            if (isPrime(candidate) && primes.add(candidate)) {
+                periods.add(candidate);
+            }
+        }
+        while (periods.size() < counters) {
+            periods.add(random.nextInt(1 << (BITS - 1), 1 << BITS) | 1);
+        }
+        return periods;
+    }
+    
+    private static boolean isPrime(final int n) {
+        for (var divisor = 2; divisor * divisor <= n; divisor++) {
+            if (n % divisor == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
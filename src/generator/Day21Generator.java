@@ -0,0 +1,41 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A square garden with the start in its center. Like the real inputs, the start row and column, the border and a
+ * diamond halfway between center and border are free of rocks, which makes the reachable plots grow quadratically
+ * per repetition of the map, as part 2 assumes.
+ * <p>
+ * Part 2 measures that growth at steps that are 26501365 modulo the side, which are only the right steps if the
+ * side divides 2 * 26501365 + 1 = 3 * 131 * 134867. So the side is 131, or 393 from a scale of 9 on.
+ */
+final class Day21Generator implements InputGenerator {
+    private static final int[] SIDES = {131, 393};
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var side   = scale >= 9 ? SIDES[1] : SIDES[0];
+        final var center = side / 2;
+        final var lines  = new ArrayList<String>(side);
+        
+        for (var y = 0; y < side; y++) {
+            final var row = new char[side];
+            for (var x = 0; x < side; x++) {
+                final var distance = Math.abs(x - center) + Math.abs(y - center);
+                final var clear    = x == center || y == center ||
+                                     x == 0 || y == 0 || x == side - 1 || y == side - 1 ||
+                                     Math.abs(distance - center) <= 1;
+                row[x] = !clear && random.nextInt(100) < 12 ? '#' : '.';
+            }
+            if (y == center) {
+                row[center] = 'S';
+            }
+            lines.add(new String(row));
+        }
+        
+        return lines;
+    }
+}
@@ -0,0 +1,55 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A snapshot of straight bricks of one to five cubes in a 10x10 column, none of them overlapping. Larger scales give
+ * more bricks in a higher column.
+ */
+final class Day22Generator implements InputGenerator {
+    private static final int BRICKS    = 1200;
+    private static final int FOOTPRINT = 10;
+    // About a quarter of the column is filled
+    private static final int CUBES_PER_LEVEL = 25;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var count    = BRICKS * scale;
+        final var height   = count * 3 / CUBES_PER_LEVEL + 1;
+        final var occupied = new HashSet<Long>();
+        final var lines    = new ArrayList<String>(count);
+        
+        while (lines.size() < count) {
+            final var axis   = random.nextInt(3);
+            final var length = random.nextInt(5);
+            final var x      = random.nextInt(FOOTPRINT - (axis == 0 ? length : 0));
+            final var y      = random.nextInt(FOOTPRINT - (axis == 1 ? length : 0));
+            final var z      = random.nextInt(1, height + 1);
+            
+            final var cubes = new ArrayList<Long>(length + 1);
+            for (var i = 0; i <= length; i++) {
+                cubes.add(cube(x + (axis == 0 ? i : 0), y + (axis == 1 ? i : 0), z + (axis == 2 ? i : 0)));
+            }
+            if (cubes.stream().anyMatch(occupied::contains)) {
+                continue;
+            }
+            occupied.addAll(cubes);
+            
+            lines.add("%d,%d,%d~%d,%d,%d".formatted(x,
+                                                    y,
+                                                    z,
+                                                    x + (axis == 0 ? length : 0),
+                                                    y + (axis == 1 ? length : 0),
+                                                    z + (axis == 2 ? length : 0)));
+        }
+        
+        return lines;
+    }
+    
+    private static long cube(final int x, final int y, final int z) {
+        return ((long) z * FOOTPRINT + y) * FOOTPRINT + x;
+    }
+}
@@ -0,0 +1,70 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A forest with a lattice of 6x6 junctions, joined by straight trails of random lengths. The start at (1, 0) leads
+ * to the top left junction, the bottom right junction leads to the end. The slopes right next to every junction
+ * point right or down, so the trails of part 1 only lead right and down, like in the real inputs.
+ * <p>
+ * Part 2 searches all paths through the junctions, which grow exponentially with their number, so the scale makes
+ * the trails longer (scale times the cells), not the lattice larger.
+ */
+final class Day23Generator implements InputGenerator {
+    private static final int JUNCTIONS = 6;
+    private static final int TRAIL     = 28;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var trail  = Math.max(4, Generators.side(TRAIL, scale));
+        final var xs     = junctions(random, trail);
+        final var ys     = junctions(random, trail);
+        final var width  = xs[JUNCTIONS - 1] + 2;
+        final var height = ys[JUNCTIONS - 1] + 2;
+        
+        final var map = new char[height][width];
+        for (final var row : map) {
+            Arrays.fill(row, '#');
+        }
+        map[0][1] = '.';
+        map[height - 1][width - 2] = '.';
+        
+        for (final var y : ys) {
+            for (var i = 0; i < JUNCTIONS - 1; i++) {
+                for (var x = xs[i]; x <= xs[i + 1]; x++) {
+                    map[y][x] = '.';
+                }
+                map[y][xs[i] + 1] = '>';
+                map[y][xs[i + 1] - 1] = '>';
+            }
+        }
+        for (final var x : xs) {
+            for (var i = 0; i < JUNCTIONS - 1; i++) {
+                for (var y = ys[i]; y <= ys[i + 1]; y++) {
+                    map[y][x] = '.';
+                }
+                map[ys[i] + 1][x] = 'v';
+                map[ys[i + 1] - 1][x] = 'v';
+            }
+        }
+        
+        final var lines = new ArrayList<String>(height);
+        for (final var row : map) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+    
+    // The coordinates of the junction rows or columns, from 1 on, between 3/4 and 5/4 trail lengths apart
+    private static int[] junctions(final Random random, final int trail) {
+        final var junctions = new int[JUNCTIONS];
+        junctions[0] = 1;
+        for (var i = 1; i < JUNCTIONS; i++) {
+            junctions[i] = junctions[i - 1] + random.nextInt(Math.max(4, trail * 3 / 4), trail * 5 / 4 + 1);
+        }
+        return junctions;
+    }
+}
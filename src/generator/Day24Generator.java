@@ -0,0 +1,58 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Hailstones that are all hit by one thrown rock: for a rock thrown from r with velocity w, the hailstone with
+ * velocity v that is hit at time t starts at r + (w - v) * t. The rock starts inside the test area of part 1, the
+ * hit times are distinct and far apart, so the hailstones spread around it like in the real inputs.
+ */
+final class Day24Generator implements InputGenerator {
+    private static final int  HAILSTONES = 300;
+    private static final long MIN_START  = 200_000_000_000_000L;
+    private static final long MAX_START  = 350_000_000_000_000L;
+    private static final long MIN_TIME   = 100_000_000_000L;
+    private static final long MAX_TIME   = 500_000_000_000L;
+    private static final int  MAX_SPEED  = 300;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var count = HAILSTONES * scale;
+        final var rock  = new long[3];
+        final var speed = new long[3];
+        for (var i = 0; i < 3; i++) {
+            rock[i] = random.nextLong(MIN_START, MAX_START);
+            speed[i] = random.nextInt(-MAX_SPEED, MAX_SPEED + 1);
+        }
+        
+        final var times = new HashSet<Long>();
+        final var lines = new ArrayList<String>(count);
+        while (lines.size() < count) {
+            final var time = random.nextLong(MIN_TIME, MAX_TIME);
+            if (!times.add(time)) {
+                continue;
+            }
+            
+            final var velocity = new long[3];
+            for (var i = 0; i < 3; i++) {
+                velocity[i] = speed[i] + random.nextInt(-MAX_SPEED, MAX_SPEED + 1);
+            }
+            if (velocity[0] == speed[0] && velocity[1] == speed[1] && velocity[2] == speed[2]) {
+                // The hailstone would fly along with the rock
+                continue;
+            }
+            
+            lines.add("%d, %d, %d @ %d, %d, %d".formatted(rock[0] + (speed[0] - velocity[0]) * time,
+                                                          rock[1] + (speed[1] - velocity[1]) * time,
+                                                          rock[2] + (speed[2] - velocity[2]) * time,
+                                                          velocity[0],
+                                                          velocity[1],
+                                                          velocity[2]));
+        }
+        
+        return lines;
+    }
+}
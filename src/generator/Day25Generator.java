@@ -0,0 +1,100 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A wiring diagram of two densely wired clusters of components, joined by exactly three wires. Every component has
+ * at least four wires within its cluster, so cutting the three joining wires is the only cut of three wires.
+ */
+final class Day25Generator implements InputGenerator {
+    private static final int COMPONENTS = 1500;
+    private static final int MIN_WIRES  = 4;
+    
+    @Override
+    public List<String> generate(final Random random, final int scale) {
+        final var count = COMPONENTS * scale;
+        final var names = names(random, count);
+        final var wires = new ArrayList<Set<Integer>>(count);
+        for (var i = 0; i < count; i++) {
+            wires.add(new HashSet<>());
+        }
+        
+        final var split = random.nextInt(count / 3, count * 2 / 3);
+        wireCluster(random, wires, 0, split);
+        wireCluster(random, wires, split, count);
+        while (countCrossWires(wires, split) < 3) {
+            // Three distinct wires between the clusters, the endpoints may repeat
+            connect(wires, random.nextInt(0, split), random.nextInt(split, count));
+        }
+        
+        // Every wire is listed once, on the line of one of its two components
+        final var lines = new LinkedHashMap<Integer, List<String>>();
+        for (var a = 0; a < count; a++) {
+            for (final var b : wires.get(a)) {
+                if (a < b) {
+                    final var from = random.nextBoolean() ? a : b;
+                    final var to   = from == a ? b : a;
+                    lines.computeIfAbsent(from, i -> new ArrayList<>()).add(names.get(to));
+                }
+            }
+        }
+        
+        final var result = new ArrayList<String>(lines.size());
+        lines.forEach((component, connected) -> result.add(names.get(component) + ": " + String.join(" ", connected)));
+        Collections.shuffle(result, random);
+        return result;
+    }
+    
+    // A random tree for connectivity, one more random wire per component, then wires until each has enough
+    private static void wireCluster(final Random random, final List<Set<Integer>> wires, final int from, final int to) {
+        for (var i = from + 1; i < to; i++) {
+            connect(wires, i, random.nextInt(from, i));
+            connect(wires, i, random.nextInt(from, to));
+        }
+        for (var i = from; i < to; i++) {
+            while (wires.get(i).size() < MIN_WIRES) {
+                connect(wires, i, random.nextInt(from, to));
+            }
+        }
+    }
+    
+    private static void connect(final List<Set<Integer>> wires, final int a, final int b) {
+        if (a != b) {
+            wires.get(a).add(b);
+            wires.get(b).add(a);
+        }
+    }
+    
+    private static int countCrossWires(final List<Set<Integer>> wires, final int split) {
+        var count = 0;
+        for (var a = 0; a < split; a++) {
+            for (final var b : wires.get(a)) {
+                if (b >= split) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    // Distinct random names of at least three lowercase letters
+    private static List<String> names(final Random random, final int count) {
+        final var length   = Generators.nameLength(count * 4, 3);
+        final var capacity = (int) Math.min(Integer.MAX_VALUE, Math.round(Math.pow(26, length)));
+        final var used     = new HashSet<Integer>();
+        final var names    = new ArrayList<String>(count);
+        while (names.size() < count) {
+            final var index = random.nextInt(capacity);
+            if (used.add(index)) {
+                names.add(Generators.name(index, length));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,116 @@
+package generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The input generators of all days, for benchmarks and stress runs at sizes far beyond the real inputs.
+ * <p>
+ * Usage: {@code Generators day scale [seed] [output]}, without an output file the input is printed.
+ */
+public final class Generators {
+    public static final long DEFAULT_SEED = 2023;
+    
+    private static final List<InputGenerator> GENERATORS = List.of(
+            new Day01Generator(),
+            new Day02Generator(),
+            new Day03Generator(),
+            new Day04Generator(),
+            new Day05Generator(),
+            new Day06Generator(),
+            new Day07Generator(),
+            new Day08Generator(),
+            new Day09Generator(),
+            new Day10Generator(),
+            new Day11Generator(),
+            new Day12Generator(),
+            new Day13Generator(),
+            new Day14Generator(),
+            new Day15Generator(),
+            new Day16Generator(),
+            new Day17Generator(),
+            new Day18Generator(),
+            new Day19Generator(),
+            new Day20Generator(),
+            new Day21Generator(),
+            new Day22Generator(),
+            new Day23Generator(),
+            new Day24Generator(),
+            new Day25Generator()
+    );
+    
+    private Generators() {
+        // Utility
+    }
+    
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 4) {
+            throw new IllegalArgumentException("Usage: Generators day scale [seed] [output]");
+        }
+        
+        final var day   = Integer.parseInt(args[0]);
+        final var scale = Integer.parseInt(args[1]);
+        final var seed  = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        final var lines = generate(day, seed, scale);
+        
+        if (args.length > 3) {
+            Files.write(Path.of(args[3]), lines);
+        } else {
+            lines.forEach(System.out::println);
+        }
+    }
+    
+    public static InputGenerator forDay(final int day) {
+        if (day < 1 || day > GENERATORS.size()) {
+            throw new IllegalArgumentException("No generator for day " + day);
+        }
+        return GENERATORS.get(day - 1);
+    }
+    
+    public static List<String> generate(final int day, final long seed, final int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale must be positive: " + scale);
+        }
+        return forDay(day).generate(new Random(seed), scale);
+    }
+    
+    /**
+     * @return The side of a square grid with scale times the cells of a grid with the given side
+     */
+    static int side(final int side, final int scale) {
+        return (int) Math.round(side * Math.sqrt(scale));
+    }
+    
+    /**
+     * @return The number of lowercase letters needed to give every one of count things a distinct name
+     */
+    static int nameLength(final int count, final int minLength) {
+        var length   = minLength;
+        var capacity = (long) Math.pow(26, minLength);
+        while (capacity < count) {
+            capacity *= 26;
+            length++;
+        }
+        return length;
+    }
+    
+    /**
+     * @return The index-th name of the given length over a to z
+     */
+    static String name(final int index, final int length) {
+        final var chars = new char[length];
+        var       rest  = index;
+        for (var i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('a' + rest % 26);
+            rest /= 26;
+        }
+        return new String(chars);
+    }
+    
+    static char pick(final Random random, final String chars) {
+        return chars.charAt(random.nextInt(chars.length()));
+    }
+}
@@ -0,0 +1,18 @@
+package generator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic puzzle input of one day. The input is structurally valid and keeps the assumptions the
+ * solver of the day relies on, only the answers differ from a real input. The same random seed and scale always
+ * give the same input.
+ */
+@FunctionalInterface
+public interface InputGenerator {
+    /**
+     * @param scale At least 1, where 1 is about the size of a real input. Line based inputs get scale times the
+     *              lines, grids scale times the cells (so sqrt(scale) times the side), where the solver allows it.
+     */
+    List<String> generate(Random random, int scale);
+}
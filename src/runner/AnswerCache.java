@@ -0,0 +1,268 @@
+package runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of answers in a local directory, keyed by day, part, the SHA-256 of the input and the version of
+ * the solver, so a repeated input is answered without solving it again.
+ * <p>
+ * Every answer is a file of its own, written atomically, so several processes may share a directory. A hit touches
+ * its file, and once there are more than the maximum number of entries the least recently used ones are deleted. That
+ * is checked when the cache is opened and after every 64 stores, as it lists the directory, so
+ * the directory may hold up to that many entries more than the maximum in between.
+ * <p>
+ * The solver version is the SHA-256 of the class files of the day, all classes nested in it (records like
+ * Day12$Candidate) and all classes of util they refer to, directly or through other classes of util, so changing a
+ * day or a helper it uses invalidates its answers. The references are the classes named in the constant pools of the
+ * class files. Changes to libraries outside of util (like z3) are not detected, clear the cache after updating those.
+ */
+public final class AnswerCache {
+    public static final Path DEFAULT_DIRECTORY   = Path.of(".answer-cache");
+    public static final int  DEFAULT_MAX_ENTRIES = 10_000;
+    
+    private static final int                   EVICT_INTERVAL   = 64;
+    private static final Map<Class<?>, String> VERSIONS         = new ConcurrentHashMap<>();
+    private static final String                UTIL_PACKAGE     = "util/";
+    private static final Pattern               CLASS_NAME       = Pattern.compile("[\\w/$]+");
+    private static final Pattern               DESCRIPTOR_CLASS = Pattern.compile("L([\\w/$]+);");
+    
+    private final Path          directory;
+    private final int           maxEntries;
+    private final AtomicInteger stores = new AtomicInteger();
+    
+    public AnswerCache(final Path directory, final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        
+        // A smaller bound than the last user of the directory had applies right away
+        try {
+            if (Files.isDirectory(directory)) {
+                evict();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * @return The key of the input, to look up the answers of both parts
+     */
+    public Key key(final int day, final Solver solver, final List<String> lines) {
+        final var digest = sha256();
+        for (final var line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return new Key(day, HexFormat.of().formatHex(digest.digest()), versionOf(solver.getClass()));
+    }
+    
+    public Optional<String> get(final Key key, final int part) {
+        final var file = fileOf(key, part);
+        try {
+            final var answer = Files.readString(file);
+            // Touching the file marks it as recently used, a concurrent eviction just makes this a miss next time
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(answer);
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Stores the answer, failed parts (see {@link DayResult.PartResult#failed}) are not stored.
+     */
+    public void put(final Key key, final int part, final String answer) {
+        if (answer.startsWith(DayResult.PartResult.ERROR_PREFIX)) {
+            return;
+        }
+        
+        try {
+            Files.createDirectories(directory);
+            final var temporary = Files.createTempFile(directory, "answer", ".tmp");
+            Files.writeString(temporary, answer);
+            Files.move(temporary,
+                       fileOf(key, part),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            if (stores.incrementAndGet() % EVICT_INTERVAL == 0) {
+                evict();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * @return The cached answer, or the answer solved (and stored) on a miss
+     */
+    public String answer(final Key key, final int part, final Supplier<String> solve) {
+        return get(key, part).orElseGet(() -> {
+            final var answer = solve.get();
+            put(key, part, answer);
+            return answer;
+        });
+    }
+    
+    private void evict() throws IOException {
+        final List<Path> entries;
+        try (final Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(".txt")).toList();
+        }
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        
+        final var byAge = entries.stream()
+                                 .map(file -> new Entry(file, lastModified(file)))
+                                 .sorted(Comparator.comparingLong(Entry::lastModified))
+                                 .toList();
+        for (var i = 0; i < byAge.size() - maxEntries; i++) {
+            Files.deleteIfExists(byAge.get(i).file());
+        }
+    }
+    
+    private Path fileOf(final Key key, final int part) {
+        return directory.resolve("day%02d-part%d-%s-%s.txt".formatted(key.day(),
+                                                                      part,
+                                                                      key.inputHash(),
+                                                                      key.version()));
+    }
+    
+    private static long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            // Deleted concurrently, evict it first
+            return Long.MIN_VALUE;
+        }
+    }
+    
+    private static String versionOf(final Class<?> type) {
+        return VERSIONS.computeIfAbsent(type, t -> {
+            // The nest holds the day and every class declared in it, the helpers are added as they are referenced.
+            // Hashed in the order of their names to be reproducible.
+            final var classFiles = new TreeMap<String, byte[]>();
+            final var pending    = new ArrayDeque<String>();
+            for (final var member : t.getNestHost().getNestMembers()) {
+                pending.add(member.getName().replace('.', '/'));
+            }
+            while (!pending.isEmpty()) {
+                final var name = pending.poll();
+                if (classFiles.containsKey(name)) {
+                    continue;
+                }
+                final var classFile = classFileOf(t.getClassLoader(), name);
+                classFiles.put(name, classFile);
+                for (final var reference : referencedClasses(classFile)) {
+                    if (reference.startsWith(UTIL_PACKAGE)) {
+                        pending.add(reference);
+                    }
+                }
+            }
+            
+            final var digest = sha256();
+            classFiles.values().forEach(digest::update);
+            // The first 16 hex digits are plenty to tell versions apart
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        });
+    }
+    
+    /**
+     * @param name The internal name of the class, like util/Point$Direction
+     */
+    private static byte[] classFileOf(final ClassLoader loader, final String name) {
+        try (final var classFile = loader.getResourceAsStream(name + ".class")) {
+            if (classFile == null) {
+                throw new IllegalStateException("No class file of " + name);
+            }
+            return classFile.readAllBytes();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * @return The internal names of the classes in the constant pool of the class file, as class entries (like
+     * util/Grid) or in the descriptors of fields and methods (like Lutil/Grid;), which may also hold other names
+     */
+    private static Set<String> referencedClasses(final byte[] classFile) {
+        final var buffer = ByteBuffer.wrap(classFile);
+        if (buffer.getInt() != 0xCAFEBABE) {
+            throw new IllegalStateException("Not a class file");
+        }
+        buffer.position(8); // After the minor and major version
+        
+        final var names = new HashSet<String>();
+        final var count = Short.toUnsignedInt(buffer.getShort());
+        for (var entry = 1; entry < count; entry++) {
+            final var tag = buffer.get();
+            switch (tag) {
+                case 1 -> {
+                    // Utf8, which holds the names of the class entries as well as all descriptors
+                    final var bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(bytes);
+                    final var text = new String(bytes, StandardCharsets.UTF_8);
+                    if (CLASS_NAME.matcher(text).matches()) {
+                        names.add(text);
+                    }
+                    DESCRIPTOR_CLASS.matcher(text).results().forEach(match -> names.add(match.group(1)));
+                }
+                case 7, 8, 16, 19, 20 -> buffer.position(buffer.position() + 2);
+                case 15 -> buffer.position(buffer.position() + 3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> buffer.position(buffer.position() + 4);
+                case 5, 6 -> {
+                    // Long and Double take two entries
+                    buffer.position(buffer.position() + 8);
+                    entry++;
+                }
+                default -> throw new IllegalStateException("Unknown constant pool tag: " + tag);
+            }
+        }
+        return names;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", e);
+        }
+    }
+    
+    /**
+     * @param day       The day
+     * @param inputHash The SHA-256 of the input lines, each terminated by a newline
+     * @param version   The version of the solver
+     */
+    public record Key(int day, String inputHash, String version) {
+    }
+    
+    private record Entry(Path file, long lastModified) {
+    }
+}
@@ -0,0 +1,197 @@
+package runner;
+
+import runner.DayResult.PartResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Solves many inputs of one day in a single JVM, in parallel on a bounded {@link ForkJoinPool}. The worker threads
+ * live for the whole batch, so the days that keep per-thread scratch objects (see {@link util.Scratch}) allocate their
+ * work lists and memo tables once per thread instead of once per input.
+ * <p>
+ * The inputs are all files of a directory (by name), or the files listed in a manifest, one path per line relative
+ * to the manifest (blank lines and lines starting with # are skipped). The answers are written as CSV or JSON, in
+ * the order of the inputs.
+ * <p>
+ * Answers are looked up in the {@link AnswerCache} first, unless {@code --no-cache} bypasses it.
+ * <p>
+ * Usage: {@code Batch day (directory | manifest) [--parallel=processors] [--format=csv|json] [--output=file]
+ * [--cache=.answer-cache] [--cache-size=10000] [--no-cache]}
+ */
+public final class Batch {
+    private Batch() {
+        // Utility
+    }
+    
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: Batch day (directory | manifest) [--parallel=threads] [--format=csv|json] [--output=file] "
+                    + "[--cache=.answer-cache] [--cache-size=10000] [--no-cache]");
+        }
+        
+        final var day         = Integer.parseInt(args[0]);
+        final var inputs      = inputsOf(Path.of(args[1]));
+        var       parallelism = Runtime.getRuntime().availableProcessors();
+        var       json        = false;
+        Path      output      = null;
+        var       cacheDir    = AnswerCache.DEFAULT_DIRECTORY;
+        var       cacheSize   = AnswerCache.DEFAULT_MAX_ENTRIES;
+        var       useCache    = true;
+        
+        for (var i = 2; i < args.length; i++) {
+            final var value = args[i].substring(args[i].indexOf('=') + 1);
+            if (args[i].startsWith("--parallel=")) {
+                parallelism = Integer.parseInt(value);
+            } else if (args[i].startsWith("--format=")) {
+                json = switch (value) {
+                    case "csv" -> false;
+                    case "json" -> true;
+                    default -> throw new IllegalArgumentException("Unknown format: " + value);
+                };
+            } else if (args[i].startsWith("--output=")) {
+                output = Path.of(value);
+            } else if (args[i].startsWith("--cache=")) {
+                cacheDir = Path.of(value);
+            } else if (args[i].startsWith("--cache-size=")) {
+                cacheSize = Integer.parseInt(value);
+            } else if (args[i].equals("--no-cache")) {
+                useCache = false;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        
+        final var solver  = Runner.solverFor(day)
+                                  .orElseThrow(() -> new IllegalArgumentException("No solver for day " + day));
+        final var cache   = useCache ? new AnswerCache(cacheDir, cacheSize) : null;
+        final var results = solve(day, solver, inputs, parallelism, cache);
+        final var report  = json ? json(day, results) : csv(results);
+        if (output == null) {
+            System.out.print(report);
+        } else {
+            Files.writeString(output, report);
+        }
+    }
+    
+    /**
+     * Solves both parts of every input, with at most the given number of inputs at the same time. A failing input
+     * gets the error as its answers and does not stop the others.
+     *
+     * @param cache The cache consulted before solving an input, null to always solve
+     * @return The results in the order of the inputs
+     */
+    public static List<BatchResult> solve(final int day, final Solver solver, final List<Path> inputs,
+                                          final int parallelism, final AnswerCache cache) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        
+        try (final var pool = new ForkJoinPool(parallelism)) {
+            final var futures = inputs.stream()
+                                      .map(input -> CompletableFuture.supplyAsync(
+                                              () -> solve(day, solver, input, cache), pool))
+                                      .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+    }
+    
+    private static BatchResult solve(final int day, final Solver solver, final Path input, final AnswerCache cache) {
+        final var             start = System.nanoTime();
+        final List<String>    lines;
+        final AnswerCache.Key key;
+        try {
+            lines = Files.readAllLines(input);
+            key = cache == null ? null : cache.key(day, solver, lines);
+        } catch (final IOException | UncheckedIOException e) {
+            // An unreadable input only fails itself
+            final var error = PartResult.error(e);
+            return new BatchResult(input, error, error, System.nanoTime() - start);
+        }
+        
+        final var part1 = answer(cache, key, 1, () -> solver.solvePart1(lines));
+        final var part2 = answer(cache, key, 2, () -> solver.solvePart2(lines));
+        return new BatchResult(input, part1, part2, System.nanoTime() - start);
+    }
+    
+    // The parts fail like in the Runner, see PartResult.answerOf
+    private static String answer(final AnswerCache cache, final AnswerCache.Key key, final int part,
+                                 final Supplier<Object> solve) {
+        final Supplier<String> answer = () -> String.valueOf(solve.get());
+        return PartResult.answerOf(() -> cache == null ? answer.get() : cache.answer(key, part, answer));
+    }
+    
+    static List<Path> inputsOf(final Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (final Stream<Path> files = Files.list(source)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+        }
+        
+        final var base   = source.toAbsolutePath().getParent();
+        final var inputs = new ArrayList<Path>();
+        for (final var line : Files.readAllLines(source)) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                inputs.add(base.resolve(line.strip()));
+            }
+        }
+        return inputs;
+    }
+    
+    static String csv(final List<BatchResult> results) {
+        final var sb = new StringBuilder("input,part1,part2,nanos\n");
+        for (final var result : results) {
+            sb.append("%s,%s,%s,%d%n".formatted(csvField(result.input().toString()),
+                                                csvField(result.part1()),
+                                                csvField(result.part2()),
+                                                result.nanos()));
+        }
+        return sb.toString();
+    }
+    
+    static String json(final int day, final List<BatchResult> results) {
+        final var sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"day\": %d,\n".formatted(day));
+        sb.append("  \"inputs\": [");
+        for (var i = 0; i < results.size(); i++) {
+            final var result = results.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\"input\": %s, \"part1\": %s, \"part2\": %s, \"nanos\": %d}".formatted(
+                    Report.quote(result.input().toString()),
+                    Report.quote(result.part1()),
+                    Report.quote(result.part2()),
+                    result.nanos()
+            ));
+        }
+        sb.append("\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+    
+    // Quotes a field only if it needs to, doubling the quotes inside
+    private static String csvField(final String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * @param input The input file
+     * @param part1 The answer of part 1, or the error if the input failed
+     * @param part2 The answer of part 2, or the error if the input failed
+     * @param nanos Time to read and solve the input
+     */
+    public record BatchResult(Path input, String part1, String part2, long nanos) {
+    }
+}
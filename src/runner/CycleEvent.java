@@ -0,0 +1,34 @@
+package runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A milestone of the days that search for a repetition: the state of subject first repeats after start + length
+ * steps, found after exploring the given number of states. Where the search for the cycle is a phase of its own, the
+ * event lasts from its start.
+ */
+@Name("aoc.CycleFound")
+@Label("Cycle Found")
+@Category({"Advent of Code", "Milestones"})
+@Description("A day found the cycle of a repeating state")
+public final class CycleEvent extends Event {
+    @Label("Day")
+    public int day;
+    
+    @Label("Subject")
+    @Description("What repeats, e.g. the platform or a module")
+    public String subject;
+    
+    @Label("Cycle Start")
+    public long start;
+    
+    @Label("Cycle Length")
+    public long length;
+    
+    @Label("States Explored")
+    public long statesExplored;
+}
@@ -0,0 +1,30 @@
+package runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The whole run of a day by the {@link Runner}, from reading its input to the timed run of its last part.
+ */
+@Name("aoc.Day")
+@Label("Day")
+@Category("Advent of Code")
+@Description("Reading the input, the warmup runs and the timed run of a day")
+final class DayEvent extends Event {
+    @Label("Day")
+    int day;
+    
+    @Label("Input Lines")
+    int inputLines;
+    
+    @Label("Input Size")
+    @DataAmount
+    long inputChars;
+    
+    @Label("Warmup Runs")
+    int warmup;
+}
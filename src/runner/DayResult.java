@@ -0,0 +1,68 @@
+package runner;
+
+import java.util.function.Supplier;
+
+/**
+ * The timed run of a single day.
+ *
+ * @param day           The day
+ * @param inputLines    The number of lines of the input
+ * @param inputCells    The number of characters of the input, the cells of grid inputs
+ * @param readNanos     Time to read the input file into lines
+ * @param setupCpuNanos CPU time spent reading the input and on the warmup runs
+ * @param parse         The parse phase alone (see {@link Solver#parse}), its answer is not reported
+ * @param part1         Result of part 1
+ * @param part2         Result of part 2
+ */
+record DayResult(
+        int day,
+        int inputLines,
+        long inputCells,
+        long readNanos,
+        long setupCpuNanos,
+        PartResult parse,
+        PartResult part1,
+        PartResult part2
+) {
+    long totalNanos() {
+        return readNanos + parse.nanos() + part1.nanos() + part2.nanos();
+    }
+    
+    long cpuNanos() {
+        return setupCpuNanos + parse.cpuNanos() + part1.cpuNanos() + part2.cpuNanos();
+    }
+    
+    /**
+     * @param answer         The answer, or the error if the part failed
+     * @param nanos          Wall time of the part
+     * @param cpuNanos       CPU time of the thread running the part
+     * @param allocatedBytes Heap memory allocated by the thread running the part
+     * @param gcCount        Garbage collections during the part, of the whole JVM
+     * @param gcMillis       Time spent in garbage collections during the part, of the whole JVM
+     */
+    record PartResult(String answer, long nanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+        static final String ERROR_PREFIX = "error: ";
+        
+        boolean failed() {
+            return answer.startsWith(ERROR_PREFIX);
+        }
+        
+        /**
+         * Solves a part, the failure policy of the Runner and the Batch: a solver that throws, a day that cannot be
+         * linked (e.g. Day24 without the z3 natives) or one that recurses too deep only fails this part, not the run.
+         *
+         * @return The answer, or the error if the part failed
+         */
+        static String answerOf(final Supplier<String> solve) {
+            try {
+                return solve.get();
+            } catch (final RuntimeException | LinkageError | StackOverflowError e) {
+                return error(e);
+            }
+        }
+        
+        static String error(final Throwable e) {
+            return ERROR_PREFIX + e;
+        }
+    }
+}
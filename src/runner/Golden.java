@@ -0,0 +1,161 @@
+package runner;
+
+import runner.DayResult.PartResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded answers of every day, part and input, each with a time and an allocation budget. Recording stores the
+ * answers of a run, verifying fails a run whose answers differ or whose parts exceed their budgets, so a rewrite of a
+ * hot path cannot silently change an answer or regress badly.
+ * <p>
+ * The file has one tab separated entry per line: {@code day part input budgetMillis budgetBytes answer}, where the
+ * input is {@code file} for the input files or {@code generated:scale:seed} for generated inputs. The budgets may be
+ * edited by hand, lines starting with # are comments.
+ */
+final class Golden {
+    // Recorded budgets leave room for noisy machines, but still catch a part getting several times slower
+    private static final long TIME_FACTOR      = 4;
+    private static final long MIN_BUDGET_NANOS = 20_000_000;
+    private static final long BYTES_FACTOR     = 2;
+    private static final long MIN_BUDGET_BYTES = 16 << 20;
+    
+    private static final String HEADER = "# day\tpart\tinput\tbudgetMillis\tbudgetBytes\tanswer";
+    
+    private Golden() {
+        // Utility
+    }
+    
+    /**
+     * Stores the answers of the results, keeping the entries of other days and inputs. Failed parts are not recorded.
+     */
+    static void record(final Path path, final RunnerOptions options, final List<DayResult> results) {
+        final var entries = Files.exists(path) ? read(path) : new LinkedHashMap<Key, Entry>();
+        final var input   = options.inputLabel();
+        
+        for (final var result : results) {
+            for (var part = 1; part <= 2; part++) {
+                final var partResult = part == 1 ? result.part1() : result.part2();
+                if (partResult.failed()) {
+                    System.err.printf("Day %02d part %d: not recorded, %s%n", result.day(), part, partResult.answer());
+                    continue;
+                }
+                
+                final var key = new Key(result.day(), part, input);
+                entries.put(key, new Entry(key,
+                                           budgetMillis(partResult),
+                                           Math.max(MIN_BUDGET_BYTES, partResult.allocatedBytes() * BYTES_FACTOR),
+                                           partResult.answer()));
+            }
+        }
+        
+        write(path, entries);
+    }
+    
+    /**
+     * The budgets are multiplied by the budget scale of the options, e.g. for a machine slower than the one that
+     * recorded them.
+     *
+     * @return The failures, empty if all answers are recorded and match and all parts are within their budgets
+     */
+    static List<String> verify(final Path path, final RunnerOptions options, final List<DayResult> results) {
+        final var budgetScale = options.budgetScale();
+        final var entries     = read(path);
+        final var input       = options.inputLabel();
+        final var failures    = new ArrayList<String>();
+        
+        for (final var result : results) {
+            for (var part = 1; part <= 2; part++) {
+                final var partResult = part == 1 ? result.part1() : result.part2();
+                final var entry      = entries.get(new Key(result.day(), part, input));
+                final var name       = "Day %02d part %d".formatted(result.day(), part);
+                
+                if (entry == null) {
+                    // A day without a recorded answer is not verified, which must not pass silently
+                    failures.add("%s: no golden answer for input %s".formatted(name, input));
+                    continue;
+                }
+                if (!entry.answer().equals(partResult.answer())) {
+                    failures.add("%s: expected %s, got %s".formatted(name, entry.answer(), partResult.answer()));
+                }
+                
+                final var millis       = partResult.nanos() / 1_000_000.0;
+                final var budgetMillis = entry.budgetMillis() * budgetScale;
+                final var budgetBytes  = entry.budgetBytes() * budgetScale;
+                if (millis > budgetMillis) {
+                    failures.add("%s: took %.3f ms, budget %.0f ms".formatted(name, millis, budgetMillis));
+                }
+                if (partResult.allocatedBytes() > budgetBytes) {
+                    failures.add("%s: allocated %d bytes, budget %.0f bytes".formatted(name,
+                                                                                      partResult.allocatedBytes(),
+                                                                                      budgetBytes));
+                }
+            }
+        }
+        
+        return failures;
+    }
+    
+    private static long budgetMillis(final PartResult part) {
+        final var nanos = Math.max(MIN_BUDGET_NANOS, part.nanos() * TIME_FACTOR);
+        return (nanos + 999_999) / 1_000_000;
+    }
+    
+    private static Map<Key, Entry> read(final Path path) {
+        try {
+            final var entries = new LinkedHashMap<Key, Entry>();
+            for (final var line : Files.readAllLines(path)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                final var fields = line.split("\t", 6);
+                if (fields.length != 6) {
+                    throw new IllegalArgumentException("Invalid golden entry in %s: %s".formatted(path, line));
+                }
+                final var key = new Key(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), fields[2]);
+                entries.put(key, new Entry(key, Long.parseLong(fields[3]), Long.parseLong(fields[4]), fields[5]));
+            }
+            return entries;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void write(final Path path, final Map<Key, Entry> entries) {
+        final var lines = new ArrayList<String>();
+        lines.add(HEADER);
+        entries.values()
+               .stream()
+               .sorted(Comparator.comparingInt((Entry entry) -> entry.key().day())
+                                 .thenComparing(entry -> entry.key().input())
+                                 .thenComparingInt(entry -> entry.key().part()))
+               .map(entry -> "%d\t%d\t%s\t%d\t%d\t%s".formatted(entry.key().day(),
+                                                                entry.key().part(),
+                                                                entry.key().input(),
+                                                                entry.budgetMillis(),
+                                                                entry.budgetBytes(),
+                                                                entry.answer()))
+               .forEach(lines::add);
+        
+        try {
+            Files.write(path, lines);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private record Key(int day, int part, String input) {
+    }
+    
+    private record Entry(Key key, long budgetMillis, long budgetBytes, String answer) {
+    }
+}
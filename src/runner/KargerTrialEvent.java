@@ -0,0 +1,32 @@
+package runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A milestone of Day25: one randomized contraction of the graph down to two vertices, which succeeds if exactly the
+ * three wanted edges remain between them.
+ */
+@Name("aoc.KargerTrial")
+@Label("Karger Trial")
+@Category({"Advent of Code", "Milestones"})
+@Description("A contraction trial of the minimum cut search of Day25")
+public final class KargerTrialEvent extends Event {
+    @Label("Trial")
+    public int trial;
+    
+    @Label("Vertices")
+    public int vertices;
+    
+    @Label("Edges")
+    public int edges;
+    
+    @Label("Cut Size")
+    public int cutSize;
+    
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,19 @@
+package runner;
+
+/**
+ * Solves a part incrementally, one line at a time, for days whose answer only needs a bounded state (e.g. a running
+ * sum). Memory then stays constant no matter how long the input is, see {@link Pipe}.
+ * <p>
+ * An accumulator is used once and by a single thread. The line may be a reused view (see {@link util.ByteLine}), so
+ * it is only valid during {@link #accept}.
+ *
+ * @param <R> The type of the answer
+ */
+public interface LineAccumulator<R> {
+    void accept(final CharSequence line);
+    
+    /**
+     * @return The answer of all lines accepted so far
+     */
+    R result();
+}
@@ -0,0 +1,165 @@
+package runner;
+
+import javax.management.*;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Live counters of long-running solves, e.g. the states a search expanded or the hits of a memo cache. Counters are
+ * striped ({@link LongAdder}), so hot paths on several threads can update them without contention.
+ * <p>
+ * Counters are grouped, usually by day, and every group is published as an MBean {@code aoc:type=Metrics,name=group}
+ * with one attribute per counter, so a JMX console shows the progress of a solve while it runs. With
+ * {@link #startLogging} all counters are also written to a stream periodically. Counters only ever grow, the rate
+ * between two dumps is the throughput.
+ */
+public final class Metrics {
+    private static final Map<String, Group> GROUPS = new ConcurrentHashMap<>();
+    
+    private Metrics() {
+        // Utility
+    }
+    
+    /**
+     * @return The counter of the given name in the group, created on first use
+     */
+    public static LongAdder counter(final String group, final String name) {
+        return group(group).counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+    
+    /**
+     * @return The high-water mark of the given name in the group (e.g. of a queue size), created on first use
+     */
+    public static LongAccumulator maximum(final String group, final String name) {
+        return group(group).maximums.computeIfAbsent(name, n -> new LongAccumulator(Math::max, 0));
+    }
+    
+    /**
+     * Writes all counters to the stream every period, until the JVM exits.
+     *
+     * @return The scheduler, to stop the logging early
+     */
+    public static ScheduledExecutorService startLogging(final Duration period, final PrintStream out) {
+        final var scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            final var thread = new Thread(task, "metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var millis = period.toMillis();
+        scheduler.scheduleAtFixedRate(() -> out.print(dump()), millis, millis, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+    
+    /**
+     * @return All counters, one line per group
+     */
+    public static String dump() {
+        return GROUPS.values()
+                     .stream()
+                     .sorted(Comparator.comparing(group -> group.name))
+                     .map(group -> "[metrics] %s: %s%n".formatted(group.name,
+                                                                 group.snapshot()
+                                                                      .entrySet()
+                                                                      .stream()
+                                                                      .map(e -> e.getKey() + "=" + e.getValue())
+                                                                      .collect(Collectors.joining(", "))))
+                     .collect(Collectors.joining());
+    }
+    
+    private static Group group(final String name) {
+        return GROUPS.computeIfAbsent(name, Group::register);
+    }
+    
+    /**
+     * The counters of a group, as a dynamic MBean since the counters are only known once the hot paths create them.
+     */
+    private static final class Group implements DynamicMBean {
+        private final String                       name;
+        private final Map<String, LongAdder>       counters = new ConcurrentHashMap<>();
+        private final Map<String, LongAccumulator> maximums = new ConcurrentHashMap<>();
+        
+        private Group(final String name) {
+            this.name = name;
+        }
+        
+        private static Group register(final String name) {
+            final var group = new Group(name);
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                                 .registerMBean(group, ObjectName.getInstance("aoc:type=Metrics,name=" + name));
+            } catch (final JMException e) {
+                throw new IllegalStateException("Cannot register the metrics of " + name, e);
+            }
+            return group;
+        }
+        
+        private Map<String, Long> snapshot() {
+            final var snapshot = new TreeMap<String, Long>();
+            counters.forEach((counter, value) -> snapshot.put(counter, value.sum()));
+            maximums.forEach((maximum, value) -> snapshot.put(maximum, value.get()));
+            return snapshot;
+        }
+        
+        @Override
+        public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+            final var value = snapshot().get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+        
+        @Override
+        public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+        
+        @Override
+        public AttributeList getAttributes(final String[] attributes) {
+            final var snapshot = snapshot();
+            final var list     = new AttributeList();
+            for (final var attribute : attributes) {
+                if (snapshot.containsKey(attribute)) {
+                    list.add(new Attribute(attribute, snapshot.get(attribute)));
+                }
+            }
+            return list;
+        }
+        
+        @Override
+        public AttributeList setAttributes(final AttributeList attributes) {
+            return new AttributeList();
+        }
+        
+        @Override
+        public Object invoke(final String action, final Object[] params, final String[] signature)
+                throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+        
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            final var attributes = snapshot().keySet()
+                                             .stream()
+                                             .map(attribute -> new MBeanAttributeInfo(attribute,
+                                                                                      "long",
+                                                                                      attribute,
+                                                                                      true,
+                                                                                      false,
+                                                                                      false))
+                                             .toArray(MBeanAttributeInfo[]::new);
+            return new MBeanInfo(Group.class.getName(), "Counters of " + name, attributes, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A phase of a day run by the {@link Runner}: the parse phase or one of the parts, warmup runs included. Next to the
+ * {@link DayEvent} it shows whether the time of a day goes into parsing or into solving.
+ */
+@Name("aoc.Phase")
+@Label("Phase")
+@Category("Advent of Code")
+@Description("The parse phase or a part of a day")
+final class PhaseEvent extends Event {
+    static final String PARSE = "parse";
+    static final String PART1 = "part1";
+    static final String PART2 = "part2";
+    
+    @Label("Day")
+    int day;
+    
+    @Label("Phase")
+    @Description("parse, part1 or part2")
+    String phase;
+    
+    @Label("Warmup")
+    boolean warmup;
+    
+    @Label("Input Lines")
+    int inputLines;
+    
+    @Label("Answer")
+    @Description("The answer of a part, or the error if it failed")
+    String answer;
+    
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
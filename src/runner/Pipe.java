@@ -0,0 +1,87 @@
+package runner;
+
+import util.ChannelLineCursor;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solves a day while its input is streamed through, line by line, instead of reading all lines first. Memory stays
+ * constant however long the input is, so e.g. the output of a generator can be piped straight in. Only days that are
+ * a {@link StreamingSolver} can be streamed.
+ * <p>
+ * Both parts are solved in the same pass over the input, and their answers are printed one per line like the
+ * {@code main} of the days.
+ * <p>
+ * Usage: {@code Pipe day [--part=1|2] [--input=file] < input}
+ */
+public final class Pipe {
+    private Pipe() {
+        // Utility
+    }
+    
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: Pipe day [--part=1|2] [--input=file] < input");
+        }
+        
+        final var day   = Integer.parseInt(args[0]);
+        var       part1 = true;
+        var       part2 = true;
+        Path      input = null;
+        
+        for (var i = 1; i < args.length; i++) {
+            final var value = args[i].substring(args[i].indexOf('=') + 1);
+            if (args[i].startsWith("--part=")) {
+                part1 = value.equals("1");
+                part2 = value.equals("2");
+                if (!part1 && !part2) {
+                    throw new IllegalArgumentException("Unknown part: " + value);
+                }
+            } else if (args[i].startsWith("--input=")) {
+                input = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        
+        final var solver = Runner.solverFor(day)
+                                 .filter(StreamingSolver.class::isInstance)
+                                 .map(StreamingSolver.class::cast)
+                                 .orElseThrow(() -> new IllegalArgumentException("No streaming solver for day " + day));
+        
+        final var accumulators = new ArrayList<LineAccumulator<?>>();
+        if (part1) {
+            accumulators.add(solver.part1Accumulator());
+        }
+        if (part2) {
+            accumulators.add(solver.part2Accumulator());
+        }
+        
+        try (final var channel = input == null
+                                 ? Channels.newChannel(System.in)
+                                 : FileChannel.open(input, StandardOpenOption.READ)) {
+            feed(channel, accumulators);
+        }
+        accumulators.forEach(accumulator -> System.out.println(accumulator.result()));
+    }
+    
+    /**
+     * Feeds every line of the channel to all accumulators, in order.
+     */
+    public static void feed(final ReadableByteChannel channel, final List<? extends LineAccumulator<?>> accumulators)
+            throws IOException {
+        final var cursor = new ChannelLineCursor(channel);
+        while (cursor.next()) {
+            for (final var accumulator : accumulators) {
+                accumulator.accept(cursor.line());
+            }
+        }
+    }
+}
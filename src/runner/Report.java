@@ -0,0 +1,139 @@
+package runner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formats the results of a runner invocation, as a table for the console and as JSON for further processing.
+ */
+class Report {
+    private Report() {
+        // Utility
+    }
+    
+    static String table(final List<DayResult> results, final long wallNanos) {
+        final var answerWidth = Math.max(6, results.stream()
+                                                   .flatMap(result -> List.of(result.part1(), result.part2()).stream())
+                                                   .mapToInt(part -> part.answer().length())
+                                                   .max()
+                                                   .orElse(0));
+        final var row = "%-3s | %10s | %10s | %10s | %-" + answerWidth + "s | %10s | %s%n";
+        final var sb  = new StringBuilder();
+        
+        sb.append(row.formatted("Day", "Read ms", "Parse ms", "Part 1 ms", "Part 1", "Part 2 ms", "Part 2"));
+        for (final var result : results) {
+            sb.append(row.formatted("%02d".formatted(result.day()),
+                                    millis(result.readNanos()),
+                                    millis(result.parse().nanos()),
+                                    millis(result.part1().nanos()),
+                                    result.part1().answer(),
+                                    millis(result.part2().nanos()),
+                                    result.part2().answer()));
+        }
+        
+        final var cpuNanos = results.stream().mapToLong(DayResult::cpuNanos).sum();
+        sb.append("Sum of days: %s ms%n".formatted(millis(results.stream().mapToLong(DayResult::totalNanos).sum())));
+        sb.append("Wall clock: %s ms, CPU: %s ms (speedup %.2fx)%n".formatted(millis(wallNanos),
+                                                                              millis(cpuNanos),
+                                                                              (double) cpuNanos / wallNanos));
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Ranks the parse phases and parts of all days by the memory they allocate, the largest first.
+     */
+    static String allocationTable(final List<DayResult> results) {
+        final var row    = "%-3s | %-5s | %12s | %12s | %12s | %8s | %8s%n";
+        final var phases = new ArrayList<Phase>();
+        for (final var result : results) {
+            phases.add(new Phase(result, PhaseEvent.PARSE, result.parse()));
+            phases.add(new Phase(result, PhaseEvent.PART1, result.part1()));
+            phases.add(new Phase(result, PhaseEvent.PART2, result.part2()));
+        }
+        phases.sort(Comparator.comparingLong((Phase phase) -> phase.part().allocatedBytes()).reversed());
+        
+        final var sb = new StringBuilder();
+        sb.append(row.formatted("Day", "Phase", "Bytes", "Bytes/line", "Bytes/cell", "GCs", "GC ms"));
+        for (final var phase : phases) {
+            final var bytes = phase.part().allocatedBytes();
+            sb.append(row.formatted("%02d".formatted(phase.result().day()),
+                                    phase.name(),
+                                    bytes,
+                                    perUnit(bytes, phase.result().inputLines()),
+                                    perUnit(bytes, phase.result().inputCells()),
+                                    phase.part().gcCount(),
+                                    phase.part().gcMillis()));
+        }
+        return sb.toString();
+    }
+    
+    static String json(final RunnerOptions options, final List<DayResult> results, final long wallNanos) {
+        final var sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"warmup\": %d,\n".formatted(options.warmup()));
+        sb.append("  \"parallelism\": %d,\n".formatted(options.parallelism()));
+        if (options.generated()) {
+            sb.append("  \"generateScale\": %d,\n".formatted(options.generateScale()));
+            sb.append("  \"seed\": %d,\n".formatted(options.seed()));
+        }
+        sb.append("  \"days\": [");
+        
+        for (var i = 0; i < results.size(); i++) {
+            final var result = results.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\"day\": %d, \"inputLines\": %d, \"inputCells\": %d, ".formatted(result.day(),
+                                                                                         result.inputLines(),
+                                                                                         result.inputCells()));
+            sb.append("\"readNanos\": %d, \"parseNanos\": %d, \"cpuNanos\": %d, ".formatted(result.readNanos(),
+                                                                                        result.parse().nanos(),
+                                                                                        result.cpuNanos()));
+            sb.append("\"part1\": %s, \"part2\": %s}".formatted(json(result.part1()), json(result.part2())));
+        }
+        
+        sb.append("\n  ],\n");
+        sb.append("  \"totalNanos\": %d,\n".formatted(results.stream().mapToLong(DayResult::totalNanos).sum()));
+        sb.append("  \"cpuNanos\": %d,\n".formatted(results.stream().mapToLong(DayResult::cpuNanos).sum()));
+        sb.append("  \"wallNanos\": %d\n".formatted(wallNanos));
+        sb.append("}\n");
+        
+        return sb.toString();
+    }
+    
+    private static String json(final DayResult.PartResult part) {
+        return ("{\"answer\": %s, \"nanos\": %d, \"cpuNanos\": %d, \"allocatedBytes\": %d, \"gcCount\": %d, "
+                + "\"gcMillis\": %d}").formatted(quote(part.answer()),
+                                                part.nanos(),
+                                                part.cpuNanos(),
+                                                part.allocatedBytes(),
+                                                part.gcCount(),
+                                                part.gcMillis());
+    }
+    
+    static String quote(final String value) {
+        final var sb = new StringBuilder("\"");
+        for (final var c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c < ' ' ? "\\u%04x".formatted((int) c) : c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+    
+    private static String perUnit(final long bytes, final long units) {
+        return units == 0 ? "-" : "%.1f".formatted((double) bytes / units);
+    }
+    
+    private static String millis(final long nanos) {
+        return "%.3f".formatted(nanos / 1_000_000.0);
+    }
+    
+    private record Phase(DayResult result, String name, DayResult.PartResult part) {
+    }
+}
@@ -0,0 +1,313 @@
+package runner;
+
+import generator.Generators;
+import runner.DayResult.PartResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Runs the selected days in a single JVM, so class loading and JIT compilation are paid once. Every day is run
+ * {@code --warmup} times untimed before the timed run, the results are printed as a table and written as JSON.
+ * <p>
+ * With {@code --parallel[=threads]} the days, and the parse phase and both parts of each day, run concurrently on a
+ * bounded {@link ForkJoinPool}. The report then shows the wall-clock time next to the summed CPU time of all parts.
+ * <p>
+ * With {@code --generate=scale[:seed]} every day runs on a generated input of the given scale instead of its input
+ * file, see {@link Generators}.
+ * <p>
+ * Every day and phase is recorded as a JFR event (see {@link DayEvent} and {@link PhaseEvent}), e.g. with
+ * {@code -XX:StartFlightRecording}, next to the milestones some days report.
+ * <p>
+ * With {@code --allocations} a second table ranks all parse phases and parts by the heap memory they allocate, per
+ * part and per input line and cell, next to the garbage collections during each of them. Allocations are measured
+ * per thread, the garbage collections for the whole JVM (so with {@code --parallel} they overlap).
+ * <p>
+ * With {@code --cache[=.answer-cache]} the answers of both parts are looked up in an {@link AnswerCache} first, so
+ * the timings of cached parts are the lookups. It is off by default, since the runner is about the solve times.
+ * <p>
+ * Long-running days update live {@link Metrics}, published over JMX and with {@code --metrics-log=seconds} also
+ * printed periodically.
+ * <p>
+ * With {@code --record=golden.tsv} the answers are stored as golden answers, with time and allocation budgets. With
+ * {@code --verify=golden.tsv} the run fails if an answer differs or is missing or a part exceeds its budgets, which
+ * {@code --budget-scale=factor} scales (see {@link Golden}).
+ * <p>
+ * Usage: {@code Runner [day | from-to]... [--warmup=3] [--parallel[=threads]] [--input=resources]
+ * [--generate=scale[:seed]] [--json=runner-report.json] [--record=golden.tsv] [--verify=golden.tsv]
+ * [--budget-scale=1] [--metrics-log=seconds] [--allocations] [--cache[=.answer-cache]] [--cache-size=10000]}
+ */
+public class Runner {
+    // The HotSpot extension also measures the memory each thread allocates
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    
+    public static void main(final String[] args) {
+        final var options = RunnerOptions.parse(args);
+        if (options.metricsLog() != null) {
+            Metrics.startLogging(options.metricsLog(), System.err);
+        }
+        
+        final var start   = System.nanoTime();
+        final var results = run(options);
+        final var wall    = System.nanoTime() - start;
+        
+        System.out.print(Report.table(results, wall));
+        if (options.allocations()) {
+            System.out.print(Report.allocationTable(results));
+        }
+        if (options.metricsLog() != null) {
+            System.err.print(Metrics.dump());
+        }
+        try {
+            Files.writeString(options.json(), Report.json(options, results, wall));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        if (options.record() != null) {
+            Golden.record(options.record(), options, results);
+        }
+        if (options.verify() != null) {
+            final var failures = Golden.verify(options.verify(), options, results);
+            failures.forEach(System.err::println);
+            if (!failures.isEmpty()) {
+                System.err.printf("%d golden check(s) failed%n", failures.size());
+                System.exit(1);
+            }
+            System.out.println("All golden checks passed");
+        }
+    }
+    
+    /**
+     * Runs the days of the options, without reporting, recording or verifying their results.
+     */
+    static List<DayResult> run(final RunnerOptions options) {
+        // Opened once per run, opening lists and evicts the directory
+        final var cache = options.cache() == null ? null : new AnswerCache(options.cache(), options.cacheSize());
+        return options.parallelism() > 0 ? runParallel(options, cache) : runSequential(options, cache);
+    }
+    
+    /**
+     * Finds the solver of a day, by convention the class DayNN in the default package.
+     */
+    static Optional<Solver> solverFor(final int day) {
+        try {
+            final var type = Class.forName("Day%02d".formatted(day));
+            if (!Solver.class.isAssignableFrom(type)) {
+                return Optional.empty();
+            }
+            return Optional.of((Solver) type.getDeclaredConstructor().newInstance());
+        } catch (final ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create solver of day " + day, e);
+        }
+    }
+    
+    private static List<DayResult> runSequential(final RunnerOptions options, final AnswerCache cache) {
+        final var results = new ArrayList<DayResult>();
+        
+        for (final var day : options.days()) {
+            load(day, options, cache).map(input -> {
+                final var warmupCpu = warmup(input, options.warmup());
+                
+                final var parse = timed(input, PhaseEvent.PARSE, false);
+                final var part1 = timed(input, PhaseEvent.PART1, false);
+                final var part2 = timed(input, PhaseEvent.PART2, false);
+                
+                return finished(input, new DayResult(day,
+                                                     input.lines().size(),
+                                                     input.cells(),
+                                                     input.readNanos(),
+                                                     input.readCpuNanos() + warmupCpu,
+                                                     parse,
+                                                     part1,
+                                                     part2));
+            }).ifPresent(results::add);
+        }
+        
+        return results;
+    }
+    
+    private static List<DayResult> runParallel(final RunnerOptions options, final AnswerCache cache) {
+        try (final var pool = new ForkJoinPool(options.parallelism())) {
+            final var futures = new ArrayList<CompletableFuture<DayResult>>();
+            for (final var day : options.days()) {
+                futures.add(CompletableFuture.supplyAsync(() -> load(day, options, cache), pool)
+                                             .thenCompose(input -> input.map(in -> runAsync(in, options.warmup(), pool))
+                                                                        .orElse(CompletableFuture.completedFuture(null))));
+            }
+            
+            // Joining in day order keeps the report deterministic, regardless of which day finishes first
+            return futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList();
+        }
+    }
+    
+    private static CompletableFuture<DayResult> runAsync(final DayInput input, final int warmup, final Executor pool) {
+        final var warmupCpu = warmup(input, warmup);
+        
+        final var parse = CompletableFuture.supplyAsync(() -> timed(input, PhaseEvent.PARSE, false), pool);
+        final var part1 = CompletableFuture.supplyAsync(() -> timed(input, PhaseEvent.PART1, false), pool);
+        final var part2 = CompletableFuture.supplyAsync(() -> timed(input, PhaseEvent.PART2, false), pool);
+        
+        return CompletableFuture.allOf(parse, part1, part2)
+                                .thenApply(ignored -> finished(input, new DayResult(input.day(),
+                                                                                    input.lines().size(),
+                                                                                    input.cells(),
+                                                                                    input.readNanos(),
+                                                                                    input.readCpuNanos() + warmupCpu,
+                                                                                    parse.join(),
+                                                                                    part1.join(),
+                                                                                    part2.join())));
+    }
+    
+    private static DayResult finished(final DayInput input, final DayResult result) {
+        final var event = input.event();
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = input.day();
+            event.inputLines = input.lines().size();
+            event.inputChars = input.cells();
+            event.warmup = input.warmup();
+            event.commit();
+        }
+        return result;
+    }
+    
+    private static Optional<DayInput> load(final int day, final RunnerOptions options, final AnswerCache cache) {
+        final var solver = solverFor(day);
+        final var path   = options.inputOf(day);
+        
+        if (solver.isEmpty()) {
+            System.err.printf("Day %02d: no solver found%n", day);
+            return Optional.empty();
+        }
+        if (!options.generated() && !Files.exists(path)) {
+            System.err.printf("Day %02d: no input at %s%n", day, path);
+            return Optional.empty();
+        }
+        
+        final var event = new DayEvent();
+        event.begin();
+        try {
+            final var cpuStart = THREADS.getCurrentThreadCpuTime();
+            final var start    = System.nanoTime();
+            final var lines    = options.generated()
+                                 ? Generators.generate(day, options.seed(), options.generateScale())
+                                 : Files.readAllLines(path);
+            final var read     = System.nanoTime() - start;
+            final var readCpu  = THREADS.getCurrentThreadCpuTime() - cpuStart;
+            // Hashing the input for the cache is not part of reading it
+            final var cacheKey = cache == null ? null : cache.key(day, solver.get(), lines);
+            
+            return Optional.of(new DayInput(day,
+                                            solver.get(),
+                                            lines,
+                                            read,
+                                            readCpu,
+                                            options.warmup(),
+                                            event,
+                                            cache,
+                                            cacheKey));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Returns the CPU time spent, so the report can compare all work done against the wall-clock time
+    private static long warmup(final DayInput input, final int warmup) {
+        var cpuNanos = 0L;
+        for (var i = 0; i < warmup; i++) {
+            cpuNanos += timed(input, PhaseEvent.PARSE, true).cpuNanos();
+            cpuNanos += timed(input, PhaseEvent.PART1, true).cpuNanos();
+            cpuNanos += timed(input, PhaseEvent.PART2, true).cpuNanos();
+        }
+        return cpuNanos;
+    }
+    
+    private static PartResult timed(final DayInput input, final String phase, final boolean warmup) {
+        final Function<List<String>, Object> part = switch (phase) {
+            case PhaseEvent.PARSE -> input.solver()::parse;
+            case PhaseEvent.PART1 -> input.solver()::solvePart1;
+            case PhaseEvent.PART2 -> input.solver()::solvePart2;
+            default -> throw new IllegalArgumentException("Unknown phase: " + phase);
+        };
+        
+        final var event = new PhaseEvent();
+        event.begin();
+        final var gcCountStart   = gcCount();
+        final var gcMillisStart  = gcMillis();
+        final var allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+        final var cpuStart       = THREADS.getCurrentThreadCpuTime();
+        final var start          = System.nanoTime();
+        final var answer         = PartResult.answerOf(
+                () -> input.cache() == null || phase.equals(PhaseEvent.PARSE)
+                      ? String.valueOf(part.apply(input.lines()))
+                      : input.cache().answer(input.cacheKey(),
+                                             phase.equals(PhaseEvent.PART1) ? 1 : 2,
+                                             () -> String.valueOf(part.apply(input.lines()))));
+        final var nanos     = System.nanoTime() - start;
+        final var allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedStart;
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = input.day();
+            event.phase = phase;
+            event.warmup = warmup;
+            event.inputLines = input.lines().size();
+            // The parse phase returns the parsed input, not an answer
+            event.answer = phase.equals(PhaseEvent.PARSE) ? null : answer;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        
+        return new PartResult(answer,
+                              nanos,
+                              THREADS.getCurrentThreadCpuTime() - cpuStart,
+                              allocated,
+                              gcCount() - gcCountStart,
+                              gcMillis() - gcMillisStart);
+    }
+    
+    private static long gcCount() {
+        // A collector that does not report its count returns -1
+        return COLLECTORS.stream().mapToLong(collector -> Math.max(0, collector.getCollectionCount())).sum();
+    }
+    
+    private static long gcMillis() {
+        return COLLECTORS.stream().mapToLong(collector -> Math.max(0, collector.getCollectionTime())).sum();
+    }
+    
+    /**
+     * @param cache    The answer cache, null if the answers are not cached
+     * @param cacheKey The key of the input in the answer cache, null if the answers are not cached
+     */
+    private record DayInput(
+            int day,
+            Solver solver,
+            List<String> lines,
+            long readNanos,
+            long readCpuNanos,
+            int warmup,
+            DayEvent event,
+            AnswerCache cache,
+            AnswerCache.Key cacheKey
+    ) {
+        long cells() {
+            return lines.stream().mapToLong(String::length).sum();
+        }
+    }
+}
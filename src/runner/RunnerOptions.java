@@ -0,0 +1,171 @@
+package runner;
+
+import generator.Generators;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Command line options of the {@link Runner}.
+ *
+ * @param days           The days to run, in order
+ * @param warmup         The number of untimed runs of every day before the timed run
+ * @param parallelism    The number of threads to run days and parts on concurrently, 0 to run them sequentially
+ * @param inputDirectory The directory containing the dayNN.txt inputs
+ * @param json           The file the JSON report is written to
+ * @param generateScale  The scale of generated inputs used instead of the input files, 0 to read the input files
+ * @param seed           The random seed of the generated inputs
+ * @param record         The file the answers are recorded to as golden answers, null to not record them
+ * @param verify         The file of golden answers the answers are verified against, null to not verify them
+ * @param budgetScale    The factor applied to the time and allocation budgets of the golden answers
+ * @param metricsLog     The period in which the {@link Metrics} are logged, null to not log them
+ * @param allocations    Whether to report the allocations and garbage collections of every part
+ * @param cache          The directory of the {@link AnswerCache}, null to always solve
+ * @param cacheSize      The maximum number of answers in the cache
+ */
+record RunnerOptions(
+        List<Integer> days,
+        int warmup,
+        int parallelism,
+        Path inputDirectory,
+        Path json,
+        int generateScale,
+        long seed,
+        Path record,
+        Path verify,
+        double budgetScale,
+        Duration metricsLog,
+        boolean allocations,
+        Path cache,
+        int cacheSize
+) {
+    static final int FIRST_DAY = 1;
+    static final int LAST_DAY  = 25;
+    
+    static RunnerOptions parse(final String[] args) {
+        final var days           = new ArrayList<Integer>();
+        var       warmup         = 3;
+        var       parallelism    = 0;
+        var       inputDirectory = Path.of("resources");
+        var       json           = Path.of("runner-report.json");
+        var       generateScale  = 0;
+        var       seed           = Generators.DEFAULT_SEED;
+        Path      record         = null;
+        Path      verify         = null;
+        var       budgetScale    = 1.0;
+        Duration  metricsLog     = null;
+        var       allocations    = false;
+        Path      cache          = null;
+        var       cacheSize      = AnswerCache.DEFAULT_MAX_ENTRIES;
+        
+        for (final var arg : args) {
+            if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(valueOf(arg));
+            } else if (arg.equals("--parallel")) {
+                parallelism = Runtime.getRuntime().availableProcessors();
+            } else if (arg.startsWith("--parallel=")) {
+                parallelism = Integer.parseInt(valueOf(arg));
+            } else if (arg.startsWith("--input=")) {
+                inputDirectory = Path.of(valueOf(arg));
+            } else if (arg.startsWith("--json=")) {
+                json = Path.of(valueOf(arg));
+            } else if (arg.startsWith("--generate=")) {
+                // scale[:seed]
+                final var parts = valueOf(arg).split(":");
+                generateScale = Integer.parseInt(parts[0]);
+                if (parts.length > 1) {
+                    seed = Long.parseLong(parts[1]);
+                }
+            } else if (arg.startsWith("--record=")) {
+                record = Path.of(valueOf(arg));
+            } else if (arg.startsWith("--verify=")) {
+                verify = Path.of(valueOf(arg));
+            } else if (arg.startsWith("--budget-scale=")) {
+                budgetScale = Double.parseDouble(valueOf(arg));
+            } else if (arg.startsWith("--metrics-log=")) {
+                metricsLog = Duration.ofSeconds(Long.parseLong(valueOf(arg)));
+            } else if (arg.equals("--allocations")) {
+                allocations = true;
+            } else if (arg.equals("--cache")) {
+                cache = AnswerCache.DEFAULT_DIRECTORY;
+            } else if (arg.startsWith("--cache=")) {
+                cache = Path.of(valueOf(arg));
+            } else if (arg.startsWith("--cache-size=")) {
+                cacheSize = Integer.parseInt(valueOf(arg));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            } else {
+                days.addAll(parseDays(arg));
+            }
+        }
+        
+        if (days.isEmpty()) {
+            days.addAll(IntStream.rangeClosed(FIRST_DAY, LAST_DAY).boxed().toList());
+        }
+        if (warmup < 0) {
+            throw new IllegalArgumentException("Warmup must not be negative: " + warmup);
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism must not be negative: " + parallelism);
+        }
+        if (generateScale < 0) {
+            throw new IllegalArgumentException("Generate scale must not be negative: " + generateScale);
+        }
+        if (!(budgetScale > 0)) {
+            throw new IllegalArgumentException("Budget scale must be positive: " + budgetScale);
+        }
+        if (metricsLog != null && !metricsLog.isPositive()) {
+            throw new IllegalArgumentException("Metrics log period must be positive: " + metricsLog);
+        }
+        
+        return new RunnerOptions(days,
+                                 warmup,
+                                 parallelism,
+                                 inputDirectory,
+                                 json,
+                                 generateScale,
+                                 seed,
+                                 record,
+                                 verify,
+                                 budgetScale,
+                                 metricsLog,
+                                 allocations,
+                                 cache,
+                                 cacheSize);
+    }
+    
+    boolean generated() {
+        return generateScale > 0;
+    }
+    
+    /**
+     * @return The input the answers belong to, so golden answers of input files and generated inputs do not mix
+     */
+    String inputLabel() {
+        return generated() ? "generated:%d:%d".formatted(generateScale, seed) : "file";
+    }
+    
+    Path inputOf(final int day) {
+        return inputDirectory.resolve("day%02d.txt".formatted(day));
+    }
+    
+    private static String valueOf(final String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+    
+    // Accepts a single day ("17") or an inclusive range ("1-5")
+    private static List<Integer> parseDays(final String arg) {
+        final var parts = arg.split("-");
+        final var from  = Integer.parseInt(parts[0]);
+        final var to    = parts.length == 1 ? from : Integer.parseInt(parts[1]);
+        
+        if (from < FIRST_DAY || to > LAST_DAY || from > to) {
+            throw new IllegalArgumentException("Invalid days: " + arg);
+        }
+        
+        return IntStream.rangeClosed(from, to).boxed().toList();
+    }
+}
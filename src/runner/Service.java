@@ -0,0 +1,261 @@
+package runner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.*;
+
+/**
+ * A long-lived local HTTP service that solves inputs posted to it, so the JVM start and the JIT warmup are paid once
+ * instead of per input. Every request is handled on its own virtual thread.
+ * <p>
+ * {@code POST /solve/{day}} with the input as body answers {@code {"day": 1, "part1": "...", "part2": "..."}}. The
+ * header {@code Server-Timing} holds the time of each part. At most {@code --concurrency} inputs are solved at the
+ * same time, a request that cannot start within the timeout gets a 503, one that cannot finish within it a 504. The
+ * body is only read once a slot is taken, and one longer than {@code --max-body} bytes gets a 413, so clients that
+ * are turned away cannot make the service buffer their inputs.
+ * <p>
+ * The solvers do not check for interruption, so a timed-out solve still finishes in the background and keeps its
+ * slot until then. The concurrency bound therefore also bounds the work of timed-out requests.
+ * <p>
+ * Answers are looked up in the {@link AnswerCache} first, unless {@code --no-cache} bypasses it. The timing header
+ * then shows the lookups.
+ * <p>
+ * Usage: {@code Service [--port=8023] [--concurrency=processors] [--timeout=30] [--max-body=67108864]
+ * [--cache=.answer-cache] [--cache-size=10000] [--no-cache]}
+ */
+public class Service {
+    private final int             concurrency;
+    private final Semaphore       slots;
+    private final Duration        timeout;
+    private final long            maxBodyBytes;
+    private final AnswerCache     cache;
+    private final ExecutorService solvers = Executors.newVirtualThreadPerTaskExecutor();
+    
+    /**
+     * @param maxBodyBytes The largest input accepted
+     * @param cache        The cache consulted before solving an input, null to always solve
+     */
+    Service(final int concurrency, final Duration timeout, final long maxBodyBytes, final AnswerCache cache) {
+        this.concurrency = concurrency;
+        this.slots = new Semaphore(concurrency);
+        this.timeout = timeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.cache = cache;
+    }
+    
+    public static void main(final String[] args) throws IOException {
+        var port        = 8023;
+        var concurrency = Runtime.getRuntime().availableProcessors();
+        var timeout     = Duration.ofSeconds(30);
+        var maxBody     = 64L << 20;
+        var cacheDir    = AnswerCache.DEFAULT_DIRECTORY;
+        var cacheSize   = AnswerCache.DEFAULT_MAX_ENTRIES;
+        var useCache    = true;
+        
+        for (final var arg : args) {
+            final var value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value);
+            } else if (arg.startsWith("--concurrency=")) {
+                concurrency = Integer.parseInt(value);
+            } else if (arg.startsWith("--timeout=")) {
+                timeout = Duration.ofSeconds(parseOption(arg, value));
+            } else if (arg.startsWith("--max-body=")) {
+                maxBody = parseOption(arg, value);
+            } else if (arg.startsWith("--cache=")) {
+                cacheDir = Path.of(value);
+            } else if (arg.startsWith("--cache-size=")) {
+                cacheSize = Integer.parseInt(value);
+            } else if (arg.equals("--no-cache")) {
+                useCache = false;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        if (timeout.isZero() || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout.toSeconds());
+        }
+        if (maxBody < 0 || maxBody >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Max body must be in [0, %d): %d".formatted(Integer.MAX_VALUE, maxBody));
+        }
+        
+        final var cache   = useCache ? new AnswerCache(cacheDir, cacheSize) : null;
+        final var service = new Service(concurrency, timeout, maxBody, cache);
+        final var server  = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/solve/", service::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        System.out.printf("Solving on http://localhost:%d/solve/{day}, %d at a time%n", port, concurrency);
+    }
+    
+    private static long parseOption(final String arg, final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + arg, e);
+        }
+    }
+    
+    void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "Use POST");
+                return;
+            }
+            
+            final var path   = exchange.getRequestURI().getPath();
+            final var day    = parseDay(path);
+            final var solver = day.flatMap(Runner::solverFor);
+            if (solver.isEmpty()) {
+                respond(exchange, 404, "No solver for " + path);
+                return;
+            }
+            
+            solve(exchange, day.get(), solver.get());
+        }
+    }
+    
+    private void solve(final HttpExchange exchange, final int day, final Solver solver) throws IOException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            if (!slots.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                respond(exchange, 503, "All %d slots are busy".formatted(concurrency));
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "Interrupted");
+            return;
+        }
+        
+        final List<String> lines;
+        try {
+            final var body = readBody(exchange);
+            if (body.isEmpty()) {
+                slots.release();
+                return;
+            }
+            lines = body.get().lines().toList();
+        } catch (final IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        
+        final var solution = solvers.submit(() -> {
+            try {
+                return Solution.of(cache, day, solver, lines);
+            } finally {
+                slots.release();
+            }
+        });
+        
+        try {
+            final var result = solution.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            exchange.getResponseHeaders().add("Server-Timing", result.timing());
+            respond(exchange, 200, "{\"day\": %d, \"part1\": %s, \"part2\": %s}".formatted(
+                    day,
+                    Report.quote(result.part1()),
+                    Report.quote(result.part2())
+            ));
+        } catch (final TimeoutException e) {
+            respond(exchange, 504, "Not solved within " + timeout);
+        } catch (final ExecutionException e) {
+            respond(exchange, 500, "Solver failed: " + e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "Interrupted");
+        }
+    }
+    
+    /**
+     * @return The body, or empty if the request was answered instead: a 400 for a Content-Length that is not a
+     * non-negative number, a 413 for a body longer than the maximum, which is not read then
+     */
+    private Optional<String> readBody(final HttpExchange exchange) throws IOException {
+        final var header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header != null) {
+            final var length = parseLength(header);
+            if (length.isEmpty()) {
+                respond(exchange, 400, "Invalid Content-Length: " + header);
+                return Optional.empty();
+            }
+            if (length.getAsLong() > maxBodyBytes) {
+                respond(exchange, 413, "Input is larger than %d bytes".formatted(maxBodyBytes));
+                return Optional.empty();
+            }
+        }
+        
+        // A chunked body has no length, reading one byte more than allowed tells whether it is too long
+        final var bytes = exchange.getRequestBody().readNBytes((int) maxBodyBytes + 1);
+        if (bytes.length > maxBodyBytes) {
+            respond(exchange, 413, "Input is larger than %d bytes".formatted(maxBodyBytes));
+            return Optional.empty();
+        }
+        return Optional.of(new String(bytes, StandardCharsets.UTF_8));
+    }
+    
+    private static OptionalLong parseLength(final String header) {
+        try {
+            final var length = Long.parseLong(header.strip());
+            return length < 0 ? OptionalLong.empty() : OptionalLong.of(length);
+        } catch (final NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+    
+    // "/solve/17" -> 17
+    private static Optional<Integer> parseDay(final String path) {
+        try {
+            return Optional.of(Integer.parseInt(path.substring(path.lastIndexOf('/') + 1)));
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", status == 200 ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+    
+    private record Solution(String part1, long part1Nanos, String part2, long part2Nanos) {
+        static Solution of(final AnswerCache cache, final int day, final Solver solver, final List<String> lines) {
+            if (cache == null) {
+                final var start1 = System.nanoTime();
+                final var part1  = String.valueOf(solver.solvePart1(lines));
+                final var start2 = System.nanoTime();
+                final var part2  = String.valueOf(solver.solvePart2(lines));
+                return new Solution(part1, start2 - start1, part2, System.nanoTime() - start2);
+            }
+            
+            final var key    = cache.key(day, solver, lines);
+            final var start1 = System.nanoTime();
+            final var part1  = cache.answer(key, 1, () -> String.valueOf(solver.solvePart1(lines)));
+            final var start2 = System.nanoTime();
+            final var part2  = cache.answer(key, 2, () -> String.valueOf(solver.solvePart2(lines)));
+            return new Solution(part1, start2 - start1, part2, System.nanoTime() - start2);
+        }
+        
+        String timing() {
+            // Server-Timing needs a decimal point, which the default locale may write as a comma
+            return String.format(Locale.ROOT,
+                                 "part1;dur=%.3f, part2;dur=%.3f",
+                                 part1Nanos / 1_000_000.0,
+                                 part2Nanos / 1_000_000.0);
+        }
+    }
+}
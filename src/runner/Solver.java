@@ -0,0 +1,24 @@
+package runner;
+
+import java.util.List;
+
+/**
+ * Common entry point of all days, so the runner can discover and run them in a single JVM. The days keep their static
+ * part1/part2 methods, this interface only delegates to them.
+ */
+public interface Solver {
+    /**
+     * Runs only the parse phase of the day, so the runner can report it separately. Days without a dedicated parse
+     * step keep the default, which does nothing.
+     *
+     * @param lines The input lines
+     * @return The parsed input (returned so the JIT cannot drop the work)
+     */
+    default Object parse(final List<String> lines) {
+        return lines;
+    }
+    
+    Object solvePart1(final List<String> lines);
+    
+    Object solvePart2(final List<String> lines);
+}
@@ -0,0 +1,17 @@
+package runner;
+
+/**
+ * A day that can also solve its parts line by line, without the full list of lines (see {@link LineAccumulator}).
+ * The answers are the same as the ones of {@link #solvePart1} and {@link #solvePart2}.
+ */
+public interface StreamingSolver extends Solver {
+    /**
+     * @return A new accumulator for part 1
+     */
+    LineAccumulator<?> part1Accumulator();
+    
+    /**
+     * @return A new accumulator for part 2
+     */
+    LineAccumulator<?> part2Accumulator();
+}
@@ -0,0 +1,86 @@
+package util;
+
+import util.simd.ByteScan;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A view on a line of bytes (offset and length into a buffer), without copying or decoding it. As a
+ * {@link CharSequence}, every byte is one char, which is exact for the ASCII puzzle inputs.
+ */
+public final class ByteLine implements CharSequence {
+    private ByteBuffer buffer;
+    private int        offset;
+    private int        length;
+    
+    ByteLine() {
+        // Set by the cursor
+    }
+    
+    public ByteLine(final ByteBuffer buffer, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        set(buffer, offset, length);
+    }
+    
+    void set(final ByteBuffer buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+    
+    public byte byteAt(final int index) {
+        return buffer.get(offset + Objects.checkIndex(index, length));
+    }
+    
+    /**
+     * @return The index of the first occurrence of the byte at or after from, or -1
+     */
+    public int indexOf(final byte b, final int from) {
+        if (from >= length) {
+            return -1;
+        }
+        final var found = ByteScan.indexOf(buffer, offset + Math.max(from, 0), offset + length, b);
+        return found == -1 ? -1 : found - offset;
+    }
+    
+    /**
+     * @return The index of the first ASCII digit, or -1
+     */
+    public int indexOfDigit() {
+        final var found = ByteScan.indexOfDigit(buffer, offset, offset + length);
+        return found == -1 ? -1 : found - offset;
+    }
+    
+    /**
+     * @return The index of the last ASCII digit, or -1
+     */
+    public int lastIndexOfDigit() {
+        final var found = ByteScan.lastIndexOfDigit(buffer, offset, offset + length);
+        return found == -1 ? -1 : found - offset;
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public char charAt(final int index) {
+        return (char) (byteAt(index) & 0xFF);
+    }
+    
+    @Override
+    public ByteLine subSequence(final int start, final int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new ByteLine(buffer, offset + start, end - start);
+    }
+    
+    @Override
+    public String toString() {
+        final var bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
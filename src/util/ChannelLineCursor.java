@@ -0,0 +1,75 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Iterates over the lines read from a channel (e.g. stdin or a pipe), with the same line breaks as a
+ * {@link LineCursor}. Only a buffer of the longest line is kept in memory, so inputs of any length can be streamed.
+ * <p>
+ * The cursor reuses a single {@link ByteLine}, so {@link #line()} is only valid until the next call to {@link #next()}.
+ */
+public final class ChannelLineCursor {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    
+    private final ReadableByteChannel channel;
+    private final ByteLine            line     = new ByteLine();
+    private       ByteBuffer          buffer   = ByteBuffer.allocate(INITIAL_CAPACITY).limit(0);
+    private       int                 position;
+    private       boolean             endOfInput;
+    
+    public ChannelLineCursor(final ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+    
+    /**
+     * Advances to the next line, reading more of the channel if needed.
+     *
+     * @return Whether there is a next line
+     */
+    public boolean next() throws IOException {
+        var end = position;
+        while (true) {
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end < buffer.limit() || endOfInput) {
+                break;
+            }
+            // The line continues past the buffered bytes, keep its start and read more
+            end -= position;
+            fill();
+            end += position;
+        }
+        
+        if (end == position && endOfInput && end == buffer.limit()) {
+            return false;
+        }
+        
+        final var lineEnd = end > position && buffer.get(end - 1) == '\r' ? end - 1 : end;
+        line.set(buffer, position, lineEnd - position);
+        position = Math.min(end + 1, buffer.limit());
+        return true;
+    }
+    
+    public ByteLine line() {
+        return line;
+    }
+    
+    // Moves the unread bytes to the front (growing the buffer if it is full of them) and reads after them
+    private void fill() throws IOException {
+        final var unread = buffer.limit() - position;
+        if (unread == buffer.capacity()) {
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.position(position)).flip();
+        } else {
+            buffer.position(position).compact().flip();
+        }
+        position = 0;
+        
+        buffer.position(buffer.limit()).limit(buffer.capacity());
+        final var read = channel.read(buffer);
+        buffer.flip().position(0);
+        endOfInput = read == -1;
+    }
+}
@@ -0,0 +1,47 @@
+package util;
+
+/**
+ * The coordinate based access shared by the heap {@link Grid} and the {@link OffHeapGrid}, so a day written against
+ * it runs on both. Index based access differs (int versus long indices) and is only offered by the grids themselves.
+ */
+public interface CharGrid {
+    int width();
+    
+    int height();
+    
+    boolean contains(final int x, final int y);
+    
+    boolean contains(final Point point);
+    
+    char get(final int x, final int y);
+    
+    char get(final Point point);
+    
+    char getOrDefault(final int x, final int y, final char outside);
+    
+    char getOrDefault(final Point point, final char outside);
+    
+    void set(final int x, final int y, final char value);
+    
+    void set(final Point point, final char value);
+    
+    /**
+     * @return The number of cells in the row with the value
+     */
+    int countInRow(final int y, final char value);
+    
+    /**
+     * @return A view on the row, changes to the grid are visible in it
+     */
+    CharSequence row(final int y);
+    
+    /**
+     * @return A view on the column, changes to the grid are visible in it
+     */
+    CharSequence column(final int x);
+    
+    /**
+     * @return An independent copy with the same backend
+     */
+    CharGrid copy();
+}
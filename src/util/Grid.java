@@ -0,0 +1,271 @@
+package util;
+
+import util.simd.ByteScan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A dense, rectangular grid of characters, stored row by row in a single byte array (the puzzle inputs are ASCII).
+ * Cells are addressed either by x and y, which is bounds-checked, or by their int index (y * width + x), which is
+ * not. Index based access, together with {@link #offset(Point.Direction)}, is meant for the inner loops.
+ * <p>
+ * Grids with more cells than an array can hold are an {@link OffHeapGrid} instead.
+ */
+public final class Grid implements CharGrid {
+    private final byte[] cells;
+    private final int    width;
+    private final int    height;
+    
+    public Grid(final int width, final int height) {
+        this(new byte[Math.multiplyExact(width, height)], width, height);
+    }
+    
+    private Grid(final byte[] cells, final int width, final int height) {
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+    }
+    
+    /**
+     * Creates a grid from the lines of an input, all lines must have the same length.
+     */
+    public static Grid parse(final List<? extends CharSequence> lines) {
+        final var height = lines.size();
+        final var width  = height == 0 ? 0 : lines.getFirst().length();
+        final var grid   = new Grid(width, height);
+        
+        for (var y = 0; y < height; y++) {
+            final var line = lines.get(y);
+            if (line.length() != width) {
+                throw new IllegalArgumentException("Line %d has length %d, expected %d".formatted(y,
+                                                                                                 line.length(),
+                                                                                                 width));
+            }
+            for (var x = 0; x < width; x++) {
+                grid.cells[y * width + x] = (byte) line.charAt(x);
+            }
+        }
+        
+        return grid;
+    }
+    
+    @Override
+    public int width() {
+        return width;
+    }
+    
+    @Override
+    public int height() {
+        return height;
+    }
+    
+    public int size() {
+        return cells.length;
+    }
+    
+    public int index(final int x, final int y) {
+        return y * width + x;
+    }
+    
+    public int x(final int index) {
+        return index % width;
+    }
+    
+    public int y(final int index) {
+        return index / width;
+    }
+    
+    @Override
+    public boolean contains(final int x, final int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+    
+    @Override
+    public boolean contains(final Point point) {
+        return point.x() >= 0 && point.x() < width && point.y() >= 0 && point.y() < height;
+    }
+    
+    @Override
+    public char get(final int x, final int y) {
+        return get(checkedIndex(x, y));
+    }
+    
+    @Override
+    public char get(final Point point) {
+        return get(checkedIndex(point));
+    }
+    
+    /**
+     * @return The cell at the index, the index is not checked against width and height
+     */
+    public char get(final int index) {
+        return (char) (cells[index] & 0xFF);
+    }
+    
+    @Override
+    public char getOrDefault(final int x, final int y, final char outside) {
+        return contains(x, y) ? get(index(x, y)) : outside;
+    }
+    
+    @Override
+    public char getOrDefault(final Point point, final char outside) {
+        return contains(point) ? get((int) point.x(), (int) point.y()) : outside;
+    }
+    
+    @Override
+    public void set(final int x, final int y, final char value) {
+        set(checkedIndex(x, y), value);
+    }
+    
+    @Override
+    public void set(final Point point, final char value) {
+        set(checkedIndex(point), value);
+    }
+    
+    /**
+     * Sets the cell at the index, the index is not checked against width and height.
+     */
+    public void set(final int index, final char value) {
+        cells[index] = (byte) value;
+    }
+    
+    /**
+     * @return The index of the first cell with the value, or -1
+     */
+    public int indexOf(final char value) {
+        return ByteScan.indexOf(cells, 0, cells.length, (byte) value);
+    }
+    
+    public int count(final char value) {
+        return ByteScan.count(cells, 0, cells.length, (byte) value);
+    }
+    
+    @Override
+    public int countInRow(final int y, final char value) {
+        Objects.checkIndex(y, height);
+        return ByteScan.count(cells, y * width, (y + 1) * width, (byte) value);
+    }
+    
+    /**
+     * @return The difference between the index of a cell and the index of its neighbor in the direction
+     */
+    public int offset(final Point.Direction direction) {
+        return switch (direction) {
+            case N -> -width;
+            case E -> 1;
+            case S -> width;
+            case W -> -1;
+        };
+    }
+    
+    /**
+     * @return Whether the neighbor of the cell at the index in the direction is inside the grid
+     */
+    public boolean canMove(final int index, final Point.Direction direction) {
+        return switch (direction) {
+            case N -> index >= width;
+            case E -> index % width < width - 1;
+            case S -> index < cells.length - width;
+            case W -> index % width > 0;
+        };
+    }
+    
+    /**
+     * @return A view on the row, changes to the grid are visible in it
+     */
+    @Override
+    public CharSequence row(final int y) {
+        Objects.checkIndex(y, height);
+        return new View(y * width, 1, width);
+    }
+    
+    /**
+     * @return A view on the column, changes to the grid are visible in it
+     */
+    @Override
+    public CharSequence column(final int x) {
+        Objects.checkIndex(x, width);
+        return new View(x, width, height);
+    }
+    
+    @Override
+    public Grid copy() {
+        return new Grid(cells.clone(), width, height);
+    }
+    
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof final Grid other &&
+               width == other.width &&
+               height == other.height &&
+               Arrays.equals(cells, other.cells);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * width + Arrays.hashCode(cells);
+    }
+    
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder(height * (width + 1));
+        for (var y = 0; y < height; y++) {
+            sb.append(row(y)).append('\n');
+        }
+        return sb.toString();
+    }
+    
+    private int checkedIndex(final int x, final int y) {
+        if (!contains(x, y)) {
+            throw new IndexOutOfBoundsException("(%d, %d) is outside of %dx%d".formatted(x, y, width, height));
+        }
+        return index(x, y);
+    }
+    
+    private int checkedIndex(final Point point) {
+        if (!contains(point)) {
+            throw new IndexOutOfBoundsException("%s is outside of %dx%d".formatted(point, width, height));
+        }
+        return index((int) point.x(), (int) point.y());
+    }
+    
+    // A row or column, every stride-th cell from start
+    private final class View implements CharSequence {
+        private final int start;
+        private final int stride;
+        private final int length;
+        
+        private View(final int start, final int stride, final int length) {
+            this.start = start;
+            this.stride = stride;
+            this.length = length;
+        }
+        
+        @Override
+        public int length() {
+            return length;
+        }
+        
+        @Override
+        public char charAt(final int index) {
+            return get(start + Objects.checkIndex(index, length) * stride);
+        }
+        
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new View(this.start + start * stride, stride, end - start);
+        }
+        
+        @Override
+        public String toString() {
+            final var sb = new StringBuilder(length);
+            for (var i = 0; i < length; i++) {
+                sb.append(charAt(i));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package util;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The unordered pairs of distinct indices 0 <= first < second < n, enumerated lazily: a pair is a long, first in the
+ * high and second in the low 32 bits, so streaming all n(n-1)/2 of them needs no memory beyond the stream itself.
+ * <p>
+ * The pairs are numbered row by row ((0, 1), (0, 2), ..., (1, 2), ...), and the spliterator splits that numbering
+ * in halves, unranking the middle pair in constant time. A parallel stream therefore gets parts of equal size, even
+ * though the rows get shorter.
+ */
+public final class IndexPairs {
+    private IndexPairs() {
+        // Utility
+    }
+    
+    /**
+     * @return The number of pairs of n indices
+     */
+    public static long count(final int n) {
+        checkSize(n);
+        return (long) n * (n - 1) / 2;
+    }
+    
+    public static Spliterator.OfLong spliterator(final int n) {
+        return new PairSpliterator(n, 0, count(n));
+    }
+    
+    public static LongStream stream(final int n, final boolean parallel) {
+        return StreamSupport.longStream(spliterator(n), parallel);
+    }
+    
+    public static int first(final long pair) {
+        return (int) (pair >>> 32);
+    }
+    
+    public static int second(final long pair) {
+        return (int) pair;
+    }
+    
+    /**
+     * Sums the function over all pairs of n indices, in parallel.
+     */
+    public static long sum(final int n, final PairToLongFunction function) {
+        return stream(n, true).map(pair -> function.applyAsLong(first(pair), second(pair))).sum();
+    }
+    
+    private static void checkSize(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative size: " + n);
+        }
+    }
+    
+    @FunctionalInterface
+    public interface PairToLongFunction {
+        long applyAsLong(int first, int second);
+    }
+    
+    private static final class PairSpliterator implements Spliterator.OfLong {
+        // Parts smaller than this are not worth another task
+        private static final long MIN_SPLIT = 1 << 10;
+        
+        private final int  n;
+        private final long end;
+        private       long rank;
+        private       int  first;
+        private       int  second;
+        
+        private PairSpliterator(final int n, final long rank, final long end) {
+            this.n = n;
+            this.end = end;
+            moveTo(rank);
+        }
+        
+        // Row i starts at rank i * (2n - i - 1) / 2, so the row of a rank is the smaller root of that quadratic. The
+        // double only estimates it, the exact row is found among its neighbours.
+        private void moveTo(final long newRank) {
+            rank = newRank;
+            if (newRank >= end) {
+                return;
+            }
+            
+            final var b   = 2.0 * n - 1;
+            var       row = (int) Math.max(0, Math.min(n - 2, (b - Math.sqrt(b * b - 8.0 * newRank)) / 2));
+            while (row > 0 && rowStart(row) > newRank) {
+                row--;
+            }
+            while (row < n - 2 && rowStart(row + 1) <= newRank) {
+                row++;
+            }
+            first = row;
+            second = (int) (row + 1 + newRank - rowStart(row));
+        }
+        
+        private long rowStart(final int row) {
+            return (long) row * (2L * n - row - 1) / 2;
+        }
+        
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (rank >= end) {
+                return false;
+            }
+            action.accept((long) first << 32 | second);
+            rank++;
+            if (++second == n) {
+                first++;
+                second = first + 1;
+            }
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(final LongConsumer action) {
+            var remaining = end - rank;
+            var i         = first;
+            var j         = second;
+            while (remaining > 0) {
+                // The rest of the row, or of the part if it ends within the row
+                final var last = (int) Math.min(n, j + remaining);
+                remaining -= last - j;
+                for (; j < last; j++) {
+                    action.accept((long) i << 32 | j);
+                }
+                i++;
+                j = i + 1;
+            }
+            rank = end;
+        }
+        
+        @Override
+        public Spliterator.OfLong trySplit() {
+            final var size = end - rank;
+            if (size < MIN_SPLIT) {
+                return null;
+            }
+            final var middle = rank + size / 2;
+            final var prefix = new PairSpliterator(n, rank, middle);
+            moveTo(middle);
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return end - rank;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable FIFO queue of primitive ints, as a ring buffer, the breadth-first counterpart of {@link LongStack}.
+ */
+public final class IntQueue {
+    private int[] elements;
+    private int   head;
+    private int   size;
+    
+    public IntQueue() {
+        this(16);
+    }
+    
+    public IntQueue(final int initialCapacity) {
+        elements = new int[Math.max(1, initialCapacity)];
+    }
+    
+    public void add(final int element) {
+        if (size == elements.length) {
+            // Unrolls the ring, so the elements are in order from index 0
+            final var grown = new int[elements.length * 2];
+            final var tail  = elements.length - head;
+            System.arraycopy(elements, head, grown, 0, tail);
+            System.arraycopy(elements, 0, grown, tail, head);
+            elements = grown;
+            head = 0;
+        }
+        elements[(head + size++) % elements.length] = element;
+    }
+    
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        final var element = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+        return element;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+    
+    @Override
+    public String toString() {
+        final var values = new int[size];
+        for (var i = 0; i < size; i++) {
+            values[i] = elements[(head + i) % elements.length];
+        }
+        return Arrays.toString(values);
+    }
+}
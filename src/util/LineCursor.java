@@ -0,0 +1,54 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Iterates over the lines of a {@link MappedInput}. Line breaks are "\n" or "\r\n", a trailing line break does not
+ * start another line (like {@link java.nio.file.Files#readAllLines(java.nio.file.Path)}).
+ * <p>
+ * The cursor reuses a single {@link ByteLine}, so {@link #line()} is only valid until the next call to {@link #next()}.
+ */
+public final class LineCursor {
+    private final List<ByteBuffer> regions;
+    private final ByteLine         line = new ByteLine();
+    private       int              region;
+    private       int              position;
+    
+    LineCursor(final List<ByteBuffer> regions) {
+        this.regions = regions;
+    }
+    
+    /**
+     * Advances to the next line.
+     *
+     * @return Whether there is a next line
+     */
+    public boolean next() {
+        while (region < regions.size()) {
+            final var buffer = regions.get(region);
+            final var limit  = buffer.limit();
+            
+            if (position < limit) {
+                var end = position;
+                while (end < limit && buffer.get(end) != '\n') {
+                    end++;
+                }
+                
+                final var lineEnd = end > position && buffer.get(end - 1) == '\r' ? end - 1 : end;
+                line.set(buffer, position, lineEnd - position);
+                position = end + 1;
+                return true;
+            }
+            
+            region++;
+            position = 0;
+        }
+        
+        return false;
+    }
+    
+    public ByteLine line() {
+        return line;
+    }
+}
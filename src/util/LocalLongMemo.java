@@ -0,0 +1,88 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * The {@link LongMemo} of a single thread. Every entry carries the epoch it was stored in, so {@link #clear()} just
+ * starts a new epoch instead of wiping the table, which makes a large memo cheap to reuse for many small tasks.
+ */
+final class LocalLongMemo implements LongMemo {
+    private final long[] keys;
+    private final long[] values;
+    private final int[]  weights;
+    private final int[]  epochs;
+    private final int    mask;
+    private       int    epoch = 1;
+    private       long   hits;
+    private       long   misses;
+    private       long   evictions;
+    
+    LocalLongMemo(final int capacity) {
+        final var buckets = LongHashing.bucketsFor(capacity);
+        keys = new long[buckets * 2];
+        values = new long[buckets * 2];
+        weights = new int[buckets * 2];
+        epochs = new int[buckets * 2];
+        mask = buckets - 1;
+    }
+    
+    @Override
+    public long getOrDefault(final long key, final long defaultValue) {
+        final var first = LongHashing.slot(key, mask) * 2;
+        for (var slot = first; slot < first + 2; slot++) {
+            if (epochs[slot] == epoch && keys[slot] == key) {
+                hits++;
+                return values[slot];
+            }
+        }
+        misses++;
+        return defaultValue;
+    }
+    
+    @Override
+    public void put(final long key, final long value, final int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + weight);
+        }
+        
+        final var first = LongHashing.slot(key, mask) * 2;
+        var       slot  = -1;
+        for (var candidate = first; candidate < first + 2 && slot < 0; candidate++) {
+            if (epochs[candidate] != epoch || keys[candidate] == key) {
+                slot = candidate;
+            }
+        }
+        if (slot < 0) {
+            // Both are taken by other keys, the second one loses a tie since it is usually the younger one
+            slot = weights[first] < weights[first + 1] ? first : first + 1;
+            evictions++;
+        }
+        
+        keys[slot] = key;
+        values[slot] = value;
+        weights[slot] = weight;
+        epochs[slot] = epoch;
+    }
+    
+    @Override
+    public void clear() {
+        if (++epoch == 0) {
+            // After 2^32 clears the old epochs come around again, this is the only time the table is wiped
+            Arrays.fill(epochs, 0);
+            epoch = 1;
+        }
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+    
+    @Override
+    public int capacity() {
+        return keys.length;
+    }
+    
+    @Override
+    public MemoStats stats() {
+        return new MemoStats(hits, misses, evictions);
+    }
+}
@@ -0,0 +1,83 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A set of the longs in 0 until its size, one bit each, e.g. of the cells of an {@link OffHeapGrid}. Unlike
+ * {@link java.util.BitSet} (int indices) and the hash sets (at most 2^29 keys), it holds up to 2^37 values, at a
+ * fixed eighth of a byte per value.
+ * <p>
+ * The set keeps a bit per block of 64 words that marks the block as written, so clearing a set that holds few values
+ * (e.g. one search of many on a large grid) only clears the blocks written instead of the whole set.
+ */
+public final class LongBitSet {
+    // The largest array most JVMs can allocate
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+    // The words per dirty bit
+    private static final int  BLOCK     = 64;
+    
+    private final long[] words;
+    // Bit b of dirty[d] marks block d * 64 + b (its words from (d * 64 + b) * BLOCK on) as written since the clear
+    private final long[] dirty;
+    private final long   size;
+    private       long   cardinality;
+    
+    public LongBitSet(final long size) {
+        if (size < 0 || Math.ceilDiv(size, Long.SIZE) > MAX_WORDS) {
+            throw new IllegalArgumentException("Size must be in [0, %d]: %d".formatted(MAX_WORDS * Long.SIZE, size));
+        }
+        this.words = new long[(int) Math.ceilDiv(size, Long.SIZE)];
+        this.dirty = new long[Math.ceilDiv(words.length, BLOCK * Long.SIZE)];
+        this.size = size;
+    }
+    
+    /**
+     * @return Whether the value was not yet in the set
+     */
+    public boolean add(final long value) {
+        Objects.checkIndex(value, size);
+        final var word = (int) (value >>> 6);
+        final var bit  = 1L << value;
+        final var bits = words[word];
+        if ((bits & bit) != 0) {
+            return false;
+        }
+        if (bits == 0) {
+            dirty[word / (BLOCK * Long.SIZE)] |= 1L << word / BLOCK;
+        }
+        words[word] = bits | bit;
+        cardinality++;
+        return true;
+    }
+    
+    public boolean contains(final long value) {
+        Objects.checkIndex(value, size);
+        return (words[(int) (value >>> 6)] & 1L << value) != 0;
+    }
+    
+    /**
+     * @return The number of values in the set
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+    
+    /**
+     * @return The number of values the set can hold, the values are 0 until the size
+     */
+    public long size() {
+        return size;
+    }
+    
+    public void clear() {
+        for (var d = 0; d < dirty.length; d++) {
+            for (var blocks = dirty[d]; blocks != 0; blocks &= blocks - 1) {
+                final var from = (d * Long.SIZE + Long.numberOfTrailingZeros(blocks)) * BLOCK;
+                Arrays.fill(words, from, Math.min(from + BLOCK, words.length), 0);
+            }
+            dirty[d] = 0;
+        }
+        cardinality = 0;
+    }
+}
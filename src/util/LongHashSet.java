@@ -0,0 +1,169 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A hash set of primitive longs, without boxing, e.g. for coordinates packed with {@link Point#pack(int, int)}.
+ */
+public final class LongHashSet {
+    private long[]  keys;
+    private int     mask;
+    private int     size;
+    private boolean hasZero;
+    
+    public LongHashSet() {
+        this(LongHashing.MIN_CAPACITY);
+    }
+    
+    public LongHashSet(final int expectedSize) {
+        keys = new long[LongHashing.capacityFor(expectedSize)];
+        mask = keys.length - 1;
+    }
+    
+    /**
+     * @return Whether the key was not yet in the set
+     */
+    public boolean add(final long key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        
+        var slot = LongHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+    
+    public boolean contains(final long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        
+        var slot = LongHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+    
+    /**
+     * @return Whether the key was in the set
+     */
+    public boolean remove(final long key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        
+        var slot = LongHashing.slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        // Move the following keys of the probe sequence back, so no lookup stops early at the freed slot
+        var gap  = slot;
+        var next = (gap + 1) & mask;
+        while (keys[next] != 0) {
+            if (LongHashing.canShift(LongHashing.slot(keys[next], mask), gap, next, mask)) {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Removes all keys, but keeps the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+    
+    public void forEach(final LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (final var key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+    
+    public long[] toArray() {
+        return toArray(new long[size]);
+    }
+    
+    /**
+     * Copies the keys to the start of the array if it can hold them, so a loop over the keys of many sets can reuse
+     * one array.
+     *
+     * @return The array, or a new one if it is too small
+     */
+    public long[] toArray(final long[] reuse) {
+        final var array = reuse.length >= size ? reuse : new long[size];
+        var       i     = 0;
+        if (hasZero) {
+            array[i++] = 0;
+        }
+        for (final var key : keys) {
+            if (key != 0) {
+                array[i++] = key;
+            }
+        }
+        return array;
+    }
+    
+    private void rehash(final int capacity) {
+        final var oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        
+        for (final var key : oldKeys) {
+            if (key != 0) {
+                var slot = LongHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
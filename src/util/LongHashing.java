@@ -0,0 +1,65 @@
+package util;
+
+/**
+ * Shared sizing and hashing of the open addressing long collections. Tables are powers of two, kept at most half
+ * full, and probed linearly. The key 0 marks a free slot, so the collections keep the key 0 itself out of the table.
+ * The {@link LongMemo} tables use the same hashing, but fixed buckets of two entries instead of probing.
+ */
+final class LongHashing {
+    static final int MIN_CAPACITY = 16;
+    
+    private LongHashing() {
+        // Utility
+    }
+    
+    /**
+     * @return The table capacity that holds the number of keys without resizing
+     */
+    static int capacityFor(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedSize);
+        }
+        if (expectedSize > 1 << 29) {
+            throw new IllegalArgumentException("Too many keys: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+    }
+    
+    /**
+     * @return The number of buckets of two entries of a {@link LongMemo} that hold the capacity, a power of two
+     */
+    static int bucketsFor(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (capacity > 1 << 28) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(capacity - 1) << 1) / 2;
+    }
+    
+    /**
+     * Packed coordinates differ mostly in the low bits of each half, so the key is mixed (the finalizer of
+     * SplitMix64) before it is masked to a slot.
+     */
+    static int slot(final long key, final int mask) {
+        return (int) mix(key) & mask;
+    }
+    
+    /**
+     * @return The key with every bit depending on all bits of it, a bijection, so distinct keys stay distinct
+     */
+    static long mix(final long key) {
+        var h = key;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+    
+    /**
+     * @return Whether the key at slot 'next', with its ideal slot 'ideal', may be moved back to the free slot 'gap'
+     */
+    static boolean canShift(final int ideal, final int gap, final int next, final int mask) {
+        return ((next - ideal) & mask) >= ((next - gap) & mask);
+    }
+}
@@ -0,0 +1,171 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive longs to ints, without boxing, e.g. the best distance per packed coordinate.
+ */
+public final class LongIntHashMap {
+    private long[]  keys;
+    private int[]   values;
+    private int     mask;
+    private int     size;
+    private boolean hasZero;
+    private int     zeroValue;
+    
+    public LongIntHashMap() {
+        this(LongHashing.MIN_CAPACITY);
+    }
+    
+    public LongIntHashMap(final int expectedSize) {
+        final var capacity = LongHashing.capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    public int getOrDefault(final long key, final int defaultValue) {
+        if (key == 0) {
+            return hasZero ? zeroValue : defaultValue;
+        }
+        
+        final var slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+    
+    public boolean containsKey(final long key) {
+        return key == 0 ? hasZero : find(key) >= 0;
+    }
+    
+    public void put(final long key, final int value) {
+        if (key == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        
+        var slot = LongHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+    
+    /**
+     * Adds the delta to the value of the key, a missing key counts as 0.
+     *
+     * @return The new value
+     */
+    public int addTo(final long key, final int delta) {
+        final var value = getOrDefault(key, 0) + delta;
+        put(key, value);
+        return value;
+    }
+    
+    /**
+     * @return Whether the key was in the map
+     */
+    public boolean remove(final long key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        
+        final var slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        
+        var gap  = slot;
+        var next = (gap + 1) & mask;
+        while (keys[next] != 0) {
+            if (LongHashing.canShift(LongHashing.slot(keys[next], mask), gap, next, mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Removes all entries, but keeps the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+    
+    public void forEach(final EntryConsumer action) {
+        if (hasZero) {
+            action.accept(0, zeroValue);
+        }
+        for (var slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+    
+    private int find(final long key) {
+        var slot = LongHashing.slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+    
+    private void rehash(final int capacity) {
+        final var oldKeys   = keys;
+        final var oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        
+        for (var i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                var slot = LongHashing.slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,69 @@
+package util;
+
+/**
+ * A bounded memo table of long results by primitive long keys, for recursive solvers whose state packs into a long
+ * (e.g. a position and a count). It is a cache, not a map: it holds at most its capacity of entries, and a new entry
+ * may evict an older one, which then just has to be computed again. Memory therefore stays bounded however many
+ * states a search visits.
+ * <p>
+ * Entries live in buckets of two. When both are taken, the entry with the lower weight is evicted, so a solver can
+ * keep its expensive results (e.g. those of large subproblems) by giving them a higher weight.
+ * <p>
+ * A {@link #local local} memo belongs to a single task, usually acquired from a {@link Scratch} and cleared in
+ * constant time between tasks.
+ */
+public interface LongMemo {
+    /**
+     * @return A memo for one thread, of at least the given capacity
+     */
+    static LongMemo local(final int capacity) {
+        return new LocalLongMemo(capacity);
+    }
+    
+    /**
+     * Looks the key up and counts a hit or a miss.
+     *
+     * @return The memoized value, or the default if the key was never stored or has been evicted
+     */
+    long getOrDefault(long key, long defaultValue);
+    
+    default void put(final long key, final long value) {
+        put(key, value, 0);
+    }
+    
+    /**
+     * @param weight The cost of recomputing the value, not negative, the lighter of two colliding entries is evicted
+     */
+    void put(long key, long value, int weight);
+    
+    /**
+     * Removes all entries and resets the statistics, so the next task starts with an empty memo.
+     */
+    void clear();
+    
+    /**
+     * @return The maximum number of entries
+     */
+    int capacity();
+    
+    /**
+     * @return The hits, misses and evictions since the last {@link #clear()}
+     */
+    MemoStats stats();
+    
+    /**
+     * @param hits      Lookups that found their key
+     * @param misses    Lookups that did not find their key
+     * @param evictions Entries that had to make room for another one
+     */
+    record MemoStats(long hits, long misses, long evictions) {
+        public double hitRate() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+        
+        @Override
+        public String toString() {
+            return "hits=%d, misses=%d, evictions=%d (%.1f%% hits)".formatted(hits, misses, evictions, 100 * hitRate());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable stack of primitive longs, the work list counterpart of {@link LongHashSet}.
+ */
+public final class LongStack {
+    private long[] elements;
+    private int    size;
+    
+    public LongStack() {
+        this(16);
+    }
+    
+    public LongStack(final int initialCapacity) {
+        elements = new long[Math.max(1, initialCapacity)];
+    }
+    
+    public void push(final long element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[size++] = element;
+    }
+    
+    public long pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return elements[--size];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+}
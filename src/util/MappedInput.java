@@ -0,0 +1,82 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A puzzle input mapped into memory instead of being decoded into a list of strings. Lines are read through a
+ * {@link LineCursor}, which hands out {@link ByteLine} views on the mapped bytes without copying them.
+ * <p>
+ * A single mapping is limited to {@link Integer#MAX_VALUE} bytes, so larger files are mapped as several regions. Each
+ * region ends after a line break, no line spans two regions.
+ */
+public final class MappedInput {
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+    
+    private final List<ByteBuffer> regions;
+    private final long             size;
+    
+    private MappedInput(final List<ByteBuffer> regions, final long size) {
+        this.regions = regions;
+        this.size = size;
+    }
+    
+    public static MappedInput map(final Path path) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size     = channel.size();
+            final var regions  = new ArrayList<ByteBuffer>();
+            var       position = 0L;
+            
+            while (position < size) {
+                final var length = Math.min(MAX_REGION_SIZE, size - position);
+                final var region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                var       limit  = (int) length;
+                
+                // Cut all but the last region after their last line break
+                if (position + length < size) {
+                    while (limit > 0 && region.get(limit - 1) != '\n') {
+                        limit--;
+                    }
+                    if (limit == 0) {
+                        throw new IOException("Line longer than %d bytes in %s".formatted(MAX_REGION_SIZE, path));
+                    }
+                }
+                
+                regions.add(region.slice(0, limit));
+                position += limit;
+            }
+            
+            // The mapping stays valid after the channel is closed
+            return new MappedInput(regions, size);
+        }
+    }
+    
+    /**
+     * @return A new cursor positioned before the first line
+     */
+    public LineCursor cursor() {
+        return new LineCursor(regions);
+    }
+    
+    /**
+     * Decodes all lines into strings, for solvers that still take a {@code List<String>}. The result is the same as
+     * {@link java.nio.file.Files#readAllLines(Path)} for the (ASCII) puzzle inputs.
+     */
+    public List<String> toLines() {
+        final var lines  = new ArrayList<String>();
+        final var cursor = cursor();
+        while (cursor.next()) {
+            lines.add(cursor.line().toString());
+        }
+        return lines;
+    }
+    
+    public long size() {
+        return size;
+    }
+}
@@ -1,15 +1,254 @@
 package util;
 
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+/**
+ * Number theory on longs that fails loudly instead of overflowing: the long variants throw an
+ * {@link ArithmeticException} if a result (or an intermediate one) does not fit, the BigInteger variants are exact.
+ */
 public class MathUtil {
     private MathUtil() {
         // Utility
     }
     
+    /**
+     * @return The greatest common divisor, never negative, gcd(0, 0) is 0
+     * @throws ArithmeticException If it is 2^63, i.e. both are {@link Long#MIN_VALUE} or 0
+     */
     public static long gcd(final long a, final long b) {
-        return b == 0 ? a : gcd(b, a % b);
+        var x = a;
+        var y = b;
+        while (y != 0) {
+            final var remainder = x % y;
+            x = y;
+            y = remainder;
+        }
+        return Math.absExact(x);
     }
     
+    /**
+     * @return The least common multiple, never negative, 0 if either is 0
+     * @throws ArithmeticException If it does not fit into a long
+     */
     public static long lcm(final long a, final long b) {
-        return (a * b) / gcd(a, b);
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        // Dividing first keeps the intermediate result as small as the result
+        return Math.absExact(Math.multiplyExact(a / gcd(a, b), b));
+    }
+    
+    public static long gcd(final LongStream values) {
+        return values.reduce(0, MathUtil::gcd);
+    }
+    
+    /**
+     * @return The least common multiple of all values, 1 for none, e.g. of the cycle lengths that must align
+     * @throws ArithmeticException If it does not fit into a long, see {@link #bigLcm} for those
+     */
+    public static long lcm(final LongStream values) {
+        return values.reduce(1, MathUtil::lcm);
+    }
+    
+    /**
+     * @return The least common multiple of all values, 1 for none, however large it gets
+     */
+    public static BigInteger bigLcm(final LongStream values) {
+        return values.mapToObj(BigInteger::valueOf).reduce(BigInteger.ONE, (a, b) -> {
+            if (a.signum() == 0 || b.signum() == 0) {
+                return BigInteger.ZERO;
+            }
+            return a.divide(a.gcd(b)).multiply(b).abs();
+        });
+    }
+    
+    /**
+     * Solves the system x ≡ remainder (mod modulus) of all congruences, whose moduli need not be coprime, by
+     * combining them pairwise.
+     *
+     * @return The smallest non-negative solution, with the least common multiple of the moduli as its modulus, or
+     * empty if the congruences contradict each other
+     * @throws ArithmeticException If the combined modulus does not fit into a long
+     */
+    public static Optional<Congruence> crt(final Congruence... congruences) {
+        var combined = new Congruence(0, 1);
+        for (final var congruence : congruences) {
+            final var next = combine(combined, congruence);
+            if (next.isEmpty()) {
+                return Optional.empty();
+            }
+            combined = next.get();
+        }
+        return Optional.of(combined);
+    }
+    
+    // x = r1 + m1 * k solves the second congruence iff m1 * k ≡ r2 - r1 (mod m2), which needs gcd(m1, m2) to divide
+    // r2 - r1, and then k ≡ (r2 - r1) / g * inverse(m1 / g) (mod m2 / g). The products are done on BigIntegers.
+    private static Optional<Congruence> combine(final Congruence first, final Congruence second) {
+        final var m1         = BigInteger.valueOf(first.modulus());
+        final var m2         = BigInteger.valueOf(second.modulus());
+        final var g          = m1.gcd(m2);
+        final var difference = BigInteger.valueOf(second.remainder()).subtract(BigInteger.valueOf(first.remainder()));
+        if (difference.mod(g).signum() != 0) {
+            return Optional.empty();
+        }
+        
+        final var m2g     = m2.divide(g);
+        final var k       = difference.divide(g).multiply(m1.divide(g).modInverse(m2g)).mod(m2g);
+        final var modulus = m1.multiply(m2g);
+        final var x       = BigInteger.valueOf(first.remainder()).add(m1.multiply(k)).mod(modulus);
+        return Optional.of(new Congruence(x.longValueExact(), modulus.longValueExact()));
+    }
+    
+    /**
+     * @return The largest r with r * r <= n
+     */
+    public static long isqrt(final long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative square: " + n);
+        }
+        
+        // The double is off by at most one for large n, comparing with divisions cannot overflow
+        var root = (long) Math.sqrt(n);
+        while (root > 0 && root > n / root) {
+            root--;
+        }
+        while (root + 1 <= n / (root + 1)) {
+            root++;
+        }
+        return root;
+    }
+    
+    /**
+     * @return The largest r with r * r <= n
+     */
+    public static BigInteger isqrt(final BigInteger n) {
+        if (n.signum() < 0) {
+            throw new IllegalArgumentException("Negative square: " + n);
+        }
+        return n.sqrt();
+    }
+    
+    /**
+     * Evaluates the polynomial of the lowest degree through the values at 0, 1, 2, ..., at x (which may be anywhere,
+     * e.g. -1 or far beyond the samples). Uses Newton's forward differences: f(x) is the sum of the first difference
+     * of every level times binomial(x, level), and the levels stop once one is all zero.
+     *
+     * @throws ArithmeticException If the result does not fit into a long (intermediate ones may)
+     */
+    public static long extrapolate(final long[] values, final long x) {
+        try {
+            return extrapolateExact(values.clone(), x);
+        } catch (final ArithmeticException e) {
+            return extrapolateBig(values, x).longValueExact();
+        }
+    }
+    
+    private static long extrapolateExact(final long[] differences, final long x) {
+        var length   = differences.length;
+        var result   = 0L;
+        var binomial = 1L;
+        
+        for (var level = 0; !allZero(differences, length); level++) {
+            result = Math.addExact(result, Math.multiplyExact(differences[0], binomial));
+            
+            for (var i = 0; i < length - 1; i++) {
+                differences[i] = Math.subtractExact(differences[i + 1], differences[i]);
+            }
+            length--;
+            // binomial(x, level + 1) = binomial(x, level) * (x - level) / (level + 1), always divisible
+            binomial = Math.multiplyExact(binomial, Math.subtractExact(x, level)) / (level + 1);
+        }
+        
+        return result;
+    }
+    
+    private static BigInteger extrapolateBig(final long[] values, final long x) {
+        final var differences = new BigInteger[values.length];
+        for (var i = 0; i < values.length; i++) {
+            differences[i] = BigInteger.valueOf(values[i]);
+        }
+        
+        var result   = BigInteger.ZERO;
+        var binomial = BigInteger.ONE;
+        for (var level = 0; level < values.length; level++) {
+            result = result.add(differences[0].multiply(binomial));
+            for (var i = 0; i < values.length - level - 1; i++) {
+                differences[i] = differences[i + 1].subtract(differences[i]);
+            }
+            binomial = binomial.multiply(BigInteger.valueOf(x).subtract(BigInteger.valueOf(level)))
+                               .divide(BigInteger.valueOf(level + 1));
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Evaluates the polynomial of the lowest degree through the points (xs[i], ys[i]) at x, by Lagrange's formula on
+     * exact fractions, for samples that are not evenly spaced.
+     *
+     * @throws IllegalArgumentException If two xs are equal
+     * @throws ArithmeticException      If the value at x is not an integer or does not fit into a long
+     */
+    public static long interpolate(final long[] xs, final long[] ys, final long x) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("%d xs but %d ys".formatted(xs.length, ys.length));
+        }
+        
+        final var at    = BigInteger.valueOf(x);
+        final var bigXs = LongStream.of(xs).mapToObj(BigInteger::valueOf).toArray(BigInteger[]::new);
+        
+        // The sum of ys[i] * product((x - xs[j]) / (xs[i] - xs[j])) as one fraction
+        var numerator   = BigInteger.ZERO;
+        var denominator = BigInteger.ONE;
+        for (var i = 0; i < xs.length; i++) {
+            var termNumerator   = BigInteger.valueOf(ys[i]);
+            var termDenominator = BigInteger.ONE;
+            for (var j = 0; j < xs.length; j++) {
+                if (j != i) {
+                    if (xs[i] == xs[j]) {
+                        throw new IllegalArgumentException("Duplicate x: " + xs[i]);
+                    }
+                    termNumerator = termNumerator.multiply(at.subtract(bigXs[j]));
+                    termDenominator = termDenominator.multiply(bigXs[i].subtract(bigXs[j]));
+                }
+            }
+            numerator = numerator.multiply(termDenominator).add(termNumerator.multiply(denominator));
+            denominator = denominator.multiply(termDenominator);
+        }
+        
+        final var quotient = numerator.divideAndRemainder(denominator);
+        if (quotient[1].signum() != 0) {
+            throw new ArithmeticException("Not an integer at %d: %s / %s".formatted(x, numerator, denominator));
+        }
+        return quotient[0].longValueExact();
+    }
+    
+    private static boolean allZero(final long[] values, final int length) {
+        for (var i = 0; i < length; i++) {
+            if (values[i] != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * x ≡ remainder (mod modulus)
+     *
+     * @param remainder In 0 until the modulus
+     * @param modulus   Positive
+     */
+    public record Congruence(long remainder, long modulus) {
+        public Congruence {
+            if (modulus < 1) {
+                throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+            }
+            if (remainder < 0 || remainder >= modulus) {
+                throw new IllegalArgumentException("Remainder %d not in [0, %d)".formatted(remainder, modulus));
+            }
+        }
     }
 }
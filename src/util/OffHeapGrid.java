@@ -0,0 +1,386 @@
+package util;
+
+import util.simd.ByteScan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A dense, rectangular grid of characters outside the heap, for grids with more cells than a single Java array can
+ * hold. It has the same API as {@link Grid}, except that indices (y * width + x) and sizes are longs.
+ * <p>
+ * The rows are stored in tiles of at most {@value #MAX_TILE_SIZE} bytes, each a direct or mapped {@link ByteBuffer}
+ * holding whole rows, so no row spans two tiles. A grid mapped from an input file keeps the line breaks of the file
+ * between its rows, so the file is used as it is, without copying. The memory is freed once the grid is unreachable,
+ * like that of any direct buffer.
+ */
+public final class OffHeapGrid implements CharGrid {
+    private static final int MAX_TILE_SIZE = 1 << 30;
+    
+    private final ByteBuffer[] tiles;
+    private final int          width;
+    private final int          height;
+    // Bytes per row, the width plus the line break of mapped grids
+    private final int          stride;
+    private final int          rowsPerTile;
+    
+    private OffHeapGrid(final ByteBuffer[] tiles, final int width, final int height, final int stride) {
+        this.tiles = tiles;
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.rowsPerTile = rowsPerTile(stride);
+    }
+    
+    public static OffHeapGrid allocate(final int width, final int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Negative size %dx%d".formatted(width, height));
+        }
+        
+        final var rowsPerTile = rowsPerTile(width);
+        final var tiles       = new ByteBuffer[Math.ceilDiv(height, rowsPerTile)];
+        for (var tile = 0; tile < tiles.length; tile++) {
+            final var rows = Math.min(rowsPerTile, height - tile * rowsPerTile);
+            tiles[tile] = ByteBuffer.allocateDirect(rows * width);
+        }
+        return new OffHeapGrid(tiles, width, height, width);
+    }
+    
+    /**
+     * Creates a grid from the lines of an input, all lines must have the same length.
+     */
+    public static OffHeapGrid parse(final List<? extends CharSequence> lines) {
+        final var height = lines.size();
+        final var width  = height == 0 ? 0 : lines.getFirst().length();
+        final var grid   = allocate(width, height);
+        
+        for (var y = 0; y < height; y++) {
+            final var line = lines.get(y);
+            if (line.length() != width) {
+                throw new IllegalArgumentException("Line %d has length %d, expected %d".formatted(y,
+                                                                                                 line.length(),
+                                                                                                 width));
+            }
+            for (var x = 0; x < width; x++) {
+                grid.set(x, y, line.charAt(x));
+            }
+        }
+        
+        return grid;
+    }
+    
+    /**
+     * Maps an input file as a grid, all lines must have the same length and end with "\n" or "\r\n" (except for the
+     * last one). The mapping is read-only, setting a cell throws a {@link java.nio.ReadOnlyBufferException}, so
+     * {@link #copy()} the grid to change it.
+     */
+    public static OffHeapGrid map(final Path path) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size  = channel.size();
+            final var first = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Integer.MAX_VALUE));
+            
+            var width = 0;
+            while (width < first.limit() && first.get(width) != '\n') {
+                width++;
+            }
+            final var lineBreak = width < first.limit() ? (width > 0 && first.get(width - 1) == '\r' ? 2 : 1) : 0;
+            width -= lineBreak == 2 ? 1 : 0;
+            
+            final var stride = width + lineBreak;
+            if (stride == 0) {
+                return allocate(0, 0);
+            }
+            // The last line may lack its line break
+            final var height = Math.toIntExact(Math.ceilDiv(size, stride));
+            if ((long) (height - 1) * stride + width > size) {
+                throw new IllegalArgumentException("%s is not a grid of width %d".formatted(path, width));
+            }
+            
+            final var rowsPerTile = rowsPerTile(stride);
+            final var tiles       = new ByteBuffer[Math.ceilDiv(height, rowsPerTile)];
+            for (var tile = 0; tile < tiles.length; tile++) {
+                final var position = (long) tile * rowsPerTile * stride;
+                final var length   = Math.min((long) rowsPerTile * stride, size - position);
+                tiles[tile] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            }
+            
+            final var grid = new OffHeapGrid(tiles, width, height, stride);
+            for (var y = 0; y < height - 1; y++) {
+                if (grid.tileOf(y).get(grid.offsetOf(width, y) + lineBreak - 1) != '\n') {
+                    throw new IllegalArgumentException("Line %d of %s does not have length %d".formatted(y,
+                                                                                                         path,
+                                                                                                         width));
+                }
+            }
+            // The mapping stays valid after the channel is closed
+            return grid;
+        }
+    }
+    
+    @Override
+    public int width() {
+        return width;
+    }
+    
+    @Override
+    public int height() {
+        return height;
+    }
+    
+    public long size() {
+        return (long) width * height;
+    }
+    
+    public long index(final int x, final int y) {
+        return (long) y * width + x;
+    }
+    
+    public int x(final long index) {
+        return (int) (index % width);
+    }
+    
+    public int y(final long index) {
+        return (int) (index / width);
+    }
+    
+    @Override
+    public boolean contains(final int x, final int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+    
+    @Override
+    public boolean contains(final Point point) {
+        return point.x() >= 0 && point.x() < width && point.y() >= 0 && point.y() < height;
+    }
+    
+    @Override
+    public char get(final int x, final int y) {
+        checkContains(x, y);
+        return cell(x, y);
+    }
+    
+    @Override
+    public char get(final Point point) {
+        checkContains(point);
+        return cell((int) point.x(), (int) point.y());
+    }
+    
+    /**
+     * @return The cell at the index, the index is not checked against width and height
+     */
+    public char get(final long index) {
+        return cell(x(index), y(index));
+    }
+    
+    @Override
+    public char getOrDefault(final int x, final int y, final char outside) {
+        return contains(x, y) ? cell(x, y) : outside;
+    }
+    
+    @Override
+    public char getOrDefault(final Point point, final char outside) {
+        return contains(point) ? cell((int) point.x(), (int) point.y()) : outside;
+    }
+    
+    @Override
+    public void set(final int x, final int y, final char value) {
+        checkContains(x, y);
+        tileOf(y).put(offsetOf(x, y), (byte) value);
+    }
+    
+    @Override
+    public void set(final Point point, final char value) {
+        checkContains(point);
+        tileOf((int) point.y()).put(offsetOf((int) point.x(), (int) point.y()), (byte) value);
+    }
+    
+    /**
+     * Sets the cell at the index, the index is not checked against width and height.
+     */
+    public void set(final long index, final char value) {
+        final var y = y(index);
+        tileOf(y).put(offsetOf(x(index), y), (byte) value);
+    }
+    
+    /**
+     * @return The index of the first cell with the value, or -1
+     */
+    public long indexOf(final char value) {
+        for (var y = 0; y < height; y++) {
+            final var offset = offsetOf(0, y);
+            final var found  = ByteScan.indexOf(tileOf(y), offset, offset + width, (byte) value);
+            if (found != -1) {
+                return index(found - offset, y);
+            }
+        }
+        return -1;
+    }
+    
+    public long count(final char value) {
+        var count = 0L;
+        for (var y = 0; y < height; y++) {
+            count += countInRow(y, value);
+        }
+        return count;
+    }
+    
+    @Override
+    public int countInRow(final int y, final char value) {
+        Objects.checkIndex(y, height);
+        final var offset = offsetOf(0, y);
+        return ByteScan.count(tileOf(y), offset, offset + width, (byte) value);
+    }
+    
+    /**
+     * @return The difference between the index of a cell and the index of its neighbor in the direction
+     */
+    public long offset(final Point.Direction direction) {
+        return switch (direction) {
+            case N -> -width;
+            case E -> 1;
+            case S -> width;
+            case W -> -1;
+        };
+    }
+    
+    /**
+     * @return Whether the neighbor of the cell at the index in the direction is inside the grid
+     */
+    public boolean canMove(final long index, final Point.Direction direction) {
+        return switch (direction) {
+            case N -> index >= width;
+            case E -> index % width < width - 1;
+            case S -> index < size() - width;
+            case W -> index % width > 0;
+        };
+    }
+    
+    @Override
+    public CharSequence row(final int y) {
+        Objects.checkIndex(y, height);
+        return new View(index(0, y), 1, width);
+    }
+    
+    @Override
+    public CharSequence column(final int x) {
+        Objects.checkIndex(x, width);
+        return new View(x, width, height);
+    }
+    
+    /**
+     * @return A copy in newly allocated memory, also of a mapped grid
+     */
+    @Override
+    public OffHeapGrid copy() {
+        final var copies = new ByteBuffer[tiles.length];
+        for (var tile = 0; tile < tiles.length; tile++) {
+            copies[tile] = ByteBuffer.allocateDirect(tiles[tile].limit()).put(0, tiles[tile], 0, tiles[tile].limit());
+        }
+        return new OffHeapGrid(copies, width, height, stride);
+    }
+    
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof final OffHeapGrid other) || width != other.width || height != other.height) {
+            return false;
+        }
+        for (var y = 0; y < height; y++) {
+            final var row      = tileOf(y).slice(offsetOf(0, y), width);
+            final var otherRow = other.tileOf(y).slice(other.offsetOf(0, y), width);
+            if (!row.equals(otherRow)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        var hash = 31 * width;
+        for (var y = 0; y < height; y++) {
+            hash = 31 * hash + tileOf(y).slice(offsetOf(0, y), width).hashCode();
+        }
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder(Math.toIntExact((long) height * (width + 1)));
+        for (var y = 0; y < height; y++) {
+            sb.append(row(y)).append('\n');
+        }
+        return sb.toString();
+    }
+    
+    // As many whole rows as fit into a tile, but at least one
+    private static int rowsPerTile(final int stride) {
+        return stride == 0 ? 1 : Math.max(1, MAX_TILE_SIZE / stride);
+    }
+    
+    private char cell(final int x, final int y) {
+        return (char) (tileOf(y).get(offsetOf(x, y)) & 0xFF);
+    }
+    
+    private ByteBuffer tileOf(final int y) {
+        return tiles[y / rowsPerTile];
+    }
+    
+    private int offsetOf(final int x, final int y) {
+        return y % rowsPerTile * stride + x;
+    }
+    
+    private void checkContains(final int x, final int y) {
+        if (!contains(x, y)) {
+            throw new IndexOutOfBoundsException("(%d, %d) is outside of %dx%d".formatted(x, y, width, height));
+        }
+    }
+    
+    private void checkContains(final Point point) {
+        if (!contains(point)) {
+            throw new IndexOutOfBoundsException("%s is outside of %dx%d".formatted(point, width, height));
+        }
+    }
+    
+    // A row or column, every stride-th cell from start
+    private final class View implements CharSequence {
+        private final long start;
+        private final long stride;
+        private final int  length;
+        
+        private View(final long start, final long stride, final int length) {
+            this.start = start;
+            this.stride = stride;
+            this.length = length;
+        }
+        
+        @Override
+        public int length() {
+            return length;
+        }
+        
+        @Override
+        public char charAt(final int index) {
+            return get(start + Objects.checkIndex(index, length) * stride);
+        }
+        
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new View(this.start + start * stride, stride, end - start);
+        }
+        
+        @Override
+        public String toString() {
+            final var sb = new StringBuilder(length);
+            for (var i = 0; i < length; i++) {
+                sb.append(charAt(i));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -2,12 +2,16 @@ package util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public record Pair<T>(T first, T second){
     public static <T> Pair<T> pair(final T first, final T second) {
         return new Pair<>(first, second);
     }
     
+    /**
+     * Materializes all n(n-1)/2 pairs, prefer {@link #pairs} for anything but small lists.
+     */
     public static <T> List<Pair<T>> pairsFromList(final List<T> list) {
         final var pairs = new ArrayList<Pair<T>>();
         for (var i = 0; i < list.size(); i++) {
@@ -18,6 +22,14 @@ public record Pair<T>(T first, T second){
         return pairs;
     }
     
+    /**
+     * @return The same pairs as {@link #pairsFromList}, created lazily, see {@link IndexPairs}
+     */
+    public static <T> Stream<Pair<T>> pairs(final List<T> list, final boolean parallel) {
+        return IndexPairs.stream(list.size(), parallel)
+                         .mapToObj(pair -> pair(list.get(IndexPairs.first(pair)), list.get(IndexPairs.second(pair))));
+    }
+    
     public static <T> Pair<T> reverse(final Pair<T> pair) {
         return pair(pair.second(), pair.first());
     }
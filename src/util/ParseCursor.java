@@ -0,0 +1,220 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Reads the numbers and literals of a line in place, instead of splitting it into substrings and parsing those. The
+ * cursor reads a {@link CharSequence} (e.g. a String or a {@link ByteLine}) or a range of a byte buffer, one ASCII
+ * char per byte, and allocates nothing but its error messages. It can be {@link #reset} to the next line, so a
+ * parser needs a single cursor for a whole input.
+ * <p>
+ * The numbers skip whatever separates them, so "1,0,1~1,2,1" and "19, 13, 30 @ -2,  1, -2" are just six numbers in
+ * a row. Text that belongs to the format can still be checked with {@link #expect}.
+ */
+public final class ParseCursor {
+    private static final long MULTIPLY_LIMIT = Long.MIN_VALUE / 10;
+    
+    private CharSequence chars;
+    private ByteBuffer   bytes;
+    private int          start;
+    private int          position;
+    private int          end;
+    
+    public ParseCursor() {
+        // Reset before use
+    }
+    
+    public ParseCursor(final CharSequence chars) {
+        reset(chars);
+    }
+    
+    public ParseCursor reset(final CharSequence chars) {
+        this.chars = chars;
+        this.bytes = null;
+        this.start = 0;
+        this.position = 0;
+        this.end = chars.length();
+        return this;
+    }
+    
+    /**
+     * Reads the bytes from (inclusive) until to (exclusive), the positions of the cursor are those in the buffer.
+     */
+    public ParseCursor reset(final ByteBuffer bytes, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, bytes.limit());
+        this.chars = null;
+        this.bytes = bytes;
+        this.start = from;
+        this.position = from;
+        this.end = to;
+        return this;
+    }
+    
+    public int position() {
+        return position;
+    }
+    
+    public boolean atEnd() {
+        return position >= end;
+    }
+    
+    /**
+     * @return The char at the cursor, or -1 at the end
+     */
+    public int peek() {
+        return atEnd() ? -1 : charAt(position);
+    }
+    
+    public ParseCursor skipSpaces() {
+        while (position < end && charAt(position) == ' ') {
+            position++;
+        }
+        return this;
+    }
+    
+    /**
+     * Moves behind the next occurrence of the char.
+     *
+     * @throws IllegalArgumentException If the rest of the line does not contain it
+     */
+    public ParseCursor skipPast(final char c) {
+        for (var i = position; i < end; i++) {
+            if (charAt(i) == c) {
+                position = i + 1;
+                return this;
+            }
+        }
+        throw new IllegalArgumentException("No '%c' after %d in: %s".formatted(c, position, text()));
+    }
+    
+    /**
+     * Moves behind the literal if the line continues with it.
+     *
+     * @return Whether it did
+     */
+    public boolean tryLiteral(final CharSequence literal) {
+        final var length = literal.length();
+        if (end - position < length) {
+            return false;
+        }
+        for (var i = 0; i < length; i++) {
+            if (charAt(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += length;
+        return true;
+    }
+    
+    /**
+     * Moves behind the literal, which the line must continue with.
+     *
+     * @throws IllegalArgumentException If it does not
+     */
+    public ParseCursor expect(final CharSequence literal) {
+        if (!tryLiteral(literal)) {
+            throw new IllegalArgumentException("Expected \"%s\" at %d in: %s".formatted(literal, position, text()));
+        }
+        return this;
+    }
+    
+    /**
+     * @return Whether the rest of the line contains another number
+     */
+    public boolean hasNextNumber() {
+        return nextNumberStart(position) != -1;
+    }
+    
+    /**
+     * @return The count of the numbers in the rest of the line, e.g. to size an array before reading them
+     */
+    public int countNumbers() {
+        var count = 0;
+        var i     = nextNumberStart(position);
+        while (i != -1) {
+            count++;
+            i++;
+            while (i < end && isDigit(charAt(i))) {
+                i++;
+            }
+            i = nextNumberStart(i);
+        }
+        return count;
+    }
+    
+    /**
+     * @see #nextLong()
+     */
+    public int nextInt() {
+        final var first = nextNumberStart(position);
+        final var value = readNumber(first);
+        if ((int) value != value) {
+            throw new IllegalArgumentException("Not an int at %d in: %s".formatted(first, text()));
+        }
+        return (int) value;
+    }
+    
+    /**
+     * Skips to the next number, a '-' directly before its digits makes it negative, and moves behind it.
+     *
+     * @throws IllegalArgumentException If the rest of the line contains no number, or it does not fit into a long
+     */
+    public long nextLong() {
+        return readNumber(nextNumberStart(position));
+    }
+    
+    private long readNumber(final int first) {
+        if (first == -1) {
+            throw new IllegalArgumentException("No number after %d in: %s".formatted(position, text()));
+        }
+        
+        final var negative = charAt(first) == '-';
+        var       i        = negative ? first + 1 : first;
+        // Accumulated negatively, as Long.MIN_VALUE has no positive counterpart
+        var result = 0L;
+        while (i < end && isDigit(charAt(i))) {
+            final var digit = charAt(i) - '0';
+            if (result < MULTIPLY_LIMIT || result * 10 < Long.MIN_VALUE + digit) {
+                throw new IllegalArgumentException("Not a long at %d in: %s".formatted(first, text()));
+            }
+            result = result * 10 - digit;
+            i++;
+        }
+        
+        if (!negative && result == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Not a long at %d in: %s".formatted(first, text()));
+        }
+        position = i;
+        return negative ? result : -result;
+    }
+    
+    private int nextNumberStart(final int from) {
+        for (var i = from; i < end; i++) {
+            final var c = charAt(i);
+            if (isDigit(c) || c == '-' && i + 1 < end && isDigit(charAt(i + 1))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private char charAt(final int index) {
+        return bytes != null ? (char) (bytes.get(index) & 0xFF) : chars.charAt(index);
+    }
+    
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    // Only for error messages, so it may allocate
+    private String text() {
+        if (bytes == null) {
+            return chars.toString();
+        }
+        final var array = new byte[end - start];
+        bytes.get(start, array);
+        return new String(array, StandardCharsets.ISO_8859_1);
+    }
+}
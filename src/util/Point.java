@@ -2,12 +2,104 @@ package util;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 public record Point(long x, long y) {
+    // Offsets of the cells around a point, in the same order as adjacent() and neighbors()
+    private static final int[] ADJACENT_X  = {-1, 0, 0, 1};
+    private static final int[] ADJACENT_Y  = {0, -1, 1, 0};
+    private static final int[] NEIGHBORS_X = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] NEIGHBORS_Y = {-1, 0, 1, -1, 1, -1, 0, 1};
+    
     public Point() {
         this(0, 0);
     }
     
+    /**
+     * Packs a coordinate into one long, x in the high and y in the low 32 bits. Packed coordinates can be kept in
+     * {@link LongHashSet} and friends, and moved with {@link #movePacked(long, Direction)}, without allocating.
+     */
+    public static long pack(final int x, final int y) {
+        return (long) x << 32 | y & 0xFFFFFFFFL;
+    }
+    
+    public static int packedX(final long packed) {
+        return (int) (packed >> 32);
+    }
+    
+    public static int packedY(final long packed) {
+        return (int) packed;
+    }
+    
+    public static Point unpack(final long packed) {
+        return new Point(packedX(packed), packedY(packed));
+    }
+    
+    public static long movePacked(final long packed, final Direction direction) {
+        final var x = packedX(packed);
+        final var y = packedY(packed);
+        return pack(x + direction.dx(), y + direction.dy());
+    }
+    
+    /**
+     * Calls the action for each of the 4 adjacent cells, like {@link #adjacent()} but without allocating.
+     */
+    public static void forEachAdjacent(final int x, final int y, final CoordinateConsumer action) {
+        for (var i = 0; i < ADJACENT_X.length; i++) {
+            action.accept(x + ADJACENT_X[i], y + ADJACENT_Y[i]);
+        }
+    }
+    
+    /**
+     * Calls the action for each of the adjacent cells within 0 <= x < width and 0 <= y < height.
+     */
+    public static void forEachAdjacent(
+            final int x, final int y, final int width, final int height, final CoordinateConsumer action
+    ) {
+        for (var i = 0; i < ADJACENT_X.length; i++) {
+            final var adjacentX = x + ADJACENT_X[i];
+            final var adjacentY = y + ADJACENT_Y[i];
+            if (adjacentX >= 0 && adjacentX < width && adjacentY >= 0 && adjacentY < height) {
+                action.accept(adjacentX, adjacentY);
+            }
+        }
+    }
+    
+    /**
+     * Calls the action for each of the 4 adjacent cells of a packed point, with the packed adjacent cell.
+     */
+    public static void forEachAdjacent(final long packed, final LongConsumer action) {
+        final var x = packedX(packed);
+        final var y = packedY(packed);
+        for (var i = 0; i < ADJACENT_X.length; i++) {
+            action.accept(pack(x + ADJACENT_X[i], y + ADJACENT_Y[i]));
+        }
+    }
+    
+    /**
+     * Calls the action for each of the 8 surrounding cells, like {@link #neighbors()} but without allocating.
+     */
+    public static void forEachNeighbor(final int x, final int y, final CoordinateConsumer action) {
+        for (var i = 0; i < NEIGHBORS_X.length; i++) {
+            action.accept(x + NEIGHBORS_X[i], y + NEIGHBORS_Y[i]);
+        }
+    }
+    
+    /**
+     * Calls the action for each of the surrounding cells within 0 <= x < width and 0 <= y < height.
+     */
+    public static void forEachNeighbor(
+            final int x, final int y, final int width, final int height, final CoordinateConsumer action
+    ) {
+        for (var i = 0; i < NEIGHBORS_X.length; i++) {
+            final var neighborX = x + NEIGHBORS_X[i];
+            final var neighborY = y + NEIGHBORS_Y[i];
+            if (neighborX >= 0 && neighborX < width && neighborY >= 0 && neighborY < height) {
+                action.accept(neighborX, neighborY);
+            }
+        }
+    }
+    
     public static long manhattanDistance(final Point a, final Point b) {
         return a.manhattanDistance(b);
     }
@@ -38,6 +130,13 @@ public record Point(long x, long y) {
         );
     }
     
+    /**
+     * @throws ArithmeticException If a coordinate does not fit in an int
+     */
+    public long pack() {
+        return pack(Math.toIntExact(x), Math.toIntExact(y));
+    }
+    
     public long manhattanDistance(final Point other) {
         return Math.abs(x - other.x) + Math.abs(y - other.y);
     }
@@ -110,12 +209,20 @@ public record Point(long x, long y) {
     }
     
     public enum Direction {
-        N,
-        E,
-        S,
-        W,
+        N(0, -1),
+        E(1, 0),
+        S(0, 1),
+        W(-1, 0),
         ;
         
+        private final int dx;
+        private final int dy;
+        
+        Direction(final int dx, final int dy) {
+            this.dx = dx;
+            this.dy = dy;
+        }
+        
         public static Direction from(final String s) {
             return switch (s) {
                 case "U" -> N;
@@ -126,6 +233,14 @@ public record Point(long x, long y) {
             };
         }
         
+        public int dx() {
+            return dx;
+        }
+        
+        public int dy() {
+            return dy;
+        }
+        
         public Direction opposite() {
             return switch (this) {
                 case N -> S;
@@ -135,4 +250,9 @@ public record Point(long x, long y) {
             };
         }
     }
+    
+    @FunctionalInterface
+    public interface CoordinateConsumer {
+        void accept(int x, int y);
+    }
 }
@@ -0,0 +1,61 @@
+package util;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A per-thread scratch object, e.g. the work list, seen set or memo table of a search, that is reset and reused by
+ * every call on the same thread instead of being allocated anew. A batch of inputs solved by a few threads then
+ * allocates the scratch objects once per thread, not once per input (or per search).
+ * <p>
+ * Every {@link #acquire()} must be paired with a {@link #release} in a finally block. A nested acquire on the same
+ * thread (e.g. a fork/join worker running another task while it waits) gets a fresh object, so a scratch object is
+ * never shared. Virtual threads are usually short-lived, so they rarely profit from the reuse.
+ */
+public final class Scratch<T> {
+    private final Supplier<T>          factory;
+    private final Consumer<T>          reset;
+    private final ThreadLocal<Slot<T>> slots;
+    
+    /**
+     * @param factory Creates a new scratch object
+     * @param reset   Clears a released scratch object for its reuse, it should keep the capacity but drop references
+     */
+    public Scratch(final Supplier<T> factory, final Consumer<T> reset) {
+        this.factory = factory;
+        this.reset = reset;
+        this.slots = ThreadLocal.withInitial(() -> new Slot<>(factory.get()));
+    }
+    
+    /**
+     * @return The cleared scratch object of this thread, or a new one if it is already in use
+     */
+    public T acquire() {
+        final var slot = slots.get();
+        if (slot.inUse) {
+            return factory.get();
+        }
+        slot.inUse = true;
+        return slot.value;
+    }
+    
+    /**
+     * Clears the scratch object and hands it back for reuse by the next call on this thread.
+     */
+    public void release(final T value) {
+        final var slot = slots.get();
+        if (slot.value == value) {
+            reset.accept(value);
+            slot.inUse = false;
+        }
+    }
+    
+    private static final class Slot<T> {
+        private final T       value;
+        private       boolean inUse;
+        
+        private Slot(final T value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package util;
 
+import util.simd.ByteScan;
+
+import java.util.List;
+
 public class StringUtil {
     private StringUtil() {
         // Utility
@@ -23,4 +27,54 @@ public class StringUtil {
         
         return difference;
     }
+    
+    /**
+     * Like {@link #difference(String, String)}, for lines as (ASCII) bytes, which are compared 8 at a time.
+     */
+    public static int difference(final byte[] a, final byte[] b) {
+        final var minLength = Math.min(a.length, b.length);
+        return Math.abs(a.length - b.length) + ByteScan.mismatches(a, 0, b, 0, minLength);
+    }
+    
+    /**
+     * Like {@link #difference(String, String)}, but stops counting as soon as the difference is above the limit, e.g.
+     * once a required similarity cannot be reached anymore.
+     *
+     * @return The difference if it is at most the limit, otherwise some number above the limit
+     */
+    public static int difference(final String a, final String b, final int limit) {
+        final var minLength = Math.min(a.length(), b.length());
+        
+        var difference = Math.abs(a.length() - b.length());
+        for (var i = 0; i < minLength && difference <= limit; i++) {
+            difference += a.charAt(i) != b.charAt(i) ? 1 : 0;
+        }
+        
+        return difference;
+    }
+    
+    /**
+     * Like {@link #difference(String, String, int)}, for lines as (ASCII) bytes, which are compared 8 at a time.
+     */
+    public static int difference(final byte[] a, final byte[] b, final int limit) {
+        final var minLength  = Math.min(a.length, b.length);
+        final var difference = Math.abs(a.length - b.length);
+        if (difference > limit) {
+            return difference;
+        }
+        return difference + ByteScan.mismatches(a, 0, b, 0, minLength, limit - difference);
+    }
+    
+    /**
+     * Compares one line with many, each bounded by the limit.
+     *
+     * @return The difference to every other line, in their order, see {@link #difference(String, String, int)}
+     */
+    public static int[] differences(final String line, final List<String> others, final int limit) {
+        final var differences = new int[others.size()];
+        for (var i = 0; i < differences.length; i++) {
+            differences[i] = difference(line, others.get(i), limit);
+        }
+        return differences;
+    }
 }
@@ -0,0 +1,170 @@
+package util.graph;
+
+import java.util.Arrays;
+
+/**
+ * An immutable directed graph over the int ids 0 until {@link #vertices()}, in compressed sparse row form: the edges
+ * are sorted by their source vertex into one array of targets (and one of weights, if any), and the edges of a vertex
+ * are the slice from {@link #begin(int)} to {@link #end(int)}. Walking the neighbors of a vertex is a loop over a
+ * contiguous array range, without any object or hash lookup:
+ * <pre>{@code
+ * for (var edge = graph.begin(vertex); edge < graph.end(vertex); edge++) {
+ *     final var neighbor = graph.target(edge);
+ * }
+ * }</pre>
+ * The edges of a vertex keep the order in which they were added. Graphs are created with a {@link Builder}, an
+ * undirected edge is a pair of directed ones.
+ */
+public final class CsrGraph {
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    
+    private CsrGraph(final int[] offsets, final int[] targets, final int[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public int vertices() {
+        return offsets.length - 1;
+    }
+    
+    /**
+     * @return The number of directed edges
+     */
+    public int edges() {
+        return targets.length;
+    }
+    
+    /**
+     * @return The first edge of the vertex
+     */
+    public int begin(final int vertex) {
+        return offsets[vertex];
+    }
+    
+    /**
+     * @return The edge after the last edge of the vertex
+     */
+    public int end(final int vertex) {
+        return offsets[vertex + 1];
+    }
+    
+    public int degree(final int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+    
+    public int target(final int edge) {
+        return targets[edge];
+    }
+    
+    /**
+     * @return The weight of the edge, 1 if the graph has no weights
+     */
+    public int weight(final int edge) {
+        return weights == null ? 1 : weights[edge];
+    }
+    
+    public boolean isWeighted() {
+        return weights != null;
+    }
+    
+    /**
+     * @return A copy of the targets of all edges of the vertex
+     */
+    public int[] neighbors(final int vertex) {
+        return Arrays.copyOfRange(targets, offsets[vertex], offsets[vertex + 1]);
+    }
+    
+    /**
+     * Collects the edges in any order and sorts them by source once, when the graph is built. Vertices are created by
+     * the edges that reference them, or explicitly with {@link #vertices(int)} (e.g. for vertices without edges).
+     */
+    public static final class Builder {
+        private int     vertices;
+        private int     edges;
+        private int[]   sources  = new int[16];
+        private int[]   targets  = new int[16];
+        private int[]   weights  = new int[16];
+        private boolean weighted;
+        
+        private Builder() {
+            // Created by CsrGraph.builder()
+        }
+        
+        /**
+         * Makes sure the graph has at least the number of vertices.
+         */
+        public Builder vertices(final int count) {
+            vertices = Math.max(vertices, count);
+            return this;
+        }
+        
+        public Builder addEdge(final int source, final int target) {
+            return add(source, target, 1);
+        }
+        
+        public Builder addEdge(final int source, final int target, final int weight) {
+            weighted = true;
+            return add(source, target, weight);
+        }
+        
+        /**
+         * Adds the edge in both directions.
+         */
+        public Builder addUndirected(final int a, final int b) {
+            return add(a, b, 1).add(b, a, 1);
+        }
+        
+        public Builder addUndirected(final int a, final int b, final int weight) {
+            weighted = true;
+            return add(a, b, weight).add(b, a, weight);
+        }
+        
+        public CsrGraph build() {
+            // Counting sort by source, stable so the edges of a vertex keep their order
+            final var offsets = new int[vertices + 1];
+            for (var edge = 0; edge < edges; edge++) {
+                offsets[sources[edge] + 1]++;
+            }
+            for (var vertex = 0; vertex < vertices; vertex++) {
+                offsets[vertex + 1] += offsets[vertex];
+            }
+            
+            final var next          = Arrays.copyOf(offsets, vertices);
+            final var sortedTargets = new int[edges];
+            final var sortedWeights = weighted ? new int[edges] : null;
+            for (var edge = 0; edge < edges; edge++) {
+                final var position = next[sources[edge]]++;
+                sortedTargets[position] = targets[edge];
+                if (sortedWeights != null) {
+                    sortedWeights[position] = weights[edge];
+                }
+            }
+            
+            return new CsrGraph(offsets, sortedTargets, sortedWeights);
+        }
+        
+        private Builder add(final int source, final int target, final int weight) {
+            if (source < 0 || target < 0) {
+                throw new IllegalArgumentException("Negative vertex in edge %d -> %d".formatted(source, target));
+            }
+            if (edges == sources.length) {
+                sources = Arrays.copyOf(sources, edges * 2);
+                targets = Arrays.copyOf(targets, edges * 2);
+                weights = Arrays.copyOf(weights, edges * 2);
+            }
+            sources[edges] = source;
+            targets[edges] = target;
+            weights[edges] = weight;
+            edges++;
+            vertices = Math.max(vertices, Math.max(source, target) + 1);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package util.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the names of vertices (e.g. the node labels of an input) to dense int ids 0, 1, 2, ... in order of their first
+ * appearance, so the graph and all per-vertex state can be arrays indexed by id. Names are only looked up while
+ * parsing, traversals work on the ids.
+ *
+ * @param <T> The type of the names, usually String
+ */
+public final class Interner<T> {
+    private final Map<T, Integer> ids   = new HashMap<>();
+    private final List<T>         names = new ArrayList<>();
+    
+    /**
+     * @return The id of the name, a new one if it was not interned yet
+     */
+    public int intern(final T name) {
+        final var id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        ids.put(name, names.size());
+        names.add(name);
+        return names.size() - 1;
+    }
+    
+    /**
+     * @return The id of the name, or -1 if it was not interned
+     */
+    public int id(final T name) {
+        return ids.getOrDefault(name, -1);
+    }
+    
+    public T name(final int id) {
+        return names.get(id);
+    }
+    
+    /**
+     * @return The number of interned names, all ids are below it
+     */
+    public int size() {
+        return names.size();
+    }
+    
+    /**
+     * @return All names, in the order of their ids
+     */
+    public List<T> names() {
+        return List.copyOf(names);
+    }
+}
@@ -0,0 +1,78 @@
+package util.graph;
+
+/**
+ * Disjoint sets over the int ids 0 until n, with union by size and path halving, so both operations take nearly
+ * constant time. Every set is represented by one of its members, its root.
+ */
+public final class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+    private       int   sets;
+    
+    /**
+     * Creates n sets of one element each.
+     */
+    public UnionFind(final int n) {
+        parents = new int[n];
+        sizes = new int[n];
+        sets = n;
+        for (var i = 0; i < n; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+    }
+    
+    /**
+     * @return The root of the set of the element
+     */
+    public int find(final int element) {
+        var current = element;
+        while (parents[current] != current) {
+            // Path halving, every other node on the path skips to its grandparent
+            parents[current] = parents[parents[current]];
+            current = parents[current];
+        }
+        return current;
+    }
+    
+    /**
+     * Merges the sets of the two elements.
+     *
+     * @return Whether they were in different sets
+     */
+    public boolean union(final int a, final int b) {
+        var rootA = find(a);
+        var rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        
+        if (sizes[rootA] < sizes[rootB]) {
+            final var swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+        sets--;
+        return true;
+    }
+    
+    public boolean connected(final int a, final int b) {
+        return find(a) == find(b);
+    }
+    
+    /**
+     * @return The size of the set of the element
+     */
+    public int size(final int element) {
+        return sizes[find(element)];
+    }
+    
+    /**
+     * @return The number of disjoint sets
+     */
+    public int sets() {
+        return sets;
+    }
+}
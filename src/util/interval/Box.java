@@ -0,0 +1,106 @@
+package util.interval;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable axis-aligned box in any number of dimensions, one {@link Interval} per dimension. A box with an empty
+ * side is empty.
+ */
+public final class Box {
+    private final Interval[] sides;
+    
+    public Box(final Interval... sides) {
+        this.sides = sides.clone();
+    }
+    
+    /**
+     * @return The box with the same side in every dimension
+     */
+    public static Box cube(final int dimensions, final Interval side) {
+        final var sides = new Interval[dimensions];
+        Arrays.fill(sides, side);
+        return new Box(sides);
+    }
+    
+    public int dimensions() {
+        return sides.length;
+    }
+    
+    public Interval side(final int dimension) {
+        return sides[dimension];
+    }
+    
+    /**
+     * @return The box with the side of the dimension replaced
+     */
+    public Box with(final int dimension, final Interval side) {
+        final var newSides = sides.clone();
+        newSides[dimension] = side;
+        return new Box(newSides);
+    }
+    
+    public boolean isEmpty() {
+        for (final var side : sides) {
+            if (side.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public boolean contains(final long... point) {
+        checkDimensions(point.length);
+        for (var i = 0; i < sides.length; i++) {
+            if (!sides[i].contains(point[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @return The points in both boxes, empty if they do not overlap
+     */
+    public Box intersect(final Box other) {
+        checkDimensions(other.sides.length);
+        final var newSides = new Interval[sides.length];
+        for (var i = 0; i < sides.length; i++) {
+            newSides[i] = sides[i].intersect(other.sides[i]);
+        }
+        return new Box(newSides);
+    }
+    
+    /**
+     * @return The number of points in the box
+     * @throws ArithmeticException If it does not fit into a long
+     */
+    public long volume() {
+        var volume = 1L;
+        for (final var side : sides) {
+            volume = Math.multiplyExact(volume, side.length());
+        }
+        return volume;
+    }
+    
+    private void checkDimensions(final int dimensions) {
+        if (dimensions != sides.length) {
+            throw new IllegalArgumentException("Expected %d dimensions, got %d".formatted(sides.length, dimensions));
+        }
+    }
+    
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof final Box other && Arrays.equals(sides, other.sides);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(sides);
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.stream(sides).map(Interval::toString).collect(Collectors.joining(" x "));
+    }
+}
@@ -0,0 +1,79 @@
+package util.interval;
+
+/**
+ * The half-open range of longs from start (inclusive) until end (exclusive). An interval with start == end is empty,
+ * operations that can produce an empty interval (e.g. {@link #intersect}) return one that starts where the result
+ * would have started, so no special value is needed.
+ */
+public record Interval(long start, long end) {
+    public Interval {
+        if (end < start) {
+            throw new IllegalArgumentException("End %d is before start %d".formatted(end, start));
+        }
+    }
+    
+    /**
+     * @return The interval from first until last, both inclusive, as most puzzles state their ranges
+     */
+    public static Interval closed(final long first, final long last) {
+        return new Interval(first, last + 1);
+    }
+    
+    /**
+     * @return The interval of the length from start on
+     */
+    public static Interval ofLength(final long start, final long length) {
+        return new Interval(start, start + length);
+    }
+    
+    public long length() {
+        return end - start;
+    }
+    
+    public boolean isEmpty() {
+        return start == end;
+    }
+    
+    public boolean contains(final long value) {
+        return value >= start && value < end;
+    }
+    
+    public boolean overlaps(final Interval other) {
+        return start < other.end && other.start < end;
+    }
+    
+    /**
+     * @return The values in both intervals, empty if they do not overlap
+     */
+    public Interval intersect(final Interval other) {
+        final var newStart = Math.max(start, other.start);
+        final var newEnd   = Math.min(end, other.end);
+        return new Interval(newStart, Math.max(newStart, newEnd));
+    }
+    
+    /**
+     * @return The interval moved by delta
+     */
+    public Interval shift(final long delta) {
+        return new Interval(start + delta, end + delta);
+    }
+    
+    /**
+     * @return The values of this interval below the value, empty if there are none
+     */
+    public Interval below(final long value) {
+        return new Interval(start, Math.max(start, Math.min(end, value)));
+    }
+    
+    /**
+     * @return The values of this interval from the value on, empty if there are none
+     */
+    public Interval from(final long value) {
+        return new Interval(Math.min(end, Math.max(start, value)), end);
+    }
+    
+    @Override
+    public String toString() {
+        return "[%d, %d)".formatted(start, end);
+    }
+}
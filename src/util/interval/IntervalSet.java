@@ -0,0 +1,309 @@
+package util.interval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of longs, stored as its maximal intervals in two sorted primitive arrays. Overlapping or touching
+ * intervals are coalesced when the set is built, so two equal sets always have the same intervals.
+ * <p>
+ * Building a set of n intervals takes O(n log n), the set operations are a single merge over both sets, so millions
+ * of ranges can be pushed through them without the quadratic splitting of comparing every range with every other.
+ */
+public final class IntervalSet {
+    private static final IntervalSet EMPTY = new IntervalSet(new long[0], new long[0]);
+    
+    private final long[] starts;
+    private final long[] ends;
+    
+    private IntervalSet(final long[] starts, final long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+    
+    public static IntervalSet empty() {
+        return EMPTY;
+    }
+    
+    public static IntervalSet of(final Interval... intervals) {
+        return of(Arrays.asList(intervals));
+    }
+    
+    public static IntervalSet of(final Collection<Interval> intervals) {
+        final var builder = builder();
+        intervals.forEach(builder::add);
+        return builder.build();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * @return The number of maximal intervals
+     */
+    public int size() {
+        return starts.length;
+    }
+    
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+    
+    public Interval interval(final int index) {
+        return new Interval(starts[index], ends[index]);
+    }
+    
+    public List<Interval> intervals() {
+        final var intervals = new ArrayList<Interval>(starts.length);
+        for (var i = 0; i < starts.length; i++) {
+            intervals.add(interval(i));
+        }
+        return intervals;
+    }
+    
+    /**
+     * @return The smallest value of the set
+     * @throws NoSuchElementException If the set is empty
+     */
+    public long min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Set is empty");
+        }
+        return starts[0];
+    }
+    
+    /**
+     * @return The largest value of the set
+     * @throws NoSuchElementException If the set is empty
+     */
+    public long max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Set is empty");
+        }
+        return ends[ends.length - 1] - 1;
+    }
+    
+    /**
+     * @return The number of values in the set
+     */
+    public long cardinality() {
+        var cardinality = 0L;
+        for (var i = 0; i < starts.length; i++) {
+            cardinality += ends[i] - starts[i];
+        }
+        return cardinality;
+    }
+    
+    public boolean contains(final long value) {
+        // The last interval starting at or before the value is the only one that can contain it
+        final var index = Arrays.binarySearch(starts, value);
+        final var last  = index >= 0 ? index : -index - 2;
+        return last >= 0 && value < ends[last];
+    }
+    
+    public IntervalSet union(final IntervalSet other) {
+        return builder().addAll(this).addAll(other).build();
+    }
+    
+    public IntervalSet intersect(final Interval interval) {
+        return intersect(of(interval));
+    }
+    
+    public IntervalSet intersect(final IntervalSet other) {
+        final var result = new Merge(starts.length + other.starts.length);
+        var       i      = 0;
+        var       j      = 0;
+        while (i < starts.length && j < other.starts.length) {
+            result.add(Math.max(starts[i], other.starts[j]), Math.min(ends[i], other.ends[j]));
+            // The interval that ends first cannot overlap anything after the other one
+            if (ends[i] < other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result.toSet();
+    }
+    
+    public IntervalSet subtract(final Interval interval) {
+        return subtract(of(interval));
+    }
+    
+    public IntervalSet subtract(final IntervalSet other) {
+        final var result = new Merge(starts.length + other.starts.length);
+        var       j      = 0;
+        for (var i = 0; i < starts.length; i++) {
+            var current = starts[i];
+            while (j < other.starts.length && other.ends[j] <= current) {
+                j++;
+            }
+            // Only the last of the holes may reach into the next interval, so it is not skipped yet
+            for (var k = j; k < other.starts.length && other.starts[k] < ends[i]; k++) {
+                result.add(current, other.starts[k]);
+                current = Math.max(current, other.ends[k]);
+            }
+            result.add(current, ends[i]);
+        }
+        return result.toSet();
+    }
+    
+    /**
+     * @return The set with every value moved by delta
+     */
+    public IntervalSet shift(final long delta) {
+        final var newStarts = new long[starts.length];
+        final var newEnds   = new long[ends.length];
+        for (var i = 0; i < starts.length; i++) {
+            newStarts[i] = starts[i] + delta;
+            newEnds[i] = ends[i] + delta;
+        }
+        return new IntervalSet(newStarts, newEnds);
+    }
+    
+    /**
+     * Cuts the intervals of the set at every boundary, so no piece contains a boundary other than as its start. A
+     * piece therefore lies completely inside or outside of every range whose start and end are among the boundaries.
+     * Takes O(b log b + n log b + pieces).
+     *
+     * @return The pieces in ascending order
+     */
+    public List<Interval> split(final long... boundaries) {
+        final var sorted = boundaries.clone();
+        Arrays.sort(sorted);
+        
+        final var pieces = new ArrayList<Interval>(starts.length);
+        for (var i = 0; i < starts.length; i++) {
+            var current = starts[i];
+            // The first boundary after the start of the interval
+            var index = Arrays.binarySearch(sorted, current);
+            index = index >= 0 ? index + 1 : -index - 1;
+            for (; index < sorted.length && sorted[index] < ends[i]; index++) {
+                if (sorted[index] > current) {
+                    pieces.add(new Interval(current, sorted[index]));
+                    current = sorted[index];
+                }
+            }
+            pieces.add(new Interval(current, ends[i]));
+        }
+        return pieces;
+    }
+    
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof final IntervalSet other && Arrays.equals(starts, other.starts)
+               && Arrays.equals(ends, other.ends);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+    
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder("{");
+        for (var i = 0; i < starts.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(interval(i));
+        }
+        return sb.append('}').toString();
+    }
+    
+    /**
+     * Collects intervals in any order, overlapping or not, and coalesces them into a set.
+     */
+    public static final class Builder {
+        private long[] starts = new long[16];
+        private long[] ends   = new long[16];
+        private int    size;
+        
+        private Builder() {
+        }
+        
+        public Builder add(final long start, final long end) {
+            if (end < start) {
+                throw new IllegalArgumentException("End %d is before start %d".formatted(end, start));
+            }
+            if (start == end) {
+                return this;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            return this;
+        }
+        
+        public Builder add(final Interval interval) {
+            return add(interval.start(), interval.end());
+        }
+        
+        public Builder addAll(final IntervalSet set) {
+            for (var i = 0; i < set.starts.length; i++) {
+                add(set.starts[i], set.ends[i]);
+            }
+            return this;
+        }
+        
+        public IntervalSet build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            
+            // The union only depends on how many intervals cover a value, so the starts and the ends can be sorted
+            // on their own and swept like parentheses. Starts go first on a tie, to join touching intervals.
+            final var sortedStarts = Arrays.copyOf(starts, size);
+            final var sortedEnds   = Arrays.copyOf(ends, size);
+            Arrays.sort(sortedStarts);
+            Arrays.sort(sortedEnds);
+            
+            final var result = new Merge(size);
+            var       open   = 0;
+            var       start  = 0L;
+            var       j      = 0;
+            for (final var next : sortedStarts) {
+                while (sortedEnds[j] < next) {
+                    if (--open == 0) {
+                        result.add(start, sortedEnds[j]);
+                    }
+                    j++;
+                }
+                if (open++ == 0) {
+                    start = next;
+                }
+            }
+            result.add(start, sortedEnds[size - 1]);
+            return result.toSet();
+        }
+    }
+    
+    // Collects the ascending, disjoint intervals of an operation, skipping the empty ones
+    private static final class Merge {
+        private final long[] starts;
+        private final long[] ends;
+        private       int    size;
+        
+        private Merge(final int capacity) {
+            starts = new long[capacity];
+            ends = new long[capacity];
+        }
+        
+        private void add(final long start, final long end) {
+            if (start < end) {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        
+        private IntervalSet toSet() {
+            return size == 0 ? EMPTY : new IntervalSet(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+        }
+    }
+}
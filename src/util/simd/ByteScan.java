@@ -0,0 +1,217 @@
+package util.simd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Scans of ASCII bytes that test 8 bytes at once, as SIMD within a register (SWAR): a long is read from the buffer
+ * and all its bytes are compared with a few arithmetic and bitwise operations, without a branch per byte. The tail
+ * of a range that does not fill a long is scanned byte by byte.
+ * <p>
+ * The Vector API would use wider registers, but in JDK 21 it is an incubator module that needs
+ * {@code --add-modules jdk.incubator.vector} and prints a warning on every start. SWAR needs no flags and the JIT
+ * compiles the word reads to single loads. The scalar loops are used for all scans if the word reads are not
+ * supported or with {@code -Daoc.simd=false}, see {@link #enabled()}.
+ * <p>
+ * All indices are absolute positions in the buffer (like {@link ByteBuffer#get(int)}), its position and limit are
+ * neither used nor changed.
+ */
+public final class ByteScan {
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+                                                                                 ByteOrder.LITTLE_ENDIAN);
+    private static final long      ONES  = 0x0101010101010101L;
+    private static final long      HIGHS = 0x8080808080808080L;
+    private static final long      LOWS  = 0x7F7F7F7F7F7F7F7FL;
+    
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("aoc.simd", "true")) &&
+                                           supportsWordReads();
+    
+    private ByteScan() {
+        // Utility
+    }
+    
+    /**
+     * @return Whether the scans read 8 bytes at once, or fall back to the scalar loops
+     */
+    public static boolean enabled() {
+        return ENABLED;
+    }
+    
+    /**
+     * @return The index of the first byte with the value in [from, to), or -1
+     */
+    public static int indexOf(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        var i = from;
+        if (ENABLED) {
+            final var pattern = ONES * (value & 0xFF);
+            for (; i + Long.BYTES <= to; i += Long.BYTES) {
+                final var matches = zeroBytes(word(buffer, i) ^ pattern);
+                if (matches != 0) {
+                    return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return The number of bytes with the value in [from, to)
+     */
+    public static int count(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        var count = 0;
+        var i     = from;
+        if (ENABLED) {
+            final var pattern = ONES * (value & 0xFF);
+            for (; i + Long.BYTES <= to; i += Long.BYTES) {
+                count += Long.bitCount(zeroBytes(word(buffer, i) ^ pattern));
+            }
+        }
+        for (; i < to; i++) {
+            count += buffer.get(i) == value ? 1 : 0;
+        }
+        return count;
+    }
+    
+    /**
+     * @return The number of positions in [0, length) at which the bytes of the two ranges differ
+     */
+    public static int mismatches(final ByteBuffer a, final int aFrom, final ByteBuffer b, final int bFrom,
+                                 final int length) {
+        var count = 0;
+        var i     = 0;
+        if (ENABLED) {
+            for (; i + Long.BYTES <= length; i += Long.BYTES) {
+                count += Long.bitCount(nonZeroBytes(word(a, aFrom + i) ^ word(b, bFrom + i)));
+            }
+        }
+        for (; i < length; i++) {
+            count += a.get(aFrom + i) != b.get(bFrom + i) ? 1 : 0;
+        }
+        return count;
+    }
+    
+    /**
+     * Like {@link #mismatches(ByteBuffer, int, ByteBuffer, int, int)}, but stops as soon as more than the limit of
+     * positions differ.
+     *
+     * @return The number of differing positions if it is at most the limit, otherwise some number above the limit
+     */
+    public static int mismatches(final ByteBuffer a, final int aFrom, final ByteBuffer b, final int bFrom,
+                                 final int length, final int limit) {
+        var count = 0;
+        var i     = 0;
+        if (ENABLED) {
+            for (; i + Long.BYTES <= length && count <= limit; i += Long.BYTES) {
+                count += Long.bitCount(nonZeroBytes(word(a, aFrom + i) ^ word(b, bFrom + i)));
+            }
+        }
+        for (; i < length && count <= limit; i++) {
+            count += a.get(aFrom + i) != b.get(bFrom + i) ? 1 : 0;
+        }
+        return count;
+    }
+    
+    /**
+     * @return The index of the first ASCII digit in [from, to), or -1
+     */
+    public static int indexOfDigit(final ByteBuffer buffer, final int from, final int to) {
+        var i = from;
+        if (ENABLED) {
+            for (; i + Long.BYTES <= to; i += Long.BYTES) {
+                final var digits = digitBytes(word(buffer, i));
+                if (digits != 0) {
+                    return i + (Long.numberOfTrailingZeros(digits) >>> 3);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (isDigit(buffer.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return The index of the last ASCII digit in [from, to), or -1
+     */
+    public static int lastIndexOfDigit(final ByteBuffer buffer, final int from, final int to) {
+        var i = to;
+        if (ENABLED) {
+            for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+                final var digits = digitBytes(word(buffer, i - Long.BYTES));
+                if (digits != 0) {
+                    return i - Long.BYTES + (63 - Long.numberOfLeadingZeros(digits) >>> 3);
+                }
+            }
+        }
+        for (i--; i >= from; i--) {
+            if (isDigit(buffer.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public static int indexOf(final byte[] bytes, final int from, final int to, final byte value) {
+        return indexOf(ByteBuffer.wrap(bytes), from, to, value);
+    }
+    
+    public static int count(final byte[] bytes, final int from, final int to, final byte value) {
+        return count(ByteBuffer.wrap(bytes), from, to, value);
+    }
+    
+    public static int mismatches(final byte[] a, final int aFrom, final byte[] b, final int bFrom, final int length) {
+        return mismatches(ByteBuffer.wrap(a), aFrom, ByteBuffer.wrap(b), bFrom, length);
+    }
+    
+    public static int mismatches(final byte[] a, final int aFrom, final byte[] b, final int bFrom, final int length,
+                                 final int limit) {
+        return mismatches(ByteBuffer.wrap(a), aFrom, ByteBuffer.wrap(b), bFrom, length, limit);
+    }
+    
+    private static long word(final ByteBuffer buffer, final int index) {
+        return (long) LONGS.get(buffer, index);
+    }
+    
+    // The high bit of every zero byte, exact (the usual (x - ONES) & ~x & HIGHS also flags some bytes above a zero)
+    private static long zeroBytes(final long x) {
+        return ~(((x & LOWS) + LOWS) | x | LOWS);
+    }
+    
+    // The high bit of every non-zero byte
+    private static long nonZeroBytes(final long x) {
+        return (((x & LOWS) + LOWS) | x) & HIGHS;
+    }
+    
+    // The high bit of every byte in '0'..'9'. The low 7 bits plus a constant set the high bit if they are at least
+    // '0' (or above '9'), without a carry into the next byte. Bytes with the high bit set are no ASCII digits.
+    private static long digitBytes(final long x) {
+        final var low         = x & LOWS;
+        final var atLeastZero = low + ONES * (0x80 - '0');
+        final var aboveNine   = low + ONES * (0x7F - '9');
+        return atLeastZero & ~aboveNine & ~x & HIGHS;
+    }
+    
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+    
+    // Word reads at unaligned indices, of heap and direct buffers, are not guaranteed on every platform
+    private static boolean supportsWordReads() {
+        try {
+            final var heap   = ByteBuffer.allocate(Long.BYTES + 1).put(1, (byte) 1);
+            final var direct = ByteBuffer.allocateDirect(Long.BYTES + 1).put(1, (byte) 1);
+            return word(heap, 1) == 1L && word(direct, 1) == 1L;
+        } catch (final UnsupportedOperationException | IllegalStateException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import generator.Generators;
+import org.junit.jupiter.api.Test;
+import util.Grid;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The neighbour scans of day 3 visit the 8 neighbours of every symbol through {@link util.Point#forEachNeighbor},
+ * which must not allocate per cell: on a map of millions of cells they may allocate only their fixed scratch.
+ */
+class Day03Test {
+    // The HotSpot extension measures the memory a thread allocates
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    // The AdjacentNumbers and its array, with room for the measurement itself
+    private static final long MAX_BYTES = 1024;
+    private static final int  SCALE     = 20;
+    
+    private static final Grid MAP = Grid.parse(Generators.generate(3, Generators.DEFAULT_SEED, SCALE));
+    
+    @Test
+    void partNumberScanDoesNotAllocatePerCell() {
+        assertScanAllocatesNothing(Day03::sumOfPartNumbers);
+    }
+    
+    @Test
+    void gearRatioScanDoesNotAllocatePerCell() {
+        assertScanAllocatesNothing(Day03::sumOfGearRatios);
+    }
+    
+    private static void assertScanAllocatesNothing(final ToLongFunction<Grid> scan) {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "Allocation measurement is not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        
+        // The first run loads and initializes the classes, which allocates
+        final var expected = scan.applyAsLong(MAP);
+        
+        final var thread = Thread.currentThread().threadId();
+        final var before = THREADS.getThreadAllocatedBytes(thread);
+        final var result = scan.applyAsLong(MAP);
+        final var bytes  = THREADS.getThreadAllocatedBytes(thread) - before;
+        
+        assertEquals(expected, result);
+        assertTrue(bytes <= MAX_BYTES, "Scan of %d cells allocated %d bytes".formatted(MAP.size(), bytes));
+    }
+}
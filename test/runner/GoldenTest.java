@@ -0,0 +1,42 @@
+package runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import runner.DayResult.PartResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs every day on its generated input of scale 1 and compares the answers with the recorded ones in
+ * test-resources/golden.tsv. After an intended change of an answer (or of a generator), record them again with
+ * {@code Runner --generate=1 --warmup=0 --record=test-resources/golden.tsv}.
+ */
+class GoldenTest {
+    private static final Path GOLDEN = Path.of("test-resources/golden.tsv");
+    
+    @Test
+    void generatedInputsMatchTheGoldenAnswers() {
+        // The budgets were recorded without warmup too, the scale leaves room for a test JVM sharing the machine
+        final var options  = RunnerOptions.parse(new String[]{"--generate=1", "--warmup=0", "--budget-scale=2"});
+        final var failures = Golden.verify(GOLDEN, options, Runner.run(options));
+        
+        assertEquals(List.of(), failures);
+    }
+    
+    @Test
+    void missingAnswerFails(@TempDir final Path directory) throws IOException {
+        final var golden  = Files.writeString(directory.resolve("golden.tsv"),
+                                              "1\t1\tgenerated:1:2023\t20\t1024\t42\n");
+        final var options = RunnerOptions.parse(new String[]{"1", "--generate=1"});
+        final var part    = new PartResult("42", 0, 0, 0, 0, 0);
+        final var result  = new DayResult(1, 0, 0, 0, 0, part, part, part);
+        
+        assertEquals(List.of("Day 01 part 2: no golden answer for input generated:1:2023"),
+                     Golden.verify(golden, options, List.of(result)));
+    }
+}
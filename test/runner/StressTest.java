@@ -0,0 +1,64 @@
+package runner;
+
+import generator.Generators;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import runner.DayResult.PartResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Runs every day on generated inputs beyond the size of the real ones. Nothing may throw, no answer may overflow
+ * into a negative number, and solving the days concurrently must give the answers of solving them one by one, so
+ * no day keeps state between runs or shares it between threads.
+ */
+@Tag("stress")
+class StressTest {
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2})
+    void generatedInputsAreSolvedTheSameSequentiallyAndInParallel(final int scale) {
+        final var sequential = Runner.run(RunnerOptions.parse(new String[]{"--generate=" + scale, "--warmup=0"}));
+        final var parallel   = Runner.run(RunnerOptions.parse(new String[]{"--generate=" + scale,
+                                                                          "--warmup=0",
+                                                                          "--parallel"}));
+        
+        assertEquals(RunnerOptions.LAST_DAY, sequential.size());
+        for (final var result : sequential) {
+            assertValid(result.day(), 1, result.part1());
+            assertValid(result.day(), 2, result.part2());
+        }
+        assertEquals(answers(sequential), answers(parallel));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void generatorsAreDeterministic(final int scale) {
+        for (var day = RunnerOptions.FIRST_DAY; day <= RunnerOptions.LAST_DAY; day++) {
+            final var input = Generators.generate(day, Generators.DEFAULT_SEED, scale);
+            
+            assertFalse(input.isEmpty(), "Day %02d: empty input".formatted(day));
+            assertEquals(input, Generators.generate(day, Generators.DEFAULT_SEED, scale), "Day %02d".formatted(day));
+            assertNotEquals(input, Generators.generate(day, Generators.DEFAULT_SEED + 1, scale),
+                            "Day %02d: the seed is ignored".formatted(day));
+        }
+    }
+    
+    private static void assertValid(final int day, final int part, final PartResult result) {
+        final var name = "Day %02d part %d".formatted(day, part);
+        assertFalse(result.failed(), () -> "%s: %s".formatted(name, result.answer()));
+        assertFalse(result.answer().startsWith("-"), () -> "%s: negative answer %s".formatted(name, result.answer()));
+    }
+    
+    private static List<String> answers(final List<DayResult> results) {
+        return results.stream()
+                      .map(result -> "Day %02d: %s | %s".formatted(result.day(),
+                                                                   result.part1().answer(),
+                                                                   result.part2().answer()))
+                      .toList();
+    }
+}